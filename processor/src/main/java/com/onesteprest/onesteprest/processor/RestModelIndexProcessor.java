@@ -0,0 +1,127 @@
+package com.onesteprest.onesteprest.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Writes an index of the classes annotated with {@code @RestModel} to
+ * {@value #INDEX_LOCATION}, so the models can be found at startup without
+ * scanning the classpath.
+ *
+ * The index is a properties file with one line per model, keyed by the binary
+ * class name, with the path and the {@code enableValidation} flag as value:
+ * <pre>
+ * com.example.Producto=/productos,true
+ * </pre>
+ *
+ * The annotation is matched by name, so the processor does not depend on the
+ * framework classes.
+ */
+@SupportedAnnotationTypes(RestModelIndexProcessor.REST_MODEL)
+public class RestModelIndexProcessor extends AbstractProcessor {
+
+    static final String REST_MODEL = "com.onesteprest.onesteprest.annotations.RestModel";
+    static final String INDEX_LOCATION = "META-INF/onesteprest.models";
+
+    // Sorted so that the index does not change between builds of the same sources
+    private final Map<String, String> entries = new TreeMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "@RestModel is only supported on classes", element);
+                    continue;
+                }
+                addEntry((TypeElement) element, annotation);
+            }
+        }
+
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void addEntry(TypeElement type, TypeElement annotation) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().asElement().equals(annotation)) {
+                continue;
+            }
+
+            String path = "";
+            boolean enableValidation = true;
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                    processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : values.entrySet()) {
+                String name = value.getKey().getSimpleName().toString();
+                if (name.equals("path")) {
+                    path = (String) value.getValue().getValue();
+                } else if (name.equals("enableValidation")) {
+                    enableValidation = (Boolean) value.getValue().getValue();
+                }
+            }
+
+            String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+            entries.put(className, path + "," + enableValidation);
+            originatingElements.add(type);
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    INDEX_LOCATION, originatingElements.toArray(new Element[0]));
+            try (Writer writer = index.openWriter()) {
+                writer.write("# Generated by " + getClass().getName() + "\n");
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    // Properties escaping: paths are read back with Properties.load
+                    writer.write(escape(entry.getKey()) + "=" + escape(entry.getValue()) + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            if (c == '\\') {
+                escaped.append("\\\\");
+            } else if (c > 0x7e) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.onesteprest.onesteprest.core;
+
+import com.onesteprest.onesteprest.OnesteprestApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga de los endpoints dinámicos con 2000 conexiones simultáneas,
+ * comparando hilos de plataforma con hilos virtuales
+ * ({@code onesteprest.execution}). La aplicación arranca completa en un puerto
+ * libre y cada invocación lanza 2000 peticiones paginadas a la vez, cada una
+ * por su propia conexión, y espera a todas; el resultado son peticiones por segundo.
+ *
+ * Se ejecuta con {@code ./gradlew jmh}
+ * sobre Java 21 o posterior, con un límite de descriptores de fichero
+ * suficiente para cliente y servidor ({@code ulimit -n 10000}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExecutionModeBenchmark {
+
+    private static final int CONNECTIONS = 2000;
+    private static final int PRODUCTOS = 200;
+
+    @Param({"platform", "virtual"})
+    public String execution;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new SpringApplicationBuilder(OnesteprestApplication.class)
+                .properties("server.port=0",
+                            "onesteprest.execution=" + execution,
+                            "spring.datasource.url=jdbc:h2:mem:jmh-execution-" + execution,
+                            "spring.jpa.show-sql=false",
+                            // Admitir todas las conexiones; con hilos de plataforma esperan en cola
+                            "server.tomcat.max-connections=" + (CONNECTIONS * 2),
+                            "server.tomcat.accept-count=" + CONNECTIONS,
+                            "logging.level.root=WARN")
+                .run();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        URI productos = URI.create("http://localhost:" + port + "/api/productos");
+
+        // HTTP/1.1: una conexión por petición en curso
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        // Datos de prueba creados a través de la API
+        for (int i = 0; i < PRODUCTOS; i++) {
+            HttpRequest create = HttpRequest.newBuilder(productos)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"nombre\": \"Producto " + i + "\", \"precio\": " + i + "}"))
+                    .build();
+            client.send(create, HttpResponse.BodyHandlers.discarding());
+        }
+
+        request = HttpRequest.newBuilder(URI.create(productos + "?page=0&size=20")).GET().build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONNECTIONS)
+    public int concurrentRequests() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONNECTIONS);
+        for (int i = 0; i < CONNECTIONS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != CONNECTIONS) {
+            throw new IllegalStateException((CONNECTIONS - ok) + " de " + CONNECTIONS + " peticiones fallaron");
+        }
+        return ok;
+    }
+}
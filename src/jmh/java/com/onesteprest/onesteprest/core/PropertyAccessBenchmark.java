@@ -0,0 +1,105 @@
+package com.onesteprest.onesteprest.core;
+
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.examples.Producto;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la lectura y escritura de los campos de una página de productos con
+ * {@code Field.get}/{@code Field.set}, con los {@link PropertyAccessor}
+ * generados y con llamadas directas a los getters y setters como referencia.
+ *
+ * Cada producto lee y vuelve a escribir sus campos {@code id}, {@code nombre},
+ * {@code precio} y {@code categoria} desde el mismo punto de llamada, como lo
+ * hacen los recorridos de relaciones con campos de distintos modelos.
+ *
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyAccessBenchmark {
+
+    private static final String[] FIELDS = {"id", "nombre", "precio", "categoria"};
+
+    private List<Producto> page;
+    private Field[] fields;
+    private PropertyAccessor[] accessors;
+
+    @Setup
+    public void setup() throws Exception {
+        Categoria categoria = new Categoria();
+        categoria.setId(1L);
+        categoria.setNombre("Hogar");
+
+        page = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Producto producto = new Producto();
+            producto.setId((long) i + 1);
+            producto.setNombre("Producto " + i);
+            producto.setPrecio(10.0 * i);
+            producto.setCategoria(categoria);
+            page.add(producto);
+        }
+
+        fields = new Field[FIELDS.length];
+        accessors = new PropertyAccessor[FIELDS.length];
+        for (int i = 0; i < FIELDS.length; i++) {
+            fields[i] = Producto.class.getDeclaredField(FIELDS[i]);
+            fields[i].setAccessible(true);
+            accessors[i] = PropertyAccessors.of(fields[i]);
+        }
+    }
+
+    @Benchmark
+    public int reflection() throws Exception {
+        int count = 0;
+        for (Producto producto : page) {
+            for (Field field : fields) {
+                Object value = field.get(producto);
+                field.set(producto, value);
+                count += value != null ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int generated() {
+        int count = 0;
+        for (Producto producto : page) {
+            for (PropertyAccessor accessor : accessors) {
+                Object value = accessor.get(producto);
+                accessor.set(producto, value);
+                count += value != null ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int direct() {
+        int count = 0;
+        for (Producto producto : page) {
+            Long id = producto.getId();
+            producto.setId(id);
+            String nombre = producto.getNombre();
+            producto.setNombre(nombre);
+            Double precio = producto.getPrecio();
+            producto.setPrecio(precio);
+            Categoria categoria = producto.getCategoria();
+            producto.setCategoria(categoria);
+            count += (id != null ? 1 : 0) + (nombre != null ? 1 : 0) +
+                     (precio != null ? 1 : 0) + (categoria != null ? 1 : 0);
+        }
+        return count;
+    }
+}
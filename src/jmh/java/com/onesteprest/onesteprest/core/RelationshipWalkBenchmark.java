@@ -0,0 +1,181 @@
+package com.onesteprest.onesteprest.core;
+
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.examples.Etiqueta;
+import com.onesteprest.onesteprest.examples.Producto;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el recorrido de relaciones de una página de productos con la
+ * reflexión que se hacía antes en cada entidad ({@code getDeclaredFields},
+ * {@code isAnnotationPresent}, {@code setAccessible} y la búsqueda del campo
+ * {@code @Id} en la jerarquía) con el mismo recorrido sobre los
+ * {@link ModelDescriptor} precalculados.
+ *
+ * El grafo está en memoria, sin base de datos, para medir solo la reflexión:
+ * 20 productos con su categoría y tres etiquetas cada uno, recorridos hasta
+ * profundidad 2 como lo hace {@code RelationshipUtil}.
+ *
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RelationshipWalkBenchmark {
+
+    private static final int DEPTH = 2;
+
+    private List<Producto> page;
+
+    @Setup
+    public void setup() {
+        Categoria categoria = new Categoria();
+        categoria.setId(1L);
+        categoria.setNombre("Hogar");
+
+        List<Etiqueta> etiquetas = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            Etiqueta etiqueta = new Etiqueta();
+            etiqueta.setId(i);
+            etiqueta.setNombre("Etiqueta " + i);
+            etiquetas.add(etiqueta);
+        }
+
+        page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Producto producto = new Producto();
+            producto.setId((long) i + 1);
+            producto.setNombre("Producto " + i);
+            producto.setPrecio(10.0 * i);
+            producto.setCategoria(categoria);
+            categoria.getProductos().add(producto);
+            for (int j = 0; j < 3; j++) {
+                Etiqueta etiqueta = etiquetas.get((i + j) % etiquetas.size());
+                producto.getEtiquetas().add(etiqueta);
+                etiqueta.getProductos().add(producto);
+            }
+            page.add(producto);
+        }
+
+        // Los descriptores se construyen al registrar los modelos, no en la medición
+        ModelDescriptor.of(Producto.class);
+        ModelDescriptor.of(Categoria.class);
+        ModelDescriptor.of(Etiqueta.class);
+    }
+
+    @Benchmark
+    public int reflectionWalk() throws Exception {
+        int visited = 0;
+        for (Producto producto : page) {
+            visited += reflectionWalk(producto, DEPTH, new HashSet<>());
+        }
+        return visited;
+    }
+
+    @Benchmark
+    public int descriptorWalk() {
+        int visited = 0;
+        for (Producto producto : page) {
+            visited += descriptorWalk(producto, DEPTH, new HashSet<>());
+        }
+        return visited;
+    }
+
+    /**
+     * El recorrido anterior: todos los campos de la jerarquía en cada entidad,
+     * descartando los tipos simples y buscando las anotaciones cada vez.
+     */
+    private static int reflectionWalk(Object entity, int depth, Set<Object> processed) throws Exception {
+        if (entity == null || depth <= 0 || !processed.add(entity)) {
+            return 0;
+        }
+
+        int visited = findId(entity) != null ? 1 : 0;
+        for (Field field : getAllFields(entity.getClass())) {
+            field.setAccessible(true);
+            if (field.getType().isPrimitive() ||
+                field.getType().equals(String.class) ||
+                Number.class.isAssignableFrom(field.getType()) ||
+                field.getType().equals(Boolean.class)) {
+                continue;
+            }
+
+            if (Collection.class.isAssignableFrom(field.getType())) {
+                if (!field.isAnnotationPresent(ManyToMany.class) && !field.isAnnotationPresent(OneToMany.class)) {
+                    continue;
+                }
+                Collection<?> collection = (Collection<?>) field.get(entity);
+                if (collection != null) {
+                    for (Object item : collection) {
+                        visited += reflectionWalk(item, depth - 1, processed);
+                    }
+                }
+            } else if (field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class)) {
+                visited += reflectionWalk(field.get(entity), depth - 1, processed);
+            }
+        }
+        return visited;
+    }
+
+    private static Object findId(Object entity) throws Exception {
+        for (Field field : getAllFields(entity.getClass())) {
+            field.setAccessible(true);
+            if (field.isAnnotationPresent(Id.class)) {
+                return field.get(entity);
+            }
+        }
+        return null;
+    }
+
+    private static List<Field> getAllFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * El mismo recorrido sobre los descriptores: solo las relaciones, con los
+     * accesos ya preparados.
+     */
+    private static int descriptorWalk(Object entity, int depth, Set<Object> processed) {
+        if (entity == null || depth <= 0 || !processed.add(entity)) {
+            return 0;
+        }
+
+        ModelDescriptor descriptor = ModelDescriptor.of(entity.getClass());
+        int visited = descriptor.getId(entity) != null ? 1 : 0;
+        for (RelationshipDescriptor relationship : descriptor.getRelationships()) {
+            Object value = relationship.get(entity);
+            if (relationship.isCollection()) {
+                if (value != null) {
+                    for (Object item : (Collection<?>) value) {
+                        visited += descriptorWalk(item, depth - 1, processed);
+                    }
+                }
+            } else {
+                visited += descriptorWalk(value, depth - 1, processed);
+            }
+        }
+        return visited;
+    }
+}
@@ -0,0 +1,140 @@
+package com.onesteprest.onesteprest.filters;
+
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.examples.Etiqueta;
+import com.onesteprest.onesteprest.examples.Producto;
+import com.onesteprest.onesteprest.utils.TypeConverter;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el costo de filtrar productos con el árbol de literales que se
+ * construía antes en cada petición, con un plan compilado en cada petición
+ * y con un plan tomado de la caché.
+ *
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterPlanBenchmark {
+
+    private SessionFactory sessionFactory;
+    private Session session;
+    private FilterSpecification filterSpec;
+    private FilterPlan cachedPlan;
+
+    @Setup
+    public void setup() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Producto.class)
+                .addAnnotatedClass(Categoria.class)
+                .addAnnotatedClass(Etiqueta.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.criteria.plan_cache_enabled", "true")
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+
+        // Datos de prueba
+        session.beginTransaction();
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Hogar");
+        session.persist(categoria);
+        for (int i = 0; i < 100; i++) {
+            Producto producto = new Producto();
+            producto.setNombre("Producto " + i);
+            producto.setPrecio(10.0 * i);
+            producto.setCategoria(categoria);
+            session.persist(producto);
+        }
+        session.getTransaction().commit();
+        session.clear();
+
+        filterSpec = new FilterSpecification()
+                .addFilter("precio", FilterOperation.GREATER_THAN, "100")
+                .addFilter("categoria.nombre", FilterOperation.EQUAL, "Hogar")
+                .addFilter("nombre", FilterOperation.LIKE, "1");
+        cachedPlan = FilterPlan.compile(Producto.class, filterSpec, sessionFactory.getMetamodel());
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<Producto> literalTree() {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<Producto> query = cb.createQuery(Producto.class);
+        Root<Producto> root = query.from(Producto.class);
+        query.select(root).where(literalPredicate(root, cb, filterSpec));
+        List<Producto> result = session.createQuery(query).getResultList();
+        session.clear();
+        return result;
+    }
+
+    @Benchmark
+    public List<Producto> compiledPlanPerRequest() {
+        FilterPlan plan = FilterPlan.compile(Producto.class, filterSpec, sessionFactory.getMetamodel());
+        return execute(plan);
+    }
+
+    @Benchmark
+    public List<Producto> cachedPlan() {
+        return execute(cachedPlan);
+    }
+
+    private List<Producto> execute(FilterPlan plan) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<Producto> query = cb.createQuery(Producto.class);
+        Root<Producto> root = query.from(Producto.class);
+        query.select(root).where(plan.toPredicate(root, query, cb));
+        TypedQuery<Producto> typedQuery = session.createQuery(query);
+        plan.bind(typedQuery, filterSpec);
+        List<Producto> result = typedQuery.getResultList();
+        session.clear();
+        return result;
+    }
+
+    /**
+     * Reproduce la construcción anterior: caminos con split, conversión con
+     * TypeConverter y valores literales en el árbol de criterios.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate literalPredicate(Root<?> root, CriteriaBuilder cb, FilterSpecification spec) {
+        List<Predicate> predicates = new ArrayList<>();
+        for (Filter filter : spec.getFilters()) {
+            Path<?> path = root;
+            for (String part : filter.getField().split("\\.")) {
+                path = path.get(part);
+            }
+            Object value = TypeConverter.convertToAppropriateType(filter.getValue(), path.getJavaType());
+            switch (filter.getOperation()) {
+                case GREATER_THAN:
+                    predicates.add(cb.greaterThan((Expression<Comparable>) path, (Comparable) value));
+                    break;
+                case LIKE:
+                    predicates.add(cb.like((Expression<String>) path, "%" + value + "%"));
+                    break;
+                default:
+                    predicates.add(cb.equal(path, value));
+                    break;
+            }
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+}
@@ -0,0 +1,126 @@
+package com.onesteprest.onesteprest.filters;
+
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.examples.Etiqueta;
+import com.onesteprest.onesteprest.examples.Producto;
+import com.onesteprest.onesteprest.search.SearchIndex;
+import com.onesteprest.onesteprest.search.TrigramIndex;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compara un filtro {@code like} sobre un millón de productos recorriendo la
+ * tabla con el mismo filtro acotado por el índice de trigramas.
+ *
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchIndexBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private SessionFactory sessionFactory;
+    private Session session;
+    private FilterSpecification filterSpec;
+    private FilterPlan scanPlan;
+    private FilterPlan indexedPlan;
+
+    @Setup
+    public void setup() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Producto.class)
+                .addAnnotatedClass(Categoria.class)
+                .addAnnotatedClass(Etiqueta.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:jmh-search;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.criteria.plan_cache_enabled", "true")
+                .setProperty("hibernate.query.in_clause_parameter_padding", "true")
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+
+        // Datos de prueba insertados por lotes
+        session.beginTransaction();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO Producto (id, nombre, precio) VALUES (?, ?, ?)")) {
+                for (int i = 0; i < ROWS; i++) {
+                    statement.setLong(1, i + 1);
+                    statement.setString(2, "Producto " + i);
+                    statement.setDouble(3, i % 1000);
+                    statement.addBatch();
+                    if (i % 10_000 == 9_999) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        });
+        session.getTransaction().commit();
+
+        // Índice de trigramas construido igual que al arrancar la aplicación
+        TrigramIndex index = new TrigramIndex("id", 1000);
+        try (Stream<Object[]> rows = session.createQuery("SELECT p.id, p.nombre FROM Producto p", Object[].class)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .getResultStream()) {
+            rows.forEach(row -> index.add(row[0], (String) row[1]));
+        }
+        session.clear();
+
+        SearchIndex searchIndex = new SearchIndex() {
+            @Override
+            public TrigramIndex get(Class<?> modelClass, String fieldName) {
+                return "nombre".equals(fieldName) ? index : null;
+            }
+        };
+
+        filterSpec = new FilterSpecification()
+                .addFilter("nombre", FilterOperation.LIKE, "123456");
+        scanPlan = FilterPlan.compile(Producto.class, filterSpec, sessionFactory.getMetamodel());
+        indexedPlan = FilterPlan.compile(Producto.class, filterSpec, sessionFactory.getMetamodel(), searchIndex);
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<Producto> scan() {
+        return execute(scanPlan);
+    }
+
+    @Benchmark
+    public List<Producto> index() {
+        return execute(indexedPlan);
+    }
+
+    private List<Producto> execute(FilterPlan plan) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<Producto> query = cb.createQuery(Producto.class);
+        Root<Producto> root = query.from(Producto.class);
+        query.select(root).where(plan.toPredicate(root, query, cb));
+        TypedQuery<Producto> typedQuery = session.createQuery(query);
+        plan.bind(typedQuery, filterSpec);
+        List<Producto> result = typedQuery.getResultList();
+        session.clear();
+        return result;
+    }
+}
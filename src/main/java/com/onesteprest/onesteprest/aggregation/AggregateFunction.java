@@ -0,0 +1,38 @@
+package com.onesteprest.onesteprest.aggregation;
+
+/**
+ * Aggregate functions supported by the aggregation endpoint.
+ */
+public enum AggregateFunction {
+    COUNT("count"),
+    SUM("sum"),
+    AVG("avg"),
+    MIN("min"),
+    MAX("max");
+
+    private final String code;
+
+    AggregateFunction(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the function for a code.
+     *
+     * @param code The function code
+     * @return The matching function
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static AggregateFunction fromCode(String code) {
+        for (AggregateFunction function : values()) {
+            if (function.getCode().equalsIgnoreCase(code)) {
+                return function;
+            }
+        }
+        throw new IllegalArgumentException("Unknown aggregate function: " + code);
+    }
+}
@@ -0,0 +1,26 @@
+package com.onesteprest.onesteprest.aggregation;
+
+import java.util.List;
+
+/**
+ * The result of an aggregation: the column names once, followed by one
+ * array of values per group in the same order.
+ */
+public class AggregateResult {
+
+    private final List<String> columns;
+    private final List<List<Object>> rows;
+
+    public AggregateResult(List<String> columns, List<List<Object>> rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public List<List<Object>> getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,348 @@
+package com.onesteprest.onesteprest.aggregation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.core.SerializedProperties;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * An aggregation compiled from {@code groupBy}, {@code metrics} and {@code having} expressions.
+ *
+ * Group columns are comma separated properties, with dots to reach properties of
+ * single-valued relationships (for example {@code categoria.id}). Metrics are
+ * comma separated functions, optionally followed by a property
+ * ({@code count,avg:precio,max:precio}). Having conditions compare a metric with
+ * a number ({@code count_gt_2,avg:precio_lte_500}). The whole aggregation runs as
+ * a single tuple query with {@code GROUP BY} and {@code HAVING}, so only one row
+ * per group leaves the database. Only properties that Jackson serializes can be
+ * grouped or aggregated, so nothing hidden from the entity response leaks
+ * through a group or a metric such as {@code max:secret}.
+ */
+public class Aggregation {
+
+    private final Class<?> entityClass;
+    private final List<String[]> groups = new ArrayList<>();
+    private final List<Metric> metrics = new ArrayList<>();
+    private final List<Condition> conditions = new ArrayList<>();
+
+    private Aggregation(Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Compiles an aggregation against the JPA metamodel.
+     *
+     * @param entityClass The root entity class
+     * @param groupBy The group columns, or null for a single group
+     * @param metrics The metrics, or null for {@code count}
+     * @param having The having conditions, or null
+     * @param metamodel The JPA metamodel
+     * @param objectMapper The mapper the entity responses are written with
+     * @return The compiled aggregation
+     * @throws IllegalArgumentException if a property, function or condition is invalid
+     */
+    public static Aggregation compile(Class<?> entityClass, String groupBy, String metrics, String having,
+                                      Metamodel metamodel, ObjectMapper objectMapper) {
+        Aggregation aggregation = new Aggregation(entityClass);
+
+        for (String group : split(groupBy)) {
+            String[] segments = group.split("\\.");
+            resolveType(entityClass, segments, metamodel, objectMapper);
+            aggregation.groups.add(segments);
+        }
+
+        for (String metric : split(metrics == null || metrics.isBlank() ? "count" : metrics)) {
+            aggregation.metrics.add(Metric.compile(entityClass, metric, metamodel, objectMapper));
+        }
+
+        for (String condition : split(having)) {
+            String[] parts = condition.split("_", 3);
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Having condition '" + condition + "' must be metric_operation_value");
+            }
+            Metric metric = Metric.compile(entityClass, parts[0], metamodel, objectMapper);
+            if (metric.function != AggregateFunction.COUNT && !Number.class.isAssignableFrom(metric.type)) {
+                throw new IllegalArgumentException("Having condition '" + condition + "' requires a numeric metric");
+            }
+            if (!Arrays.asList("eq", "neq", "gt", "gte", "lt", "lte").contains(parts[1])) {
+                throw new IllegalArgumentException("Unknown having operation '" + parts[1] + "'");
+            }
+            BigDecimal value;
+            try {
+                value = new BigDecimal(parts[2].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid having value '" + parts[2] + "'");
+            }
+            aggregation.conditions.add(new Condition(metric, parts[1], value));
+        }
+
+        return aggregation;
+    }
+
+    /**
+     * Applies the selection, grouping, having conditions and ordering to a tuple query.
+     * Relationships are joined with LEFT joins (one per relationship path), so rows
+     * without the related entity form their own group.
+     *
+     * @param query The tuple query
+     * @param root The query root
+     * @param cb The criteria builder
+     */
+    public void apply(CriteriaQuery<Tuple> query, Root<?> root, CriteriaBuilder cb) {
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        List<Expression<?>> groupExpressions = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+
+        for (String[] segments : groups) {
+            Path<?> path = path(root, segments, joins);
+            selections.add(path);
+            groupExpressions.add(path);
+            orders.add(cb.asc(path));
+        }
+        for (Metric metric : metrics) {
+            selections.add(metric.toExpression(root, joins, cb));
+        }
+
+        query.multiselect(selections);
+        if (!groupExpressions.isEmpty()) {
+            query.groupBy(groupExpressions);
+            query.orderBy(orders);
+        }
+        if (!conditions.isEmpty()) {
+            List<Predicate> predicates = new ArrayList<>();
+            for (Condition condition : conditions) {
+                predicates.add(condition.toPredicate(root, joins, cb));
+            }
+            query.having(predicates.toArray(new Predicate[0]));
+        }
+    }
+
+    /**
+     * Gets the column names, group columns first and metrics after them.
+     */
+    public List<String> getColumns() {
+        List<String> columns = new ArrayList<>();
+        for (String[] segments : groups) {
+            columns.add(String.join(".", segments));
+        }
+        for (Metric metric : metrics) {
+            columns.add(metric.name);
+        }
+        return columns;
+    }
+
+    /**
+     * Converts a result tuple into a row, in the order of {@link #getColumns()}.
+     *
+     * @param tuple The result tuple, selected with {@link #apply(CriteriaQuery, Root, CriteriaBuilder)}
+     * @return The row values
+     */
+    public List<Object> toRow(Tuple tuple) {
+        List<Object> row = new ArrayList<>(groups.size() + metrics.size());
+        for (int i = 0; i < groups.size() + metrics.size(); i++) {
+            row.add(tuple.get(i));
+        }
+        return row;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    @Override
+    public String toString() {
+        return "Aggregation{" + entityClass.getSimpleName() + getColumns() + "}";
+    }
+
+    private static List<String> split(String expression) {
+        List<String> parts = new ArrayList<>();
+        if (expression == null) {
+            return parts;
+        }
+        for (String part : expression.split(",")) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                parts.add(trimmed);
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Resolves the type of the property at the end of a path through single-valued relationships.
+     */
+    private static Class<?> resolveType(Class<?> entityClass, String[] segments, Metamodel metamodel,
+                                        ObjectMapper objectMapper) {
+        Class<?> currentClass = entityClass;
+        SerializedProperties properties = SerializedProperties.of(objectMapper, entityClass);
+        for (int i = 0; i < segments.length; i++) {
+            // Hidden properties are reported like missing ones
+            if (!properties.contains(segments[i])) {
+                throw new IllegalArgumentException("Unknown field '" + segments[i] + "' on " + currentClass.getSimpleName());
+            }
+
+            ManagedType<?> managedType = metamodel.managedType(currentClass);
+            Attribute<?, ?> attribute;
+            try {
+                attribute = managedType.getAttribute(segments[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown field '" + segments[i] + "' on " + currentClass.getSimpleName());
+            }
+
+            boolean last = i == segments.length - 1;
+            if (attribute.isCollection()) {
+                throw new IllegalArgumentException("Collection '" + segments[i] + "' cannot be aggregated");
+            }
+            if (last && attribute.isAssociation()) {
+                throw new IllegalArgumentException("Relationship '" + String.join(".", segments) +
+                                                   "' must be followed by one of its fields");
+            }
+            if (!last && !attribute.isAssociation()) {
+                throw new IllegalArgumentException("'" + segments[i] + "' on " + currentClass.getSimpleName() + " is not a relationship");
+            }
+
+            if (!last) {
+                properties = properties.getValueProperties(segments[i], attribute.getJavaType());
+            }
+            currentClass = attribute.getJavaType();
+        }
+        return ClassUtils.resolvePrimitiveIfNecessary(currentClass);
+    }
+
+    /**
+     * Gets the path of a property, reusing the LEFT join of each relationship path.
+     */
+    private static Path<?> path(Root<?> root, String[] segments, Map<String, From<?, ?>> joins) {
+        From<?, ?> from = root;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < segments.length - 1; i++) {
+            prefix.append(segments[i]).append('.');
+            From<?, ?> join = joins.get(prefix.toString());
+            if (join == null) {
+                join = from.join(segments[i], JoinType.LEFT);
+                joins.put(prefix.toString(), join);
+            }
+            from = join;
+        }
+        return from.get(segments[segments.length - 1]);
+    }
+
+    /**
+     * A metric: an aggregate function over the rows or over one property.
+     */
+    private static class Metric {
+        private final String name;
+        private final AggregateFunction function;
+        private final String[] segments;
+        private final Class<?> type;
+
+        private Metric(String name, AggregateFunction function, String[] segments, Class<?> type) {
+            this.name = name;
+            this.function = function;
+            this.segments = segments;
+            this.type = type;
+        }
+
+        static Metric compile(Class<?> entityClass, String expression, Metamodel metamodel, ObjectMapper objectMapper) {
+            String[] parts = expression.split(":", 2);
+            AggregateFunction function = AggregateFunction.fromCode(parts[0].trim());
+            if (parts.length == 1) {
+                if (function != AggregateFunction.COUNT) {
+                    throw new IllegalArgumentException("Metric '" + expression + "' requires a field, e.g. " +
+                                                       function.getCode() + ":precio");
+                }
+                return new Metric(function.getCode(), function, null, Long.class);
+            }
+
+            String field = parts[1].trim();
+            String[] segments = field.split("\\.");
+            Class<?> type = resolveType(entityClass, segments, metamodel, objectMapper);
+            switch (function) {
+                case SUM:
+                case AVG:
+                    if (!Number.class.isAssignableFrom(type)) {
+                        throw new IllegalArgumentException("Metric '" + expression + "' requires a numeric field, '" +
+                                                           field + "' is " + type.getSimpleName());
+                    }
+                    break;
+                case MIN:
+                case MAX:
+                    if (!Comparable.class.isAssignableFrom(type)) {
+                        throw new IllegalArgumentException("Metric '" + expression + "' requires a comparable field, '" +
+                                                           field + "' is " + type.getSimpleName());
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return new Metric(function.getCode() + ":" + field, function, segments, type);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Expression<?> toExpression(Root<?> root, Map<String, From<?, ?>> joins, CriteriaBuilder cb) {
+            if (segments == null) {
+                return cb.count(root);
+            }
+
+            Path<?> path = path(root, segments, joins);
+            switch (function) {
+                case COUNT:
+                    return cb.count(path);
+                case SUM:
+                    return cb.sum((Expression<Number>) path);
+                case AVG:
+                    return cb.avg((Expression<Number>) path);
+                case MIN:
+                    return Number.class.isAssignableFrom(type) ? cb.min((Expression<Number>) path)
+                                                               : cb.least((Expression<Comparable>) path);
+                case MAX:
+                    return Number.class.isAssignableFrom(type) ? cb.max((Expression<Number>) path)
+                                                               : cb.greatest((Expression<Comparable>) path);
+                default:
+                    throw new IllegalStateException("Unsupported aggregate function " + function);
+            }
+        }
+    }
+
+    /**
+     * A having condition: a numeric metric compared with a number.
+     */
+    private static class Condition {
+        private final Metric metric;
+        private final String operation;
+        private final BigDecimal value;
+
+        Condition(Metric metric, String operation, BigDecimal value) {
+            this.metric = metric;
+            this.operation = operation;
+            this.value = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        Predicate toPredicate(Root<?> root, Map<String, From<?, ?>> joins, CriteriaBuilder cb) {
+            Expression<Number> expression = (Expression<Number>) metric.toExpression(root, joins, cb);
+            switch (operation) {
+                case "neq":
+                    return cb.notEqual(expression, value);
+                case "gt":
+                    return cb.gt(expression, value);
+                case "gte":
+                    return cb.ge(expression, value);
+                case "lt":
+                    return cb.lt(expression, value);
+                case "lte":
+                    return cb.le(expression, value);
+                default:
+                    return cb.equal(expression, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.onesteprest.onesteprest.aggregation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of a facet request: the number of matching entities, the value
+ * counts of each facet and the buckets of each histogram, keyed by field.
+ */
+public class FacetResult {
+
+    private final long total;
+    private final Map<String, List<Map<String, Object>>> facets = new LinkedHashMap<>();
+    private final Map<String, List<Map<String, Object>>> histograms = new LinkedHashMap<>();
+
+    public FacetResult(long total) {
+        this.total = total;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, List<Map<String, Object>>> getFacets() {
+        return facets;
+    }
+
+    public Map<String, List<Map<String, Object>>> getHistograms() {
+        return histograms;
+    }
+}
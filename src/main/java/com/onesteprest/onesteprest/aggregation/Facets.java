@@ -0,0 +1,287 @@
+package com.onesteprest.onesteprest.aggregation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.core.SerializedProperties;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Facet counts and numeric histograms compiled from {@code facets} and {@code histogram} expressions.
+ *
+ * Facets are comma separated properties, with dots to reach properties of
+ * relationships; a path may go through one collection (for example
+ * {@code categoria.nombre,etiquetas.nombre}), in which case each entity is
+ * counted once per distinct value. Histograms are comma separated
+ * {@code field:interval} pairs over numeric properties ({@code precio:100}).
+ * Every facet and histogram is a single grouped tuple query. Only properties
+ * that Jackson serializes can be counted, so the values of a hidden property
+ * cannot be listed through a facet.
+ */
+public class Facets {
+
+    private final Class<?> entityClass;
+    private final List<Facet> facets = new ArrayList<>();
+    private final List<Histogram> histograms = new ArrayList<>();
+
+    private Facets(Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Compiles facet and histogram expressions against the JPA metamodel.
+     *
+     * @param entityClass The root entity class
+     * @param facets The facet fields, or null
+     * @param histogram The histogram fields and intervals, or null
+     * @param metamodel The JPA metamodel
+     * @param objectMapper The mapper the entity responses are written with
+     * @return The compiled facets
+     * @throws IllegalArgumentException if a property or interval is invalid, or nothing is requested
+     */
+    public static Facets compile(Class<?> entityClass, String facets, String histogram, Metamodel metamodel,
+                                 ObjectMapper objectMapper) {
+        Facets compiled = new Facets(entityClass);
+
+        for (String field : split(facets)) {
+            String[] segments = field.split("\\.");
+            int[] collectionIndex = new int[1];
+            resolveType(entityClass, segments, metamodel, objectMapper, collectionIndex);
+            compiled.facets.add(new Facet(field, segments, collectionIndex[0]));
+        }
+
+        for (String expression : split(histogram)) {
+            String[] parts = expression.split(":", 2);
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Histogram '" + expression + "' must be field:interval, e.g. precio:100");
+            }
+            String field = parts[0].trim();
+            String[] segments = field.split("\\.");
+            int[] collectionIndex = new int[1];
+            Class<?> type = resolveType(entityClass, segments, metamodel, objectMapper, collectionIndex);
+            if (collectionIndex[0] >= 0) {
+                throw new IllegalArgumentException("Histogram field '" + field + "' cannot go through a collection");
+            }
+            if (!Number.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("Histogram requires a numeric field, '" + field + "' is " + type.getSimpleName());
+            }
+            BigDecimal interval;
+            try {
+                interval = new BigDecimal(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid histogram interval '" + parts[1] + "'");
+            }
+            if (interval.signum() <= 0) {
+                throw new IllegalArgumentException("Histogram interval must be positive, got " + interval);
+            }
+            compiled.histograms.add(new Histogram(field, segments, interval));
+        }
+
+        if (compiled.facets.isEmpty() && compiled.histograms.isEmpty()) {
+            throw new IllegalArgumentException("At least one facet or histogram is required");
+        }
+        return compiled;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public List<Facet> getFacets() {
+        return facets;
+    }
+
+    public List<Histogram> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * Value counts of one field.
+     */
+    public static class Facet {
+        private final String name;
+        private final String[] segments;
+        private final int collectionIndex;
+
+        private Facet(String name, String[] segments, int collectionIndex) {
+            this.name = name;
+            this.segments = segments;
+            this.collectionIndex = collectionIndex;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Selects each value with its count, the most frequent values first.
+         * Single-valued relationships are LEFT joined, so entities without the
+         * related entity are counted under a null value; collections are inner
+         * joined and each entity is counted once per value.
+         *
+         * @param query The tuple query
+         * @param root The query root
+         * @param cb The criteria builder
+         * @param restriction The filter predicate built on the same root, or null
+         */
+        public void apply(CriteriaQuery<Tuple> query, Root<?> root, CriteriaBuilder cb, Predicate restriction) {
+            From<?, ?> from = root;
+            for (int i = 0; i < segments.length - 1; i++) {
+                from = from.join(segments[i], i >= collectionIndex && collectionIndex >= 0 ? JoinType.INNER : JoinType.LEFT);
+            }
+            Path<?> value = from.get(segments[segments.length - 1]);
+            Expression<Long> count = collectionIndex >= 0 ? cb.countDistinct(root) : cb.count(root);
+
+            query.multiselect(value, count);
+            if (restriction != null) {
+                query.where(restriction);
+            }
+            query.groupBy(value);
+            query.orderBy(cb.desc(count), cb.asc(value));
+        }
+
+        /**
+         * Converts the result tuples into {@code value}/{@code count} entries.
+         */
+        public List<Map<String, Object>> toValues(List<Tuple> tuples) {
+            List<Map<String, Object>> values = new ArrayList<>();
+            for (Tuple tuple : tuples) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("value", tuple.get(0));
+                entry.put("count", tuple.get(1));
+                values.add(entry);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Counts of a numeric field in buckets of a fixed interval.
+     */
+    public static class Histogram {
+        private final String name;
+        private final String[] segments;
+        private final BigDecimal interval;
+
+        private Histogram(String name, String[] segments, BigDecimal interval) {
+            this.name = name;
+            this.segments = segments;
+            this.interval = interval;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Selects the bucket number, {@code floor(field / interval)}, with its count.
+         * Entities with a null value are left out.
+         *
+         * @param query The tuple query
+         * @param root The query root
+         * @param cb The criteria builder
+         * @param restriction The filter predicate built on the same root, or null
+         */
+        @SuppressWarnings("unchecked")
+        public void apply(CriteriaQuery<Tuple> query, Root<?> root, CriteriaBuilder cb, Predicate restriction) {
+            From<?, ?> from = root;
+            for (int i = 0; i < segments.length - 1; i++) {
+                from = from.join(segments[i], JoinType.LEFT);
+            }
+            Expression<Number> value = (Expression<Number>) from.get(segments[segments.length - 1]);
+            Expression<Number> bucket = cb.floor(cb.quot(value, cb.literal(interval)));
+
+            query.multiselect(bucket, cb.count(root));
+            query.where(restriction != null ? cb.and(restriction, cb.isNotNull(value)) : cb.isNotNull(value));
+            query.groupBy(bucket);
+            query.orderBy(cb.asc(bucket));
+        }
+
+        /**
+         * Converts the result tuples into {@code from}/{@code to}/{@code count} entries.
+         */
+        public List<Map<String, Object>> toValues(List<Tuple> tuples) {
+            List<Map<String, Object>> values = new ArrayList<>();
+            for (Tuple tuple : tuples) {
+                BigDecimal start = new BigDecimal(tuple.get(0).toString()).multiply(interval);
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("from", start);
+                entry.put("to", start.add(interval));
+                entry.put("count", tuple.get(1));
+                values.add(entry);
+            }
+            return values;
+        }
+    }
+
+    private static List<String> split(String expression) {
+        List<String> parts = new ArrayList<>();
+        if (expression == null) {
+            return parts;
+        }
+        for (String part : expression.split(",")) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                parts.add(trimmed);
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Resolves the type of the property at the end of a path. The path may go
+     * through single-valued relationships and at most one collection, whose
+     * position is returned in {@code collectionIndex[0]} (-1 if there is none).
+     */
+    private static Class<?> resolveType(Class<?> entityClass, String[] segments, Metamodel metamodel,
+                                        ObjectMapper objectMapper, int[] collectionIndex) {
+        collectionIndex[0] = -1;
+        Class<?> currentClass = entityClass;
+        SerializedProperties properties = SerializedProperties.of(objectMapper, entityClass);
+        for (int i = 0; i < segments.length; i++) {
+            // Hidden properties are reported like missing ones
+            if (!properties.contains(segments[i])) {
+                throw new IllegalArgumentException("Unknown field '" + segments[i] + "' on " + currentClass.getSimpleName());
+            }
+
+            ManagedType<?> managedType = metamodel.managedType(currentClass);
+            Attribute<?, ?> attribute;
+            try {
+                attribute = managedType.getAttribute(segments[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown field '" + segments[i] + "' on " + currentClass.getSimpleName());
+            }
+
+            boolean last = i == segments.length - 1;
+            if (last && attribute.isAssociation()) {
+                throw new IllegalArgumentException("Relationship '" + String.join(".", segments) +
+                                                   "' must be followed by one of its fields");
+            }
+            if (!last && !attribute.isAssociation()) {
+                throw new IllegalArgumentException("'" + segments[i] + "' on " + currentClass.getSimpleName() + " is not a relationship");
+            }
+
+            if (attribute.isCollection()) {
+                if (collectionIndex[0] >= 0) {
+                    throw new IllegalArgumentException("Field '" + String.join(".", segments) +
+                                                       "' goes through more than one collection");
+                }
+                collectionIndex[0] = i;
+                currentClass = ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType();
+            } else {
+                currentClass = attribute.getJavaType();
+            }
+            if (!last) {
+                properties = properties.getValueProperties(segments[i], currentClass);
+            }
+        }
+        return ClassUtils.resolvePrimitiveIfNecessary(currentClass);
+    }
+}
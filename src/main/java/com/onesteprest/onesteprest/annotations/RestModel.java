@@ -1,5 +1,8 @@
 package com.onesteprest.onesteprest.annotations;
 
+import com.onesteprest.onesteprest.pagination.CountStrategy;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -29,6 +32,11 @@ import java.lang.annotation.Target;
  * Attributes:
  * - {@code path}: Specifies the base path for the REST model. This is a required attribute.
  * - {@code enableValidation}: Enables or disables validation for this model. Default is true.
+ * - {@code count}: How paged responses obtain their total count. Default is exact.
+ * - {@code cache}: Caches read results of this model until it changes. Default is false.
+ * - {@code secondLevelCache}: Hibernate second-level cache strategy of the entity. Default is none.
+ * - {@code bulkUpdate}: Allows set-based updates of the entities matching a filter. Default is false.
+ * - {@code bulkDelete}: Allows set-based deletes of the entities matching a filter. Default is false.
  */
 @Target(ElementType.TYPE) 
 @Retention(RetentionPolicy.RUNTIME)
@@ -42,4 +50,44 @@ public @interface RestModel {
      * Default is true.
      */
     boolean enableValidation() default true;
+    
+    /**
+     * How paged responses of this model obtain their total count, unless the
+     * request selects another strategy with the {@code count} parameter.
+     * Default is an exact count.
+     */
+    CountStrategy count() default CountStrategy.EXACT;
+    
+    /**
+     * Whether read results of this model (lists, pages and single entities) are
+     * cached. Cached results are JSON snapshots taken when they were read, and
+     * are dropped when this model or a model it reaches through relationships
+     * changes. Default is false.
+     */
+    boolean cache() default false;
+    
+    /**
+     * Concurrency strategy of the Hibernate second-level cache region of this
+     * entity, registered when the persistence unit starts. Collections are
+     * cached with the same strategy when their element model is cached too,
+     * and paged queries of the model use the query cache.
+     * Use READ_ONLY only for models that are never updated. Default is none.
+     */
+    CacheConcurrencyStrategy secondLevelCache() default CacheConcurrencyStrategy.NONE;
+    
+    /**
+     * Whether the entities matching a filter can be updated with a single
+     * {@code UPDATE} statement. Such updates load no entity, so they bypass
+     * the per-entity events and any validation beyond the field constraints.
+     * Default is false.
+     */
+    boolean bulkUpdate() default false;
+    
+    /**
+     * Whether the entities matching a filter can be deleted with set-based
+     * statements, which also clear their join table rows and delete the
+     * children of relationships that cascade the removal. No entity is
+     * loaded, so the per-entity events are bypassed. Default is false.
+     */
+    boolean bulkDelete() default false;
 }
\ No newline at end of file
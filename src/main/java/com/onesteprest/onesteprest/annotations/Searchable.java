@@ -0,0 +1,25 @@
+package com.onesteprest.onesteprest.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a text field of a REST model as searchable.
+ *
+ * Searchable fields are kept in an in-memory trigram index, built at startup
+ * and updated when entities are created, updated or deleted. The {@code like}
+ * and {@code search} filter operations on the field use the index to narrow
+ * the query to the candidate ids before reading the table.
+ *
+ * Example usage:
+ * <pre>
+ * &#64;Searchable
+ * private String nombre;
+ * </pre>
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Searchable {
+}
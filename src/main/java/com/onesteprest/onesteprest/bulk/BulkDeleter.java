@@ -0,0 +1,247 @@
+package com.onesteprest.onesteprest.bulk;
+
+import com.onesteprest.onesteprest.cache.ModelChangeTracker;
+import com.onesteprest.onesteprest.service.EventPublisher;
+import com.onesteprest.onesteprest.utils.RelationshipUtil;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.EntityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deletes entities by ID with set-based statements, doing what
+ * {@code EntityManager.remove} would do for each of them: the rows of the
+ * collection tables that reference them (join tables of many-to-many
+ * relationships, on either side, and element collections) are deleted
+ * first, and the children reached through relationships with
+ * {@link CascadeType#REMOVE} are deleted the same way, depth first.
+ *
+ * Every statement takes the IDs in chunks, so the number of round trips
+ * depends on the number of tables rather than on the number of rows.
+ */
+@Component
+public class BulkDeleter {
+
+    // Maximum number of IDs bound to a single IN list
+    private static final int ID_CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private ModelChangeTracker changeTracker;
+
+    private final Map<Class<?>, Dependents> dependents = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the rows of a model can be deleted on their own, because no
+     * collection table references them and no relationship cascades the removal.
+     *
+     * @param modelClass The model class
+     * @throws IllegalArgumentException if a cascade cannot be applied with set-based deletes
+     */
+    public boolean isStandalone(Class<?> modelClass) {
+        Dependents modelDependents = dependentsOf(modelClass);
+        return modelDependents.collectionTables.isEmpty() && modelDependents.children.isEmpty();
+    }
+
+    /**
+     * Deletes the entities of a model with the given IDs, along with their
+     * collection table rows and cascaded children. Publishes an
+     * {@link com.onesteprest.onesteprest.events.AfterBulkDeleteEvent} for each
+     * model whose entities were deleted.
+     *
+     * @param modelClass The model class
+     * @param ids The IDs of the entities to delete
+     * @return The number of deleted entities of the model, without children
+     * @throws IllegalArgumentException if a cascade cannot be applied with set-based deletes
+     */
+    @SuppressWarnings("unchecked")
+    public int deleteByIds(Class<?> modelClass, List<Object> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Dependents modelDependents = dependentsOf(modelClass);
+
+        // Children first, since they reference the rows to delete
+        for (Child child : modelDependents.children) {
+            List<Object> childIds = new ArrayList<>();
+            for (List<Object> chunk : chunks(ids)) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<Object> query = cb.createQuery(Object.class);
+                Root<?> root = query.from(child.modelClass);
+                query.select(root.get(idAttributeOf(child.modelClass)))
+                     .where(root.get(child.mappedBy).get(idAttributeOf(modelClass)).in(chunk));
+                childIds.addAll(entityManager.createQuery(query).getResultList());
+            }
+            deleteByIds(child.modelClass, childIds);
+        }
+
+        for (CollectionTable table : modelDependents.collectionTables) {
+            String sql = "DELETE FROM " + table.name + " WHERE " + table.column + " IN (:ids)";
+            for (List<Object> chunk : chunks(ids)) {
+                // Only the caches of this table are stale, not every region
+                entityManager.createNativeQuery(sql)
+                        .unwrap(NativeQuery.class)
+                        .addSynchronizedQuerySpace(table.name)
+                        .setParameter("ids", chunk)
+                        .executeUpdate();
+            }
+        }
+
+        int count = 0;
+        for (List<Object> chunk : chunks(ids)) {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaDelete<Object> delete = cb.createCriteriaDelete((Class<Object>) modelClass);
+            Root<Object> root = delete.from((Class<Object>) modelClass);
+            delete.where(root.get(idAttributeOf(modelClass)).in(chunk));
+            count += entityManager.createQuery(delete).executeUpdate();
+        }
+
+        eventPublisher.publishAfterBulkDelete(modelClass, ids);
+        changeTracker.changedOnCompletion(modelClass);
+        return count;
+    }
+
+    private Dependents dependentsOf(Class<?> modelClass) {
+        return dependents.computeIfAbsent(modelClass, this::findDependents);
+    }
+
+    /**
+     * Finds the collection tables that reference a model and its cascaded children.
+     */
+    private Dependents findDependents(Class<?> modelClass) {
+        Dependents found = new Dependents();
+        MappingMetamodel metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+
+        // Each join table is described by its owning side; inverse sides map the same table
+        metamodel.forEachCollectionDescriptor(collection -> {
+            if (collection.isInverse() || collection.isOneToMany() ||
+                !(collection instanceof AbstractCollectionPersister)) {
+                return;
+            }
+            AbstractCollectionPersister persister = (AbstractCollectionPersister) collection;
+            if (persister.getOwnerEntityPersister().getMappedClass() == modelClass) {
+                found.collectionTables.add(new CollectionTable(persister.getTableName(),
+                                                               singleColumn(persister.getRole(), persister.getKeyColumnNames())));
+            }
+            if (persister.isManyToMany() && persister.getElementType() instanceof EntityType) {
+                String elementEntity = ((EntityType) persister.getElementType()).getAssociatedEntityName();
+                if (metamodel.getEntityDescriptor(elementEntity).getMappedClass() == modelClass) {
+                    found.collectionTables.add(new CollectionTable(persister.getTableName(),
+                                                                   singleColumn(persister.getRole(), persister.getElementColumnNames())));
+                }
+            }
+        });
+
+        for (Class<?> current = modelClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                CascadeType[] cascade;
+                String mappedBy;
+                Class<?> childClass;
+                if (field.isAnnotationPresent(OneToMany.class)) {
+                    OneToMany oneToMany = field.getAnnotation(OneToMany.class);
+                    cascade = oneToMany.orphanRemoval() ? new CascadeType[] {CascadeType.REMOVE} : oneToMany.cascade();
+                    mappedBy = oneToMany.mappedBy();
+                    childClass = RelationshipUtil.getCollectionGenericType(field);
+                } else if (field.isAnnotationPresent(OneToOne.class)) {
+                    OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+                    cascade = oneToOne.orphanRemoval() ? new CascadeType[] {CascadeType.REMOVE} : oneToOne.cascade();
+                    mappedBy = oneToOne.mappedBy();
+                    childClass = field.getType();
+                } else if (field.isAnnotationPresent(ManyToOne.class)) {
+                    cascade = field.getAnnotation(ManyToOne.class).cascade();
+                    mappedBy = "";
+                    childClass = field.getType();
+                } else {
+                    continue;
+                }
+
+                List<CascadeType> cascades = Arrays.asList(cascade);
+                if (!cascades.contains(CascadeType.REMOVE) && !cascades.contains(CascadeType.ALL)) {
+                    continue;
+                }
+                // The parent holds the reference, so its rows would have to be read before they are deleted
+                if (mappedBy.isEmpty() || childClass == null) {
+                    throw new IllegalArgumentException("Bulk delete cannot cascade the removal through " +
+                                                       modelClass.getSimpleName() + "." + field.getName() +
+                                                       ", which is not mapped by the child");
+                }
+                found.children.add(new Child(childClass, mappedBy));
+            }
+        }
+        return found;
+    }
+
+    private String idAttributeOf(Class<?> modelClass) {
+        jakarta.persistence.metamodel.EntityType<?> entityType = entityManagerFactory.getMetamodel().entity(modelClass);
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    private static String singleColumn(String role, String[] columns) {
+        if (columns.length != 1) {
+            throw new IllegalArgumentException("Bulk delete does not support the composite key of " + role);
+        }
+        return columns[0];
+    }
+
+    private static List<List<Object>> chunks(List<Object> ids) {
+        List<List<Object>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += ID_CHUNK_SIZE) {
+            chunks.add(ids.subList(start, Math.min(start + ID_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static class Dependents {
+        private final List<CollectionTable> collectionTables = new ArrayList<>();
+        private final List<Child> children = new ArrayList<>();
+    }
+
+    private static class CollectionTable {
+        private final String name;
+        private final String column;
+
+        CollectionTable(String name, String column) {
+            this.name = name;
+            this.column = column;
+        }
+    }
+
+    private static class Child {
+        private final Class<?> modelClass;
+        private final String mappedBy;
+
+        Child(Class<?> modelClass, String mappedBy) {
+            this.modelClass = modelClass;
+            this.mappedBy = mappedBy;
+        }
+    }
+}
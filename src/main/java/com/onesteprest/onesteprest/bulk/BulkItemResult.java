@@ -0,0 +1,60 @@
+package com.onesteprest.onesteprest.bulk;
+
+import java.util.Map;
+
+/**
+ * The outcome of one item of a bulk request: its position in the request,
+ * an HTTP-like status, and the entity ID or the errors that prevented it.
+ */
+public class BulkItemResult {
+
+    public static final int CREATED = 201;
+    public static final int INVALID = 400;
+    public static final int FAILED = 500;
+
+    private final int index;
+    private final int status;
+    private final Object id;
+    private final Map<String, String> errors;
+
+    private BulkItemResult(int index, int status, Object id, Map<String, String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BulkItemResult created(int index, Object id) {
+        return new BulkItemResult(index, CREATED, id, null);
+    }
+
+    public static BulkItemResult invalid(int index, Map<String, String> errors) {
+        return new BulkItemResult(index, INVALID, null, errors);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, FAILED, null, Map.of("error", error));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the ID of the entity, or null if the item failed.
+     */
+    public Object getId() {
+        return id;
+    }
+
+    /**
+     * Gets the errors by field, or null if the item succeeded.
+     */
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,38 @@
+package com.onesteprest.onesteprest.bulk;
+
+import java.util.List;
+
+/**
+ * The result of a bulk request: how many items succeeded and failed, and
+ * the outcome of each item in request order.
+ */
+public class BulkResult {
+
+    private final int succeeded;
+    private final int failed;
+    private final List<BulkItemResult> items;
+
+    public BulkResult(List<BulkItemResult> items) {
+        int ok = 0;
+        for (BulkItemResult item : items) {
+            if (item.getStatus() < 300) {
+                ok++;
+            }
+        }
+        this.succeeded = ok;
+        this.failed = items.size() - ok;
+        this.items = items;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<BulkItemResult> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,167 @@
+package com.onesteprest.onesteprest.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the changes made to each model through the write paths.
+ *
+ * A change to a model also counts as a related change of every model that
+ * reaches it through relationships, since their responses may embed it. The
+ * version of a model is the sum of both, so any cached representation built
+ * at one version is stale at another. Counters live in memory and start over
+ * with each process, which is identified by {@link #getEpoch()}.
+ */
+@Component
+public class ModelChangeTracker {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Class<?>, Changes> changes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Set<Class<?>>> reachable = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Set<Class<?>>> dependents = new ConcurrentHashMap<>();
+
+    /**
+     * Records a change to a model.
+     *
+     * @param modelClass The model class that changed
+     */
+    public void changed(Class<?> modelClass) {
+        long now = System.currentTimeMillis();
+        changesOf(modelClass).own.incrementAndGet();
+        changesOf(modelClass).lastModified = now;
+        for (Class<?> dependent : dependentsOf(modelClass)) {
+            changesOf(dependent).related.incrementAndGet();
+            changesOf(dependent).lastModified = now;
+        }
+    }
+
+    /**
+     * Records a change now and again when the transaction completes, so that
+     * representations built by other requests before the commit are stale.
+     * Until then the transaction has pending changes.
+     *
+     * @param modelClass The model class that changed
+     */
+    public void changedOnCompletion(Class<?> modelClass) {
+        changed(modelClass);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Marks the transaction as changed until it completes
+            if (!TransactionSynchronizationManager.hasResource(this)) {
+                TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ModelChangeTracker.this);
+                    changed(modelClass);
+                }
+            });
+        }
+    }
+
+    /**
+     * Whether the current transaction changed a model and has not completed yet.
+     */
+    public boolean hasPendingChanges() {
+        return TransactionSynchronizationManager.hasResource(this);
+    }
+
+    /**
+     * Gets the number of changes to a model and to the models it reaches.
+     */
+    public long getVersion(Class<?> modelClass) {
+        Changes modelChanges = changesOf(modelClass);
+        return modelChanges.own.get() + modelChanges.related.get();
+    }
+
+    /**
+     * Gets the number of changes to the models a model reaches, without its own.
+     */
+    public long getRelatedVersion(Class<?> modelClass) {
+        return changesOf(modelClass).related.get();
+    }
+
+    /**
+     * Gets the time of the last change to a model or to the models it reaches,
+     * or the start of the process if there was none since.
+     */
+    public long getLastModified(Class<?> modelClass) {
+        return changesOf(modelClass).lastModified;
+    }
+
+    /**
+     * Gets the start time of the process, which tells counters of different processes apart.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    private Changes changesOf(Class<?> modelClass) {
+        return changes.computeIfAbsent(modelClass, k -> new Changes(epoch));
+    }
+
+    /**
+     * Gets the entity classes other than a model that reach it through relationships.
+     */
+    private Set<Class<?>> dependentsOf(Class<?> modelClass) {
+        return dependents.computeIfAbsent(modelClass, target -> {
+            Set<Class<?>> found = new HashSet<>();
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                Class<?> candidate = entity.getJavaType();
+                if (candidate != target && reachableFrom(candidate).contains(target)) {
+                    found.add(candidate);
+                }
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Gets the entity classes reachable from a model through its relationships, transitively.
+     */
+    private Set<Class<?>> reachableFrom(Class<?> modelClass) {
+        return reachable.computeIfAbsent(modelClass, start -> {
+            Set<Class<?>> visited = new HashSet<>();
+            Deque<Class<?>> pending = new ArrayDeque<>(List.of(start));
+            while (!pending.isEmpty()) {
+                ManagedType<?> managedType = entityManagerFactory.getMetamodel().managedType(pending.pop());
+                for (Attribute<?, ?> attribute : managedType.getAttributes()) {
+                    if (!attribute.isAssociation()) {
+                        continue;
+                    }
+                    Class<?> target = attribute.isCollection()
+                            ? ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType()
+                            : attribute.getJavaType();
+                    if (visited.add(target)) {
+                        pending.push(target);
+                    }
+                }
+            }
+            return visited;
+        });
+    }
+
+    private static class Changes {
+        private final AtomicLong own = new AtomicLong();
+        private final AtomicLong related = new AtomicLong();
+        private volatile long lastModified;
+
+        Changes(long lastModified) {
+            this.lastModified = lastModified;
+        }
+    }
+}
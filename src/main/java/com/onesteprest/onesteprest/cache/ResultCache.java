@@ -0,0 +1,157 @@
+package com.onesteprest.onesteprest.cache;
+
+import com.onesteprest.onesteprest.config.OneStepRestConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of read results, per model and query signature.
+ *
+ * Entries expire after {@code onesteprest.result-cache-ttl-seconds} and the
+ * least recently used ones are evicted above {@code onesteprest.result-cache-size}.
+ * Each entry keeps the {@link ModelChangeTracker} version of its model, so a
+ * change to the model or to a model it reaches through relationships makes
+ * its entries stale. Transactions that changed a model read around the cache
+ * until they complete, so uncommitted results are never shared.
+ *
+ * Lookups are published as {@code onesteprest.result.cache} metrics when a
+ * {@link MeterRegistry} is available.
+ */
+@Component
+public class ResultCache {
+
+    @Autowired
+    private ModelChangeTracker changeTracker;
+
+    @Autowired
+    private OneStepRestConfig config;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private Map<String, Entry> entries;
+    private long ttlMillis;
+
+    @PostConstruct
+    public void init() {
+        int maxSize = config.getResultCacheSize();
+        ttlMillis = config.getResultCacheTtlSeconds() * 1000L;
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("onesteprest.result.cache", hits, AtomicLong::get)
+                    .tag("result", "hit")
+                    .description("Result cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("onesteprest.result.cache", misses, AtomicLong::get)
+                    .tag("result", "miss")
+                    .description("Result cache lookups")
+                    .register(registry);
+            Gauge.builder("onesteprest.result.cache.size", this, ResultCache::size)
+                    .description("Cached results")
+                    .register(registry);
+            Gauge.builder("onesteprest.result.cache.hit.ratio", this, ResultCache::getHitRatio)
+                    .description("Ratio of result cache lookups served from the cache")
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Gets a cached result, loading and storing it if it is missing, expired or stale.
+     * Transactions with pending changes always load.
+     *
+     * @param modelClass The model class
+     * @param signature The normalized query signature
+     * @param loader Loads the result
+     * @return The cached or loaded result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Class<?> modelClass, String signature, Supplier<T> loader) {
+        if (changeTracker.hasPendingChanges()) {
+            return loader.get();
+        }
+        
+        String key = modelClass.getName() + "|" + signature;
+        long now = System.currentTimeMillis();
+        long version = changeTracker.getVersion(modelClass);
+
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now && entry.version == version) {
+                    hits.incrementAndGet();
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Load outside the lock; a change made meanwhile leaves the entry stale
+        misses.incrementAndGet();
+        T value = loader.get();
+
+        lock.lock();
+        try {
+            entries.put(key, new Entry(value, version, System.currentTimeMillis() + ttlMillis));
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long version;
+        private final long expiresAt;
+
+        Entry(Object value, long version, long expiresAt) {
+            this.value = value;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.onesteprest.onesteprest.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ToDoubleFunction;
+
+/**
+ * Publishes the statistics of each Hibernate second-level cache region, so
+ * that regions can be sized from their hit ratio and element count.
+ *
+ * Regions are published as {@code onesteprest.l2.cache} metrics tagged with
+ * the region name when a {@link MeterRegistry} is available and Hibernate
+ * collects statistics ({@code onesteprest.cache-statistics} or
+ * {@code hibernate.generate_statistics}); without them the values would stay
+ * at zero, so no meters are registered.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.ifAvailable(registry -> {
+            Statistics statistics = getStatistics();
+            if (!statistics.isStatisticsEnabled()) {
+                return;
+            }
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                counter(registry, region, "hit", CacheRegionStatistics::getHitCount);
+                counter(registry, region, "miss", CacheRegionStatistics::getMissCount);
+                counter(registry, region, "put", CacheRegionStatistics::getPutCount);
+                Gauge.builder("onesteprest.l2.cache.size", this,
+                              metrics -> regionValue(region, CacheRegionStatistics::getElementCountInMemory))
+                        .tag("region", region)
+                        .description("Elements held in memory by the second-level cache region")
+                        .register(registry);
+            }
+        });
+    }
+
+    /**
+     * Gets the statistics of a region.
+     *
+     * @param region The region name
+     * @return The region statistics, or null if there is no such region
+     */
+    public CacheRegionStatistics getRegionStatistics(String region) {
+        return getStatistics().getCacheRegionStatistics(region);
+    }
+
+    private Statistics getStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void counter(MeterRegistry registry, String region, String result,
+                         ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder("onesteprest.l2.cache", this, metrics -> regionValue(region, value))
+                .tag("region", region)
+                .tag("result", result)
+                .description("Second-level cache region lookups and puts")
+                .register(registry);
+    }
+
+    private double regionValue(String region, ToDoubleFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics statistics = getRegionStatistics(region);
+        return statistics == null ? 0 : Math.max(0, value.applyAsDouble(statistics));
+    }
+}
@@ -0,0 +1,26 @@
+package com.onesteprest.onesteprest.cache;
+
+/**
+ * An entity read by ID together with the entity tag of its representation.
+ */
+public class TaggedEntity {
+
+    private final Object entity;
+    private final String entityTag;
+
+    public TaggedEntity(Object entity, String entityTag) {
+        this.entity = entity;
+        this.entityTag = entityTag;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    /**
+     * Gets the entity tag, without quotes.
+     */
+    public String getEntityTag() {
+        return entityTag;
+    }
+}
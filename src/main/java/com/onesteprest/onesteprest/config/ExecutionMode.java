@@ -0,0 +1,11 @@
+package com.onesteprest.onesteprest.config;
+
+/**
+ * The kind of threads that handle requests, selected with {@code onesteprest.execution}.
+ */
+public enum ExecutionMode {
+    /** Requests hold a pooled platform thread for their whole duration. */
+    PLATFORM,
+    /** Each request runs on its own virtual thread, which releases its carrier while blocked. */
+    VIRTUAL
+}
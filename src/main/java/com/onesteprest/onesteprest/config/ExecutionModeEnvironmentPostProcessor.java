@@ -0,0 +1,47 @@
+package com.onesteprest.onesteprest.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Applies {@code onesteprest.execution=virtual} by enabling Spring Boot's
+ * virtual thread support, which runs the Tomcat request threads, the MVC
+ * async executor (used by streaming responses) and the application task
+ * executor on virtual threads. The service layer runs on the request thread,
+ * so it runs on virtual threads too.
+ *
+ * The setting is added with the lowest precedence, so an explicit
+ * {@code spring.threads.virtual.enabled} still wins. Virtual threads need
+ * Java 21; on older runtimes Spring Boot keeps platform threads.
+ */
+public class ExecutionModeEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String EXECUTION_PROPERTY = "onesteprest.execution";
+    private static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String execution = environment.getProperty(EXECUTION_PROPERTY, ExecutionMode.PLATFORM.name());
+        ExecutionMode mode;
+        try {
+            mode = ExecutionMode.valueOf(execution.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown " + EXECUTION_PROPERTY + ": " + execution +
+                                            " (expected platform or virtual)");
+        }
+        if (mode != ExecutionMode.VIRTUAL) {
+            return;
+        }
+
+        if (Runtime.version().feature() < 21) {
+            System.err.println("onesteprest.execution=virtual requires Java 21, running on Java " +
+                               Runtime.version().feature() + " with platform threads");
+        }
+        environment.getPropertySources().addLast(
+                new MapPropertySource("onesteprestExecution", Map.of(VIRTUAL_THREADS_PROPERTY, "true")));
+    }
+}
@@ -2,17 +2,37 @@ package com.onesteprest.onesteprest.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Configuration properties for OneStepRest.
  */
 @Configuration
+@ImportRuntimeHints(OneStepRestRuntimeHints.class)
 @ConfigurationProperties(prefix = "onesteprest")
 public class OneStepRestConfig {
     
     private String apiBasePath = "/api";
     private boolean enableGlobalValidation = true;
     private String defaultModelPackage = "com.onesteprest.onesteprest.examples";
+    private List<String> modelPackages = new ArrayList<>();
+    private int filterPlanCacheSize = 256;
+    private int searchIndexMaxCandidates = 1000;
+    private int resultCacheSize = 1000;
+    private int resultCacheTtlSeconds = 60;
+    private int bulkChunkSize = 1000;
+    private long streamTimeoutSeconds = 3600;
+    private boolean cacheStatistics = false;
+    private int maxExpandDepth = 3;
+    private int entityGraphCacheSize = 256;
+    private ExecutionMode execution = ExecutionMode.PLATFORM;
+    private int reactivePort = 8081;
+    private String reactiveUrl = "r2dbc:pool:h2:mem:///testdb?maxSize=10";
     
     public String getApiBasePath() {
         return apiBasePath;
@@ -37,4 +57,149 @@ public class OneStepRestConfig {
     public void setDefaultModelPackage(String defaultModelPackage) {
         this.defaultModelPackage = defaultModelPackage;
     }
+    
+    /**
+     * Further packages to find models in, besides the default model package.
+     */
+    public List<String> getModelPackages() {
+        return modelPackages;
+    }
+    
+    public void setModelPackages(List<String> modelPackages) {
+        this.modelPackages = modelPackages;
+    }
+    
+    /**
+     * Gets every package to find models in: the default model package, if
+     * set, followed by the model packages.
+     */
+    public List<String> getAllModelPackages() {
+        Set<String> packages = new LinkedHashSet<>();
+        if (defaultModelPackage != null && !defaultModelPackage.isEmpty()) {
+            packages.add(defaultModelPackage);
+        }
+        packages.addAll(modelPackages);
+        return new ArrayList<>(packages);
+    }
+    
+    public int getFilterPlanCacheSize() {
+        return filterPlanCacheSize;
+    }
+    
+    public void setFilterPlanCacheSize(int filterPlanCacheSize) {
+        this.filterPlanCacheSize = filterPlanCacheSize;
+    }
+    
+    public int getSearchIndexMaxCandidates() {
+        return searchIndexMaxCandidates;
+    }
+    
+    public void setSearchIndexMaxCandidates(int searchIndexMaxCandidates) {
+        this.searchIndexMaxCandidates = searchIndexMaxCandidates;
+    }
+    
+    public int getResultCacheSize() {
+        return resultCacheSize;
+    }
+    
+    public void setResultCacheSize(int resultCacheSize) {
+        this.resultCacheSize = resultCacheSize;
+    }
+    
+    public int getResultCacheTtlSeconds() {
+        return resultCacheTtlSeconds;
+    }
+    
+    public void setResultCacheTtlSeconds(int resultCacheTtlSeconds) {
+        this.resultCacheTtlSeconds = resultCacheTtlSeconds;
+    }
+    
+    public int getBulkChunkSize() {
+        return bulkChunkSize;
+    }
+    
+    public void setBulkChunkSize(int bulkChunkSize) {
+        this.bulkChunkSize = bulkChunkSize;
+    }
+    
+    /**
+     * The async timeout of streaming responses, in seconds; zero or less for
+     * no limit. Other async requests use {@code spring.mvc.async.request-timeout}.
+     */
+    public long getStreamTimeoutSeconds() {
+        return streamTimeoutSeconds;
+    }
+    
+    public void setStreamTimeoutSeconds(long streamTimeoutSeconds) {
+        this.streamTimeoutSeconds = streamTimeoutSeconds;
+    }
+    
+    /**
+     * Whether Hibernate collects statistics, which feed the second-level cache
+     * region metrics. Collecting them has a cost in every session, so it is off
+     * by default.
+     */
+    public boolean isCacheStatistics() {
+        return cacheStatistics;
+    }
+    
+    public void setCacheStatistics(boolean cacheStatistics) {
+        this.cacheStatistics = cacheStatistics;
+    }
+    
+    /**
+     * The maximum number of relationships in one path of an expand expression.
+     */
+    public int getMaxExpandDepth() {
+        return maxExpandDepth;
+    }
+    
+    public void setMaxExpandDepth(int maxExpandDepth) {
+        this.maxExpandDepth = maxExpandDepth;
+    }
+    
+    public int getEntityGraphCacheSize() {
+        return entityGraphCacheSize;
+    }
+    
+    public void setEntityGraphCacheSize(int entityGraphCacheSize) {
+        this.entityGraphCacheSize = entityGraphCacheSize;
+    }
+    
+    /**
+     * The kind of threads that handle requests. Applied at startup by
+     * {@link ExecutionModeEnvironmentPostProcessor}; exposed here so that the
+     * property is bound and documented with the others.
+     */
+    public ExecutionMode getExecution() {
+        return execution;
+    }
+    
+    public void setExecution(ExecutionMode execution) {
+        this.execution = execution;
+    }
+    
+    /**
+     * The port of the reactive read endpoints, served apart from the servlet
+     * container when the {@code reactive} profile is active.
+     */
+    public int getReactivePort() {
+        return reactivePort;
+    }
+    
+    public void setReactivePort(int reactivePort) {
+        this.reactivePort = reactivePort;
+    }
+    
+    /**
+     * The R2DBC URL of the database the JPA data source points to, used by the
+     * reactive read endpoints. Credentials default to the data source ones.
+     */
+    public String getReactiveUrl() {
+        return reactiveUrl;
+    }
+    
+    public void setReactiveUrl(String reactiveUrl) {
+        this.reactiveUrl = reactiveUrl;
+    }
 }
@@ -0,0 +1,97 @@
+package com.onesteprest.onesteprest.config;
+
+import com.onesteprest.onesteprest.aggregation.AggregateResult;
+import com.onesteprest.onesteprest.aggregation.FacetResult;
+import com.onesteprest.onesteprest.bulk.BulkItemResult;
+import com.onesteprest.onesteprest.bulk.BulkResult;
+import com.onesteprest.onesteprest.core.RestModelIndex;
+import com.onesteprest.onesteprest.fetch.MultiGetResult;
+import com.onesteprest.onesteprest.filters.Filter;
+import com.onesteprest.onesteprest.filters.FilterSpecification;
+import com.onesteprest.onesteprest.pagination.CursorPage;
+import com.onesteprest.onesteprest.pagination.SlicePage;
+import com.onesteprest.onesteprest.service.EventPublisher;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Registers the reflection and resource hints that a native image of a
+ * OneStepRest application needs.
+ *
+ * The models are read from the build-time index ({@link RestModelIndex}),
+ * which is also how they are found at runtime in a native image: the
+ * classpath cannot be scanned there. For each model, its fields (read and
+ * written through {@link com.onesteprest.onesteprest.core.ModelDescriptor})
+ * and the properties Jackson binds are registered, along with the related
+ * models reachable from them. The event implementations published by
+ * {@link EventPublisher} and the request and response DTOs are registered
+ * for binding as well.
+ */
+public class OneStepRestRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] MODEL_MEMBERS = {
+        MemberCategory.DECLARED_FIELDS,
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_PUBLIC_METHODS
+    };
+
+    // Set by hibernate.javax.cache.provider in application.properties
+    private static final String CACHE_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern(RestModelIndex.LOCATION);
+        registerModels(hints.reflection(), classLoader);
+
+        // Request and response bodies
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                FilterSpecification.class, Filter.class,
+                AggregateResult.class, FacetResult.class, MultiGetResult.class,
+                BulkItemResult.class, BulkResult.class, CursorPage.class, SlicePage.class);
+
+        // Listeners are matched against the event type, and may read it like any bean
+        for (Class<?> eventClass : EventPublisher.class.getDeclaredClasses()) {
+            hints.reflection().registerType(eventClass, MemberCategory.INVOKE_PUBLIC_METHODS);
+            for (Class<?> eventInterface : eventClass.getInterfaces()) {
+                hints.reflection().registerType(eventInterface, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+
+        hints.reflection().registerTypeIfPresent(classLoader, CACHE_PROVIDER,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // The cache provider reads its defaults and the application overrides from the classpath
+        hints.resources().registerPattern("reference.conf");
+        hints.resources().registerPattern("application.conf");
+    }
+
+    private void registerModels(ReflectionHints reflection, ClassLoader classLoader) {
+        RestModelIndex index = RestModelIndex.load(classLoader);
+        if (index == null) {
+            System.err.println("No " + RestModelIndex.LOCATION + " found: no @RestModel will be available " +
+                               "in a native image (is the onesteprest processor on the annotation processor path?)");
+            return;
+        }
+
+        for (RestModelIndex.Entry entry : index.getEntries()) {
+            Class<?> modelClass;
+            try {
+                modelClass = Class.forName(entry.getClassName(), false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.err.println("Skipping @RestModel index entry " + entry.getClassName() + ": " + e);
+                continue;
+            }
+
+            // Descriptors read the declared fields of the whole hierarchy
+            for (Class<?> current = modelClass; current != null && current != Object.class;
+                 current = current.getSuperclass()) {
+                reflection.registerType(current, MODEL_MEMBERS);
+            }
+            bindingRegistrar.registerReflectionHints(reflection, modelClass);
+        }
+    }
+}
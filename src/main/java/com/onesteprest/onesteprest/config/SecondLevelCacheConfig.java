@@ -0,0 +1,97 @@
+package com.onesteprest.onesteprest.config;
+
+import com.onesteprest.onesteprest.annotations.RestModel;
+import com.onesteprest.onesteprest.core.RestModelScanner;
+import com.onesteprest.onesteprest.utils.RelationshipUtil;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OneToMany;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registers the Hibernate second-level cache regions requested with
+ * {@link RestModel#secondLevelCache()}.
+ *
+ * Regions must be known when the persistence unit is built, so the models are
+ * looked up here rather than when they are registered with the service.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Autowired
+    private RestModelScanner restModelScanner;
+
+    @Autowired
+    private OneStepRestConfig config;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            if (config.isCacheStatistics()) {
+                properties.put(AvailableSettings.GENERATE_STATISTICS, "true");
+            }
+
+            Set<Class<?>> restModels = restModelScanner.findRestModels(config.getAllModelPackages());
+            for (Class<?> modelClass : restModels) {
+                AccessType accessType = accessTypeOf(modelClass);
+                if (accessType == null) {
+                    continue;
+                }
+                properties.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + modelClass.getName(),
+                               accessType.getExternalName());
+                System.out.println("Second-level cache " + accessType.getExternalName() + " for " + modelClass.getName());
+
+                registerCollections(modelClass, accessType, properties);
+            }
+        };
+    }
+
+    /**
+     * Registers the collections of a cached model. A cached collection only
+     * keeps the IDs of its elements, so collections of models without a
+     * region are left out; they would load each element with its own query.
+     */
+    private void registerCollections(Class<?> modelClass, AccessType accessType, Map<String, Object> properties) {
+        for (Class<?> current = modelClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                boolean collection = field.isAnnotationPresent(OneToMany.class) ||
+                                     field.isAnnotationPresent(ManyToMany.class) ||
+                                     field.isAnnotationPresent(ElementCollection.class);
+                if (!collection) {
+                    continue;
+                }
+
+                Class<?> elementType = RelationshipUtil.getCollectionGenericType(field);
+                boolean embeddable = field.isAnnotationPresent(ElementCollection.class);
+                if (!embeddable && (elementType == null || accessTypeOf(elementType) == null)) {
+                    continue;
+                }
+
+                properties.put(AvailableSettings.COLLECTION_CACHE_PREFIX + "." + modelClass.getName() + "." + field.getName(),
+                               accessType.getExternalName());
+            }
+        }
+    }
+
+    /**
+     * Gets the access type of a model's region, or null if it is not cached.
+     */
+    private static AccessType accessTypeOf(Class<?> modelClass) {
+        RestModel annotation = modelClass.getAnnotation(RestModel.class);
+        if (annotation == null) {
+            return null;
+        }
+        CacheConcurrencyStrategy strategy = annotation.secondLevelCache();
+        return strategy == null ? null : strategy.toAccessType();
+    }
+}
@@ -0,0 +1,48 @@
+package com.onesteprest.onesteprest.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Gives streaming responses their own async timeout.
+ *
+ * Other async requests keep {@code spring.mvc.async.request-timeout}; a
+ * response streamed from a database cursor may take much longer, so requests
+ * marked with {@link #STREAMING_ATTRIBUTE} get
+ * {@link OneStepRestConfig#getStreamTimeoutSeconds()} instead. The timeout is
+ * set before async processing starts, which is when the container reads it.
+ */
+@Configuration
+public class StreamingTimeoutConfig implements WebMvcConfigurer {
+
+    /**
+     * Request attribute that marks a request whose response is streamed.
+     */
+    public static final String STREAMING_ATTRIBUTE = StreamingTimeoutConfig.class.getName() + ".streaming";
+
+    @Autowired
+    private OneStepRestConfig config;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                if (request instanceof AsyncWebRequest &&
+                    request.getAttribute(STREAMING_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+                    long seconds = config.getStreamTimeoutSeconds();
+                    // The container treats a timeout of zero or less as no timeout
+                    ((AsyncWebRequest) request).setTimeout(seconds > 0 ? seconds * 1000 : -1L);
+                }
+            }
+        });
+    }
+}
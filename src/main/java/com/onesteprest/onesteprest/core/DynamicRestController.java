@@ -1,10 +1,21 @@
 package com.onesteprest.onesteprest.core;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.aggregation.AggregateResult;
+import com.onesteprest.onesteprest.aggregation.FacetResult;
+import com.onesteprest.onesteprest.bulk.BulkItemResult;
+import com.onesteprest.onesteprest.bulk.BulkResult;
 import com.onesteprest.onesteprest.config.OneStepRestConfig;
+import com.onesteprest.onesteprest.config.StreamingTimeoutConfig;
+import com.onesteprest.onesteprest.exceptions.EntityValidationException;
 import com.onesteprest.onesteprest.filters.Filter;
 import com.onesteprest.onesteprest.filters.FilterOperation;
 import com.onesteprest.onesteprest.filters.FilterParser;
 import com.onesteprest.onesteprest.filters.FilterSpecification;
+import com.onesteprest.onesteprest.pagination.CountStrategy;
+import com.onesteprest.onesteprest.pagination.CursorPage;
 import com.onesteprest.onesteprest.service.DynamicEntityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,13 +27,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 
 /**
@@ -33,6 +53,9 @@ import java.util.Optional;
 @Tag(name = "Dynamic Entity API", description = "REST API for dynamic entity management")
 public class DynamicRestController {
 
+    // Media type of JSON Merge Patch documents (RFC 7396)
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     @Autowired
     private DynamicEntityService entityService;
     
@@ -42,16 +65,20 @@ public class DynamicRestController {
     @Autowired
     private FilterParser filterParser;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Get all entities of a specific model with optional pagination.
      */
     @GetMapping("/{model}") 
     @Operation(
         summary = "Get all entities of a specific model",
-        description = "Retrieves all entities of the specified model type with optional pagination"
+        description = "Retrieves all entities of the specified model type with optional pagination, filtering, relationship expansion, sparse fieldsets, keyset pagination and streaming"
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Successfully retrieved entities"),
+        @ApiResponse(responseCode = "304", description = "Entities not modified since the If-None-Match ETag", content = @Content),
         @ApiResponse(responseCode = "404", description = "Model not found", content = @Content),
         @ApiResponse(responseCode = "500", description = "Server error", content = @Content)
     })
@@ -68,20 +95,27 @@ public class DynamicRestController {
             @RequestParam(required = false) String sortBy,
             @Parameter(description = "JSON filter specification")
             @RequestParam(required = false) String filter,
-            @RequestParam Map<String, String[]> allParams) {
+            @Parameter(description = "Relationships to include (comma separated, dotted for nesting). Empty for scalars only")
+            @RequestParam(required = false) String expand,
+            @Parameter(description = "Fields to return (comma separated, dotted for single-valued relationships)")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Keyset pagination cursor returned as nextCursor. Empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Stream all rows from a database cursor (also selected with Accept: application/x-ndjson)")
+            @RequestParam(required = false, defaultValue = "false") boolean stream,
+            @Parameter(description = "Total count strategy for paged requests (exact, none, cached, estimated)")
+            @RequestParam(required = false) String count,
+            @Parameter(description = "IDs to fetch in one query (comma separated); results follow the same order")
+            @RequestParam(required = false) String ids,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam Map<String, String[]> allParams,
+            WebRequest webRequest) {
         
         try {
             System.out.println("Received request for model: " + model + " with parameters: " + allParams);
             
             // Parse filter specification
-            FilterSpecification filterSpec = null;
-            if (filter != null && !filter.isEmpty()) {
-                // JSON format filter
-                filterSpec = filterParser.parseFromJson(filter);
-            } else {
-                // Query parameter format filter
-                filterSpec = filterParser.parseFromQueryParams(allParams);
-            }
+            FilterSpecification filterSpec = parseFilter(filter, allParams);
             
             if (filterSpec != null && filterSpec.hasFilters()) {
                 System.out.println("Parsed " + filterSpec.getFilters().size() + 
@@ -90,23 +124,74 @@ public class DynamicRestController {
                 System.out.println("No filters parsed from request");
             }
             
+            Sort sort = Sort.unsorted();
+            if (sortBy != null && !sortBy.isEmpty()) {
+                sort = direction.equalsIgnoreCase("desc") ? 
+                    Sort.by(sortBy).descending() : 
+                    Sort.by(sortBy).ascending();
+            }
+            
+            // Streaming writes the rows while they are read from the database
+            boolean ndjson = accept != null && accept.contains(EntityStreamWriter.NDJSON_MEDIA_TYPE);
+            if (stream || ndjson) {
+                if (fields != null || cursor != null || ids != null) {
+                    throw new IllegalArgumentException("stream cannot be combined with fields, cursor or ids");
+                }
+                FilterSpecification streamFilter = filterSpec;
+                Sort streamSort = sort;
+                StreamingResponseBody body = outputStream -> {
+                    EntityStreamWriter writer = new EntityStreamWriter(objectMapper, outputStream, ndjson);
+                    entityService.streamAll(model, streamFilter, streamSort, expand, writer);
+                    writer.finish();
+                };
+                webRequest.setAttribute(StreamingTimeoutConfig.STREAMING_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                return ResponseEntity.ok()
+                        .contentType(ndjson ? MediaType.parseMediaType(EntityStreamWriter.NDJSON_MEDIA_TYPE) : MediaType.APPLICATION_JSON)
+                        .body(body);
+            }
+            
+            // Unchanged lists are answered with 304 before any entity is loaded
+            String listTag = "W/\"" + entityService.getListTag(model, signatureOf(allParams)) + "\"";
+            if (webRequest.checkNotModified(listTag, entityService.getLastModified(model))) {
+                return null;
+            }
+            
+            // Multi-get reads all the requested IDs at once
+            if (ids != null) {
+                if (fields != null || cursor != null || page >= 0 || (filterSpec != null && filterSpec.hasFilters())) {
+                    throw new IllegalArgumentException("ids cannot be combined with fields, cursor, page or filters");
+                }
+                return ResponseEntity.ok(entityService.findAllByIds(model, splitIds(ids), expand));
+            }
+            
+            // Sparse fieldsets are selected as tuples instead of loading entities
+            if (fields != null && !fields.isBlank()) {
+                if (expand != null || cursor != null) {
+                    throw new IllegalArgumentException("fields cannot be combined with expand or cursor");
+                }
+                Pageable pageable = page >= 0 ? PageRequest.of(page, size, sort) : Pageable.unpaged(sort);
+                Page<Object> pageResult = entityService.findAllProjected(model, fields, filterSpec, pageable);
+                return ResponseEntity.ok(page >= 0 ? pageResult : pageResult.getContent());
+            }
+            
+            // Keyset pagination continues after the cursor instead of using an offset
+            if (cursor != null) {
+                CursorPage cursorPage = entityService.findAllByCursor(model, filterSpec, sort, size, cursor, expand);
+                return ResponseEntity.ok(cursorPage);
+            }
+            
             // Check if pagination is requested
             if (page >= 0) {
-                Sort sort = Sort.unsorted();
-                if (sortBy != null && !sortBy.isEmpty()) {
-                    sort = direction.equalsIgnoreCase("desc") ? 
-                        Sort.by(sortBy).descending() : 
-                        Sort.by(sortBy).ascending();
-                }
-                
                 Pageable pageable = PageRequest.of(page, size, sort);
                 
+                CountStrategy countStrategy = count != null ? CountStrategy.fromCode(count) : null;
+                
                 // Use filtered query if filters are provided, otherwise use standard query
-                Page<Object> pageResult;
+                Slice<Object> pageResult;
                 if (filterSpec != null && filterSpec.hasFilters()) {
-                    pageResult = entityService.findAllWithFilter(model, filterSpec, pageable);
+                    pageResult = entityService.findAllWithFilter(model, filterSpec, pageable, expand, countStrategy);
                 } else {
-                    pageResult = entityService.findAll(model, pageable);
+                    pageResult = entityService.findAll(model, pageable, expand, countStrategy);
                 }
                 
                 return ResponseEntity.ok(pageResult);
@@ -116,14 +201,127 @@ public class DynamicRestController {
                     System.out.println("Applying filters to non-paginated request");
                     // Apply filters with a high page size
                     Pageable pageable = PageRequest.of(0, 10000);
-                    Page<Object> pageResult = entityService.findAllWithFilter(model, filterSpec, pageable);
+                    Slice<Object> pageResult = entityService.findAllWithFilter(model, filterSpec, pageable, expand, CountStrategy.NONE);
                     return ResponseEntity.ok(pageResult.getContent());
                 } else {
                     // Return all items without pagination or filtering
-                    List<Object> entities = entityService.findAll(model);
+                    List<Object> entities = entityService.findAll(model, expand);
                     return ResponseEntity.ok(entities);
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error processing request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Aggregate the entities of a specific model.
+     */
+    @GetMapping("/{model}/_aggregate")
+    @Operation(
+        summary = "Aggregate entities of a specific model",
+        description = "Computes count, sum, avg, min and max metrics, optionally grouped and filtered, in a single query"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully aggregated entities"),
+        @ApiResponse(responseCode = "400", description = "Invalid group, metric, having or filter", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Server error", content = @Content)
+    })
+    public ResponseEntity<?> aggregate(
+            @Parameter(description = "The model name", required = true)
+            @PathVariable String model,
+            @Parameter(description = "Fields to group by (comma separated, dotted for single-valued relationships)")
+            @RequestParam(required = false) String groupBy,
+            @Parameter(description = "Metrics to compute, e.g. count,avg:precio,max:precio")
+            @RequestParam(required = false, defaultValue = "count") String metrics,
+            @Parameter(description = "Conditions on the metrics, e.g. count_gt_2,avg:precio_lte_500")
+            @RequestParam(required = false) String having,
+            @Parameter(description = "JSON filter specification")
+            @RequestParam(required = false) String filter,
+            @RequestParam Map<String, String[]> allParams) {
+        
+        try {
+            FilterSpecification filterSpec = parseFilter(filter, allParams);
+            AggregateResult result = entityService.aggregate(model, groupBy, metrics, having, filterSpec);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error processing request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Facet counts and histograms of the entities of a specific model.
+     */
+    @GetMapping("/{model}/_facets")
+    @Operation(
+        summary = "Facet counts of a specific model",
+        description = "Computes value counts per field and numeric histograms over the filtered entities in one request"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully computed facets"),
+        @ApiResponse(responseCode = "400", description = "Invalid facet, histogram or filter", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Server error", content = @Content)
+    })
+    public ResponseEntity<?> facets(
+            @Parameter(description = "The model name", required = true)
+            @PathVariable String model,
+            @Parameter(description = "Fields to count values of (comma separated, dotted for relationships)")
+            @RequestParam(required = false) String facets,
+            @Parameter(description = "Numeric fields and bucket intervals, e.g. precio:100")
+            @RequestParam(required = false) String histogram,
+            @Parameter(description = "Maximum number of values per facet")
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @Parameter(description = "JSON filter specification")
+            @RequestParam(required = false) String filter,
+            @RequestParam Map<String, String[]> allParams) {
+        
+        try {
+            FilterSpecification filterSpec = parseFilter(filter, allParams);
+            FacetResult result = entityService.facets(model, facets, histogram, size, filterSpec);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error processing request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get many entities of a specific model by ID.
+     */
+    @PostMapping("/{model}/_mget")
+    @Operation(
+        summary = "Get many entities by ID",
+        description = "Retrieves the entities with the given IDs in one query, in request order, listing the IDs not found"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the entities"),
+        @ApiResponse(responseCode = "400", description = "Invalid IDs", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Server error", content = @Content)
+    })
+    public ResponseEntity<?> multiGet(
+            @Parameter(description = "The model name", required = true)
+            @PathVariable String model,
+            @Parameter(description = "Relationships to include (comma separated, dotted for nesting). Empty for scalars only")
+            @RequestParam(required = false) String expand,
+            @RequestBody Object requestBody) {
+        
+        try {
+            // Either {"ids": [...]} or the bare array of IDs
+            Object ids = requestBody instanceof Map ? ((Map<?, ?>) requestBody).get("ids") : requestBody;
+            if (!(ids instanceof List)) {
+                throw new IllegalArgumentException("Body must be {\"ids\": [...]} or an array of IDs");
+            }
+            return ResponseEntity.ok(entityService.findAllByIds(model, (List<?>) ids, expand));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body("Error processing request: " + e.getMessage());
@@ -140,6 +338,7 @@ public class DynamicRestController {
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Successfully retrieved the entity"),
+        @ApiResponse(responseCode = "304", description = "Entity not modified since the If-None-Match ETag", content = @Content),
         @ApiResponse(responseCode = "404", description = "Entity not found", content = @Content),
         @ApiResponse(responseCode = "500", description = "Server error", content = @Content)
     })
@@ -147,9 +346,30 @@ public class DynamicRestController {
             @Parameter(description = "The model name", required = true) 
             @PathVariable String model, 
             @Parameter(description = "The entity ID", required = true) 
-            @PathVariable Object id) {
+            @PathVariable Object id,
+            @Parameter(description = "Relationships to include (comma separated, dotted for nesting). Empty for scalars only")
+            @RequestParam(required = false) String expand,
+            WebRequest webRequest) {
+        
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) == null &&
+            webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+            // Nothing to compare: tag the loaded entity instead of querying its tag first
+            long lastModified = entityService.getLastModified(model);
+            return entityService.findTaggedById(model, id, expand)
+                    .map(tagged -> ResponseEntity.ok()
+                            .eTag(tagged.getEntityTag())
+                            .lastModified(lastModified)
+                            .body(tagged.getEntity()))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        }
         
-        Optional<Object> entity = entityService.findById(model, id);
+        // Unchanged entities are answered with 304 before relationships are loaded
+        String entityTag = entityService.getEntityTag(model, id, expand);
+        if (entityTag != null && webRequest.checkNotModified(entityTag, entityService.getLastModified(model))) {
+            return null;
+        }
+        
+        Optional<Object> entity = entityService.findById(model, id, expand);
         return entity.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -177,6 +397,57 @@ public class DynamicRestController {
         return ResponseEntity.ok(createdEntity);
     }
 
+    /**
+     * Create many entities of a specific model.
+     */
+    @PostMapping("/{model}/_bulk")
+    @Operation(
+        summary = "Create many entities",
+        description = "Reads a JSON array of entities as a stream and creates them in chunks, returning the outcome of each item"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Processed the entities; see the status of each item"),
+        @ApiResponse(responseCode = "400", description = "Body is not a JSON array of objects", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Server error", content = @Content)
+    })
+    public ResponseEntity<?> bulkCreate(
+            @Parameter(description = "The model name", required = true)
+            @PathVariable String model,
+            InputStream body) {
+        
+        // The array is parsed item by item, so only one chunk is held in memory
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Body must be a JSON array");
+            }
+            
+            int chunkSize = config.getBulkChunkSize();
+            List<BulkItemResult> results = new ArrayList<>();
+            List<Object> chunk = new ArrayList<>(chunkSize);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Item " + (results.size() + chunk.size()) + " is not a JSON object");
+                }
+                chunk.add(objectMapper.readValue(parser, Map.class));
+                if (chunk.size() == chunkSize) {
+                    results.addAll(createChunk(model, chunk, results.size()));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                results.addAll(createChunk(model, chunk, results.size()));
+            }
+            
+            return ResponseEntity.ok(new BulkResult(results));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error processing request: " + e.getMessage());
+        }
+    }
+
     /**
      * Update an existing entity.
      */
@@ -207,6 +478,103 @@ public class DynamicRestController {
         return ResponseEntity.ok(updatedEntity);
     }
 
+    /**
+     * Partially update an existing entity.
+     */
+    @PatchMapping(value = "/{model}/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(
+        summary = "Partially update an entity",
+        description = "Applies a JSON Merge Patch: only the given properties change, and null clears a property"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully patched the entity"),
+        @ApiResponse(responseCode = "400", description = "Unknown property, invalid value or validation failed", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Entity not found", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Server error", content = @Content)
+    })
+    public ResponseEntity<Object> patch(
+            @Parameter(description = "The model name", required = true)
+            @PathVariable String model,
+            @Parameter(description = "The entity ID", required = true)
+            @PathVariable Object id,
+            @Parameter(description = "The properties to change", required = true)
+            @RequestBody Map<String, Object> patch) {
+        
+        Object patchedEntity = entityService.patch(model, id, patch);
+        if (patchedEntity == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(patchedEntity);
+    }
+
+    /**
+     * Update the entities of a specific model that match a filter.
+     */
+    @PatchMapping("/{model}/_bulk")
+    @Operation(
+        summary = "Update the entities matching a filter",
+        description = "Assigns the given field values to every entity matching the filter with a single statement, without loading them. The model must enable bulk updates"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully updated the entities; returns how many"),
+        @ApiResponse(responseCode = "400", description = "Missing filter, invalid field or value, or bulk updates not enabled", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Server error", content = @Content)
+    })
+    public ResponseEntity<?> bulkUpdate(
+            @Parameter(description = "The model name", required = true)
+            @PathVariable String model,
+            @Parameter(description = "JSON filter specification")
+            @RequestParam(required = false) String filter,
+            @RequestParam Map<String, String[]> allParams,
+            @Parameter(description = "The values to assign, by field name", required = true)
+            @RequestBody Map<String, Object> assignments) {
+        
+        try {
+            FilterSpecification filterSpec = parseStrictFilter(filter, allParams);
+            int updated = entityService.updateByFilter(model, filterSpec, assignments);
+            return ResponseEntity.ok(Map.of("updated", updated));
+        } catch (EntityValidationException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error processing request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the entities of a specific model that match a filter.
+     */
+    @DeleteMapping("/{model}")
+    @Operation(
+        summary = "Delete the entities matching a filter",
+        description = "Deletes every entity matching the filter with set-based statements, without loading them, along with their join table rows and cascaded children. The model must enable bulk deletes"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully deleted the entities; returns how many"),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid filter, or bulk deletes not enabled", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Server error", content = @Content)
+    })
+    public ResponseEntity<?> bulkDelete(
+            @Parameter(description = "The model name", required = true)
+            @PathVariable String model,
+            @Parameter(description = "JSON filter specification")
+            @RequestParam(required = false) String filter,
+            @RequestParam Map<String, String[]> allParams) {
+        
+        try {
+            FilterSpecification filterSpec = parseStrictFilter(filter, allParams);
+            int deleted = entityService.deleteByFilter(model, filterSpec);
+            return ResponseEntity.ok(Map.of("deleted", deleted));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error processing request: " + e.getMessage());
+        }
+    }
+
     /**
      * Delete an existing entity.
      */
@@ -318,4 +686,73 @@ public class DynamicRestController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Parse the filter of a request: the JSON specification when present,
+     * otherwise the filter_* query parameters.
+     */
+    private FilterSpecification parseFilter(String filter, Map<String, String[]> allParams) {
+        if (filter != null && !filter.isEmpty()) {
+            // JSON format filter
+            return filterParser.parseFromJson(filter);
+        }
+        // Query parameter format filter
+        return filterParser.parseFromQueryParams(allParams);
+    }
+
+    /**
+     * Parse the filter of a set-based write. Every filter_* parameter must
+     * produce a filter: a parameter that cannot be used would otherwise
+     * widen the set of rows that are written.
+     */
+    private FilterSpecification parseStrictFilter(String filter, Map<String, String[]> allParams) {
+        if (filter != null && !filter.isEmpty()) {
+            return filterParser.parseFromJson(filter);
+        }
+        return filterParser.parseFromQueryParams(allParams, true);
+    }
+
+    /**
+     * Create one chunk of a bulk request. A chunk that cannot be written is
+     * rolled back as a whole and its items are reported as failed, while the
+     * following chunks are still processed.
+     */
+    private List<BulkItemResult> createChunk(String model, List<Object> chunk, int offset) {
+        try {
+            return entityService.createBatch(model, chunk, offset);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            System.err.println("Error creating bulk chunk at item " + offset + ": " + e.getMessage());
+            List<BulkItemResult> failed = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                failed.add(BulkItemResult.failed(offset + i, e.getMessage()));
+            }
+            return failed;
+        }
+    }
+
+    /**
+     * Split a comma separated list of IDs.
+     */
+    private static List<String> splitIds(String ids) {
+        List<String> values = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (!id.isBlank()) {
+                values.add(id.trim());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Build the signature of a list request from its parameters, sorted by name.
+     */
+    private static String signatureOf(Map<String, String[]> allParams) {
+        StringBuilder signature = new StringBuilder();
+        for (Map.Entry<String, String[]> param : new TreeMap<>(allParams).entrySet()) {
+            signature.append(param.getKey()).append('=').append(String.join(",", param.getValue())).append('&');
+        }
+        return signature.toString();
+    }
+}
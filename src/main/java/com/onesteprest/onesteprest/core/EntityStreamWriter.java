@@ -0,0 +1,73 @@
+package com.onesteprest.onesteprest.core;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes chunks of entities to a response stream as they are read, either as
+ * a single JSON array or as newline-delimited JSON (one object per line).
+ *
+ * Nothing is written until the first chunk arrives, so errors raised while
+ * preparing the query can still be reported with a proper status code.
+ */
+public class EntityStreamWriter implements Consumer<List<Object>> {
+
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private final JsonGenerator generator;
+    private final boolean ndjson;
+    private boolean started;
+
+    public EntityStreamWriter(ObjectMapper objectMapper, OutputStream outputStream, boolean ndjson) throws IOException {
+        this.generator = objectMapper.createGenerator(outputStream);
+        this.ndjson = ndjson;
+        if (ndjson) {
+            // Separate root values with new lines instead of spaces
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+    }
+
+    @Override
+    public void accept(List<Object> chunk) {
+        try {
+            start();
+            for (Object entity : chunk) {
+                generator.writeObject(entity);
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Completes the document and flushes the generator.
+     */
+    public void finish() throws IOException {
+        start();
+        if (ndjson) {
+            if (generator.getOutputContext().getEntryCount() > 0) {
+                generator.writeRaw('\n');
+            }
+        } else {
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.onesteprest.onesteprest.core;
+
+import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The reflection metadata of a model class, computed once and shared: its ID
+ * and version fields, its scalar properties and its relationships, and a
+ * {@link PropertyAccessor} per field. Fields are made accessible and their
+ * accessors generated when the descriptor is built, so reading and writing
+ * entities does not walk the class hierarchy or look up annotations again.
+ *
+ * {@link com.onesteprest.onesteprest.service.DynamicEntityService#registerModel}
+ * builds the descriptors of the registered models up front; other entity
+ * classes (related entities that are not exposed, subclasses) get theirs on
+ * first use. Descriptors are immutable.
+ */
+public final class ModelDescriptor {
+
+    private static final Map<Class<?>, ModelDescriptor> DESCRIPTORS = new ConcurrentHashMap<>();
+
+    private final Class<?> modelClass;
+    private final Field idField;
+    private final PropertyAccessor idAccessor;
+    private final Field versionField;
+    // Instance fields by name; a subclass field hides a superclass field of the same name
+    private final Map<String, Field> fields;
+    private final Map<String, PropertyAccessor> accessors;
+    private final List<Field> scalarFields;
+    private final List<RelationshipDescriptor> relationships;
+    private final Map<String, RelationshipDescriptor> relationshipsByName;
+
+    private ModelDescriptor(Class<?> modelClass) {
+        Map<String, Field> allFields = new LinkedHashMap<>();
+        for (Class<?> current = modelClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !allFields.containsKey(field.getName()) &&
+                    field.trySetAccessible()) {
+                    allFields.put(field.getName(), field);
+                }
+            }
+        }
+
+        Map<String, PropertyAccessor> fieldAccessors = new LinkedHashMap<>();
+        for (Field field : allFields.values()) {
+            fieldAccessors.put(field.getName(), PropertyAccessors.of(field));
+        }
+
+        Field id = null;
+        Field version = null;
+        List<Field> scalars = new ArrayList<>();
+        List<RelationshipDescriptor> relationshipList = new ArrayList<>();
+        Map<String, RelationshipDescriptor> relationshipMap = new LinkedHashMap<>();
+        for (Field field : allFields.values()) {
+            if (id == null && field.isAnnotationPresent(Id.class)) {
+                id = field;
+            }
+            if (version == null && field.isAnnotationPresent(Version.class)) {
+                version = field;
+            }
+
+            RelationshipDescriptor relationship = RelationshipDescriptor.of(field, fieldAccessors.get(field.getName()));
+            if (relationship != null) {
+                relationshipList.add(relationship);
+                relationshipMap.put(relationship.getName(), relationship);
+            } else if (!Modifier.isTransient(field.getModifiers()) && !field.isAnnotationPresent(Transient.class)) {
+                scalars.add(field);
+            }
+        }
+
+        this.modelClass = modelClass;
+        this.idField = id;
+        this.idAccessor = id != null ? fieldAccessors.get(id.getName()) : null;
+        this.versionField = version;
+        this.fields = Collections.unmodifiableMap(allFields);
+        this.accessors = Collections.unmodifiableMap(fieldAccessors);
+        this.scalarFields = Collections.unmodifiableList(scalars);
+        this.relationships = Collections.unmodifiableList(relationshipList);
+        this.relationshipsByName = Collections.unmodifiableMap(relationshipMap);
+    }
+
+    /**
+     * Gets the descriptor of a class, building it on first use.
+     *
+     * @param modelClass The model or entity class
+     * @return The descriptor
+     */
+    public static ModelDescriptor of(Class<?> modelClass) {
+        return DESCRIPTORS.computeIfAbsent(modelClass, ModelDescriptor::new);
+    }
+
+    public Class<?> getModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * Gets the field annotated with {@code @Id}, or null if there is none.
+     */
+    public Field getIdField() {
+        return idField;
+    }
+
+    /**
+     * Gets the type of the ID, or {@code Long} if the class has no {@code @Id} field.
+     */
+    public Class<?> getIdType() {
+        return idField != null ? idField.getType() : Long.class;
+    }
+
+    /**
+     * Gets the field annotated with {@code @Version}, or null if there is none.
+     */
+    public Field getVersionField() {
+        return versionField;
+    }
+
+    /**
+     * Gets a field by name, or null if the class has no such instance field.
+     */
+    public Field getField(String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * Gets the accessor of a field by name, or null if the class has no such instance field.
+     */
+    public PropertyAccessor getAccessor(String name) {
+        return accessors.get(name);
+    }
+
+    /**
+     * Gets all the instance fields, those of the class first.
+     */
+    public Collection<Field> getFields() {
+        return fields.values();
+    }
+
+    /**
+     * Gets the persistent fields that are not relationships, the ID and version included.
+     */
+    public List<Field> getScalarFields() {
+        return scalarFields;
+    }
+
+    public List<RelationshipDescriptor> getRelationships() {
+        return relationships;
+    }
+
+    /**
+     * Gets a relationship by field name, or null if the field is not a relationship.
+     */
+    public RelationshipDescriptor getRelationship(String name) {
+        return relationshipsByName.get(name);
+    }
+
+    /**
+     * Finds the relationship of a kind that is mapped by a field of the other side.
+     *
+     * @param kind The kind of the relationship on this class
+     * @param mappedBy The name of the owning field on the other side
+     * @return The inverse relationship, or null if there is none
+     */
+    public RelationshipDescriptor getInverse(RelationshipDescriptor.Kind kind, String mappedBy) {
+        for (RelationshipDescriptor relationship : relationships) {
+            if (relationship.getKind() == kind && relationship.getMappedBy().equals(mappedBy)) {
+                return relationship;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the ID of an entity, or null if the class has no ID field.
+     */
+    public Object getId(Object entity) {
+        return idAccessor != null ? idAccessor.get(entity) : null;
+    }
+
+    /**
+     * Writes the ID of an entity; does nothing if the class has no ID field.
+     */
+    public void setId(Object entity, Object id) {
+        if (idAccessor != null) {
+            idAccessor.set(entity, id);
+        }
+    }
+}
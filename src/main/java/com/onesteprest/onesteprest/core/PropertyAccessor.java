@@ -0,0 +1,19 @@
+package com.onesteprest.onesteprest.core;
+
+/**
+ * Reads and writes one field of an entity. Instances come from
+ * {@link PropertyAccessors#of}, which generates a class per field that
+ * accesses it directly and falls back to reflection when it cannot.
+ */
+public interface PropertyAccessor {
+
+    /**
+     * Reads the field from an entity.
+     */
+    Object get(Object entity);
+
+    /**
+     * Writes the field of an entity.
+     */
+    void set(Object entity, Object value);
+}
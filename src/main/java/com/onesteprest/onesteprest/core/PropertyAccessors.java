@@ -0,0 +1,191 @@
+package com.onesteprest.onesteprest.core;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.NativeDetector;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates the {@link PropertyAccessor}s of entity fields.
+ *
+ * For each field it generates a small class with plain {@code getfield} and
+ * {@code putfield} instructions and defines it as a hidden nestmate of the
+ * class declaring the field, so it may access private fields. Unlike
+ * {@code Field.get} and {@code Field.set}, which go through the same shared
+ * code for every field, these calls can be inlined by the JIT at each call
+ * site. Accessing the field rather than calling its getter or setter keeps
+ * the semantics of the reflective access it replaces: no logic in accessors
+ * runs, and uninitialized Hibernate proxies are read as they are.
+ *
+ * Final fields, field types the generated class could not see, and any
+ * failure to define the class fall back to reflection on the field. So does
+ * every field in a native image, which cannot define classes at runtime.
+ */
+public final class PropertyAccessors {
+
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String ACCESSOR = Type.getInternalName(PropertyAccessor.class);
+    private static final String ILLEGAL_ARGUMENT = Type.getInternalName(IllegalArgumentException.class);
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * Creates the accessor of a field.
+     *
+     * @param field An accessible instance field
+     * @return The generated accessor, or a reflective one if it cannot be generated
+     */
+    public static PropertyAccessor of(Field field) {
+        if (!NativeDetector.inNativeImage() && !Modifier.isFinal(field.getModifiers()) &&
+            isVisibleFrom(field.getType(), field.getDeclaringClass())) {
+            try {
+                return generate(field);
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                System.err.println("Cannot generate accessor for " + field.getDeclaringClass().getName() + "." +
+                                   field.getName() + ", using reflection: " + e);
+            }
+        }
+        return new ReflectiveAccessor(field);
+    }
+
+    private static PropertyAccessor generate(Field field) throws ReflectiveOperationException {
+        Class<?> owner = field.getDeclaringClass();
+        String ownerName = Type.getInternalName(owner);
+        Class<?> type = field.getType();
+        String descriptor = Type.getDescriptor(type);
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                 ownerName + "$$Accessor$" + field.getName(), null, OBJECT, new String[] {ACCESSOR});
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // Object get(Object entity) { return (box) ((Owner) entity).field; }
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, ownerName);
+        mv.visitFieldInsn(Opcodes.GETFIELD, ownerName, field.getName(), descriptor);
+        if (type.isPrimitive()) {
+            String wrapper = Type.getInternalName(wrapperOf(type));
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapper, "valueOf", "(" + descriptor + ")L" + wrapper + ";", false);
+        }
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // void set(Object entity, Object value) { ((Owner) entity).field = (unbox) (Type) value; }
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "set", "(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        if (type.isPrimitive()) {
+            // Reject null like Field.set, rather than failing with a NullPointerException on unboxing
+            Label notNull = new Label();
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            mv.visitJumpInsn(Opcodes.IFNONNULL, notNull);
+            mv.visitTypeInsn(Opcodes.NEW, ILLEGAL_ARGUMENT);
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitLdcInsn("Can not set " + type.getName() + " field " + owner.getName() + "." + field.getName() +
+                            " to null value");
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, ILLEGAL_ARGUMENT, "<init>", "(Ljava/lang/String;)V", false);
+            mv.visitInsn(Opcodes.ATHROW);
+            mv.visitLabel(notNull);
+            mv.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+        }
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, ownerName);
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        if (type.isPrimitive()) {
+            String wrapper = Type.getInternalName(wrapperOf(type));
+            mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getName() + "Value", "()" + descriptor, false);
+        } else if (type != Object.class) {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+        }
+        mv.visitFieldInsn(Opcodes.PUTFIELD, ownerName, field.getName(), descriptor);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                .defineHiddenClass(cw.toByteArray(), true, MethodHandles.Lookup.ClassOption.NESTMATE);
+        return (PropertyAccessor) lookup.lookupClass().getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * Whether a class declared in another class can name the type of one of its
+     * fields: the type must be public or in the same runtime package.
+     */
+    private static boolean isVisibleFrom(Class<?> type, Class<?> declaringClass) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || Modifier.isPublic(type.getModifiers()) ||
+               (type.getPackageName().equals(declaringClass.getPackageName()) &&
+                type.getClassLoader() == declaringClass.getClassLoader());
+    }
+
+    private static Class<?> wrapperOf(Class<?> primitive) {
+        if (primitive == int.class) {
+            return Integer.class;
+        } else if (primitive == long.class) {
+            return Long.class;
+        } else if (primitive == double.class) {
+            return Double.class;
+        } else if (primitive == float.class) {
+            return Float.class;
+        } else if (primitive == boolean.class) {
+            return Boolean.class;
+        } else if (primitive == short.class) {
+            return Short.class;
+        } else if (primitive == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    /**
+     * Accessor through {@code Field.get} and {@code Field.set}, for fields
+     * whose accessor cannot be generated.
+     */
+    private static final class ReflectiveAccessor implements PropertyAccessor {
+
+        private final Field field;
+
+        ReflectiveAccessor(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public Object get(Object entity) {
+            try {
+                return field.get(entity);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field.getName() + ": " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void set(Object entity, Object value) {
+            try {
+                field.set(entity, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot write " + field.getName() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
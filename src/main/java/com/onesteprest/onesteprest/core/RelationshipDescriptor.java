@@ -0,0 +1,174 @@
+package com.onesteprest.onesteprest.core;
+
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.function.Supplier;
+
+/**
+ * A relationship field of a model, as described by its JPA annotation: its
+ * kind, the related entity type (the element type for collections), the
+ * {@code mappedBy} attribute of the inverse side and how to create an empty
+ * collection for it. Part of a {@link ModelDescriptor}.
+ */
+public final class RelationshipDescriptor {
+
+    public enum Kind {
+        MANY_TO_ONE, ONE_TO_ONE, ONE_TO_MANY, MANY_TO_MANY
+    }
+
+    private final Field field;
+    private final PropertyAccessor accessor;
+    private final Kind kind;
+    private final Class<?> targetType;
+    private final String mappedBy;
+    private final boolean joinColumn;
+    private final Supplier<Collection<Object>> collectionFactory;
+
+    private RelationshipDescriptor(Field field, PropertyAccessor accessor, Kind kind, Class<?> targetType,
+                                   String mappedBy) {
+        this.field = field;
+        this.accessor = accessor;
+        this.kind = kind;
+        this.targetType = targetType;
+        this.mappedBy = mappedBy;
+        this.joinColumn = field.isAnnotationPresent(JoinColumn.class);
+        this.collectionFactory = collectionFactoryFor(field.getType());
+    }
+
+    /**
+     * Describes a field if it is annotated as a relationship.
+     *
+     * @param field An accessible field
+     * @param accessor The accessor of the field
+     * @return The relationship, or null if the field is not one
+     */
+    static RelationshipDescriptor of(Field field, PropertyAccessor accessor) {
+        if (field.isAnnotationPresent(ManyToOne.class)) {
+            return new RelationshipDescriptor(field, accessor, Kind.MANY_TO_ONE, field.getType(), "");
+        } else if (field.isAnnotationPresent(OneToOne.class)) {
+            return new RelationshipDescriptor(field, accessor, Kind.ONE_TO_ONE, field.getType(),
+                                              field.getAnnotation(OneToOne.class).mappedBy());
+        } else if (field.isAnnotationPresent(OneToMany.class)) {
+            return new RelationshipDescriptor(field, accessor, Kind.ONE_TO_MANY, elementTypeOf(field),
+                                              field.getAnnotation(OneToMany.class).mappedBy());
+        } else if (field.isAnnotationPresent(ManyToMany.class)) {
+            return new RelationshipDescriptor(field, accessor, Kind.MANY_TO_MANY, elementTypeOf(field),
+                                              field.getAnnotation(ManyToMany.class).mappedBy());
+        }
+        return null;
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the related entity type: the field type of a single-valued
+     * relationship, or the element type of a collection (null if the
+     * collection is not parameterized).
+     */
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Gets the {@code mappedBy} attribute, empty on the owning side.
+     */
+    public String getMappedBy() {
+        return mappedBy;
+    }
+
+    public boolean isOwningSide() {
+        return mappedBy.isEmpty();
+    }
+
+    /**
+     * Whether the field declares its join column with {@code @JoinColumn}.
+     */
+    public boolean hasJoinColumn() {
+        return joinColumn;
+    }
+
+    public boolean isCollection() {
+        return kind == Kind.ONE_TO_MANY || kind == Kind.MANY_TO_MANY;
+    }
+
+    /**
+     * Creates an empty collection the field can hold: an {@link ArrayList}
+     * for lists and plain collections, a {@link HashSet} for sets.
+     *
+     * @return The new collection, or null if the field is not a collection of a supported type
+     */
+    public Collection<Object> newCollection() {
+        return collectionFactory != null ? collectionFactory.get() : null;
+    }
+
+    /**
+     * Reads the field from an entity.
+     */
+    public Object get(Object entity) {
+        return accessor.get(entity);
+    }
+
+    /**
+     * Writes the field of an entity.
+     */
+    public void set(Object entity, Object value) {
+        accessor.set(entity, value);
+    }
+
+    /**
+     * Gets the collection of an entity, setting a new empty one if it is null.
+     *
+     * @return The collection, or null if the field cannot hold a new collection
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<Object> getOrCreateCollection(Object entity) {
+        Collection<Object> collection = (Collection<Object>) get(entity);
+        if (collection == null) {
+            collection = newCollection();
+            if (collection != null) {
+                set(entity, collection);
+            }
+        }
+        return collection;
+    }
+
+    private static Class<?> elementTypeOf(Field field) {
+        Type type = field.getGenericType();
+        if (type instanceof ParameterizedType) {
+            Type[] typeArgs = ((ParameterizedType) type).getActualTypeArguments();
+            if (typeArgs.length > 0 && typeArgs[0] instanceof Class) {
+                return (Class<?>) typeArgs[0];
+            }
+        }
+        return null;
+    }
+
+    private static Supplier<Collection<Object>> collectionFactoryFor(Class<?> type) {
+        if (type.isAssignableFrom(ArrayList.class)) {
+            return ArrayList::new;
+        } else if (type.isAssignableFrom(HashSet.class)) {
+            return HashSet::new;
+        }
+        return null;
+    }
+}
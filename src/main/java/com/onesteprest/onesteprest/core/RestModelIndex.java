@@ -0,0 +1,104 @@
+package com.onesteprest.onesteprest.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The {@code @RestModel} classes listed in the {@value #LOCATION} files that
+ * the {@code onesteprest-processor} annotation processor writes at build time.
+ * Every such file on the classpath is read, so models may come from several
+ * jars.
+ */
+public final class RestModelIndex {
+
+    public static final String LOCATION = "META-INF/onesteprest.models";
+
+    /**
+     * A model listed in the index, with the attributes of its annotation at build time.
+     */
+    public static final class Entry {
+
+        private final String className;
+        private final String path;
+        private final boolean enableValidation;
+
+        Entry(String className, String path, boolean enableValidation) {
+            this.className = className;
+            this.path = path;
+            this.enableValidation = enableValidation;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public boolean isEnableValidation() {
+            return enableValidation;
+        }
+    }
+
+    private final List<Entry> entries;
+
+    private RestModelIndex(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Reads every index file visible to a class loader.
+     *
+     * @param classLoader The class loader to read the index files from
+     * @return The index, or null if there is no index file
+     * @throws IllegalStateException if an index file cannot be read
+     */
+    public static RestModelIndex load(ClassLoader classLoader) {
+        List<Entry> entries = new ArrayList<>();
+        boolean found = false;
+        try {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                found = true;
+                Properties properties = new Properties();
+                try (InputStream in = resources.nextElement().openStream()) {
+                    properties.load(in);
+                }
+                for (String className : properties.stringPropertyNames()) {
+                    // path,enableValidation; the path is whatever precedes the last comma
+                    String value = properties.getProperty(className);
+                    int comma = value.lastIndexOf(',');
+                    entries.add(new Entry(className, value.substring(0, comma),
+                                          Boolean.parseBoolean(value.substring(comma + 1))));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Cannot read " + LOCATION + ": " + e.getMessage(), e);
+        }
+        return found ? new RestModelIndex(entries) : null;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the entries of the models in a package or its subpackages.
+     */
+    public List<Entry> getEntries(String basePackage) {
+        List<Entry> inPackage = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.getClassName().startsWith(basePackage + ".")) {
+                inPackage.add(entry);
+            }
+        }
+        return inPackage;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 
 import jakarta.annotation.PostConstruct;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -29,12 +30,12 @@ public class RestModelRegistry {
      */
     @PostConstruct
     public void registerModels() {
-        String basePackage = config.getDefaultModelPackage();
+        List<String> modelPackages = config.getAllModelPackages();
         try {
-            Set<Class<?>> restModels = restModelScanner.scanForRestModels(basePackage);
+            Set<Class<?>> restModels = restModelScanner.findRestModels(modelPackages);
 
             if (restModels.isEmpty()) {
-                System.err.println("No models found annotated with @RestModel in package: " + basePackage);
+                System.err.println("No models found annotated with @RestModel in packages: " + modelPackages);
                 return;
             }
 
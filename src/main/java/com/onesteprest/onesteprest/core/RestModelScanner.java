@@ -4,29 +4,114 @@ import com.onesteprest.onesteprest.annotations.RestModel;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
+import org.springframework.core.NativeDetector;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Scans the project for classes annotated with @RestModel
- * and retrieves their base paths for REST endpoint registration.
+ * Finds the classes annotated with @RestModel for REST endpoint registration.
+ *
+ * Models are read from the build-time index ({@link RestModelIndex}) when
+ * there is one. Packages without index entries (the index is missing, or the
+ * models come from a jar built without the annotation processor) are scanned
+ * with Reflections instead. A native image cannot be scanned, so there the
+ * index is the only source of models.
  */
 @Component
 public class RestModelScanner {
 
+    // Found once per set of packages: the registry and the second-level cache
+    // configuration both ask for the models at startup
+    private final Map<List<String>, Set<Class<?>>> modelsByPackages = new ConcurrentHashMap<>();
+
+    /**
+     * Finds the classes annotated with @RestModel in the given packages and their subpackages.
+     *
+     * @param basePackages the packages to look in
+     * @return the annotated classes
+     */
+    public Set<Class<?>> findRestModels(Collection<String> basePackages) {
+        return modelsByPackages.computeIfAbsent(new ArrayList<>(basePackages), this::find);
+    }
+
+    private Set<Class<?>> find(List<String> basePackages) {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        RestModelIndex index = RestModelIndex.load(classLoader);
+
+        Set<Class<?>> models = new LinkedHashSet<>();
+        List<String> unindexedPackages = new ArrayList<>();
+        for (String basePackage : basePackages) {
+            List<RestModelIndex.Entry> entries = index != null ? index.getEntries(basePackage) : List.of();
+            if (entries.isEmpty()) {
+                unindexedPackages.add(basePackage);
+                continue;
+            }
+            for (RestModelIndex.Entry entry : entries) {
+                Class<?> modelClass = loadIndexedModel(entry, classLoader);
+                if (modelClass != null) {
+                    models.add(modelClass);
+                }
+            }
+        }
+
+        if (!unindexedPackages.isEmpty() && NativeDetector.inNativeImage()) {
+            System.err.println("No @RestModel index entries for " + unindexedPackages +
+                               "; packages without an index cannot be scanned in a native image");
+        } else if (!unindexedPackages.isEmpty()) {
+            System.out.println("No @RestModel index entries for " + unindexedPackages + ", scanning the classpath");
+            models.addAll(scanForRestModels(unindexedPackages.toArray(new String[0])));
+        }
+        return models;
+    }
+
     /**
-     * Scans the given base package for classes annotated with @RestModel.
+     * Loads a class listed in the index, checking it against its annotation.
      *
-     * @param basePackage the base package to scan
+     * @return the class, or null if it no longer exists or is no longer a model
+     */
+    private Class<?> loadIndexedModel(RestModelIndex.Entry entry, ClassLoader classLoader) {
+        Class<?> modelClass;
+        try {
+            modelClass = Class.forName(entry.getClassName(), false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            System.err.println("Skipping @RestModel index entry " + entry.getClassName() + ": " + e);
+            return null;
+        }
+
+        RestModel annotation = modelClass.getAnnotation(RestModel.class);
+        if (annotation == null) {
+            System.err.println("Skipping @RestModel index entry " + entry.getClassName() + ": class is not annotated");
+            return null;
+        }
+        if (!annotation.path().equals(entry.getPath()) || annotation.enableValidation() != entry.isEnableValidation()) {
+            // The annotation wins; a stale index only means the build should be cleaned
+            System.err.println("Stale @RestModel index entry for " + entry.getClassName() +
+                               " (path " + entry.getPath() + ", annotation has " + annotation.path() + ")");
+        }
+        return modelClass;
+    }
+
+    /**
+     * Scans the given base packages for classes annotated with @RestModel.
+     *
+     * @param basePackages the base packages to scan
      * @return a set of classes annotated with @RestModel
      */
-    public Set<Class<?>> scanForRestModels(String basePackage) {
+    public Set<Class<?>> scanForRestModels(String... basePackages) {
         // Create properly configured Reflections instance
         Reflections reflections = new Reflections(new ConfigurationBuilder()
-            .forPackage(basePackage)
+            .forPackages(basePackages)
             .setScanners(Scanners.TypesAnnotated, Scanners.SubTypes));
-            
+
         // Find all classes annotated with @RestModel
         return reflections.getTypesAnnotatedWith(RestModel.class);
     }
-}
\ No newline at end of file
+}
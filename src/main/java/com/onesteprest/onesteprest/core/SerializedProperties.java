@@ -0,0 +1,103 @@
+package com.onesteprest.onesteprest.core;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import java.util.*;
+
+/**
+ * The properties of a class that an {@link ObjectMapper} serializes.
+ *
+ * Requests that name properties ({@code fields}, {@code expand}, aggregations,
+ * facets) are checked against this, so a property kept out of the JSON with
+ * {@code @JsonIgnore}, {@code @JsonProperty(access = WRITE_ONLY)},
+ * {@code @JsonIgnoreProperties} or {@code @JsonIncludeProperties} cannot be
+ * read through them either. Properties are looked up by their Java name, which
+ * is also their name in the JPA metamodel.
+ */
+public final class SerializedProperties {
+
+    private final SerializationConfig config;
+    private final Map<String, BeanPropertyDefinition> properties = new LinkedHashMap<>();
+
+    private SerializedProperties(SerializationConfig config, Class<?> type, Set<String> ignored, Set<String> included) {
+        this.config = config;
+
+        BeanDescription description = config.introspect(config.constructType(type));
+        AnnotatedClass classInfo = description.getClassInfo();
+        Set<String> hidden = new HashSet<>(ignored);
+        hidden.addAll(config.getDefaultPropertyIgnorals(type, classInfo).findIgnoredForSerialization());
+        Set<String> classIncluded = config.getDefaultPropertyInclusions(type, classInfo).getIncluded();
+
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            String jsonName = property.getName();
+            if (!property.couldSerialize() || hidden.contains(jsonName)
+                    || (included != null && !included.contains(jsonName))
+                    || (classIncluded != null && !classIncluded.contains(jsonName))) {
+                continue;
+            }
+            properties.put(property.getInternalName(), property);
+        }
+    }
+
+    /**
+     * Gets the serialized properties of a class.
+     *
+     * @param objectMapper The mapper the responses are written with
+     * @param type The class
+     * @return The serialized properties
+     */
+    public static SerializedProperties of(ObjectMapper objectMapper, Class<?> type) {
+        return new SerializedProperties(objectMapper.getSerializationConfig(), type, Set.of(), null);
+    }
+
+    /**
+     * Whether a property is serialized.
+     *
+     * @param name The Java name of the property
+     */
+    public boolean contains(String name) {
+        return properties.containsKey(name);
+    }
+
+    /**
+     * Gets the name a property is written with, which differs from its Java
+     * name when it is renamed with {@code @JsonProperty}.
+     *
+     * @param name The Java name of a serialized property
+     * @return The JSON name
+     */
+    public String getJsonName(String name) {
+        return properties.get(name).getName();
+    }
+
+    /**
+     * Gets the Java names of the serialized properties.
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(properties.keySet());
+    }
+
+    /**
+     * Gets the serialized properties of the value of a property. Besides the
+     * configuration of the value class, this applies the
+     * {@code @JsonIgnoreProperties} and {@code @JsonIncludeProperties} of the
+     * property itself (for example the back reference of a relationship).
+     *
+     * @param name The Java name of a serialized property
+     * @param valueType The class of the value (the element class for collections)
+     * @return The serialized properties of the value
+     */
+    public SerializedProperties getValueProperties(String name, Class<?> valueType) {
+        AnnotatedMember accessor = properties.get(name).getAccessor();
+        AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+        Set<String> ignored = introspector.findPropertyIgnoralByName(config, accessor).findIgnoredForSerialization();
+        Set<String> included = introspector.findPropertyInclusionByName(config, accessor).getIncluded();
+        return new SerializedProperties(config, valueType, ignored, included);
+    }
+}
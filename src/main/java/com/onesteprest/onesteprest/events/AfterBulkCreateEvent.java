@@ -0,0 +1,7 @@
+package com.onesteprest.onesteprest.events;
+
+/**
+ * Event fired after a batch of entities is created.
+ */
+public interface AfterBulkCreateEvent extends BulkEntityEvent {
+}
@@ -0,0 +1,20 @@
+package com.onesteprest.onesteprest.events;
+
+import java.util.List;
+
+/**
+ * Event fired after a set-based delete of the entities matching a filter.
+ * No entity is loaded, so the event carries the IDs instead.
+ */
+public interface AfterBulkDeleteEvent {
+    /**
+     * Gets the model class associated with this event.
+     */
+    Class<?> getModelClass();
+    
+    /**
+     * Gets the IDs of the deleted entities, or null when the rows were
+     * deleted with a single statement without reading them.
+     */
+    List<Object> getIds();
+}
@@ -0,0 +1,31 @@
+package com.onesteprest.onesteprest.events;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event fired after a set-based update of the entities matching a filter.
+ * No entity is loaded, so the event describes the statement instead.
+ */
+public interface AfterBulkUpdateEvent {
+    /**
+     * Gets the model class associated with this event.
+     */
+    Class<?> getModelClass();
+    
+    /**
+     * Gets the values assigned to each field.
+     */
+    Map<String, Object> getAssignments();
+    
+    /**
+     * Gets the IDs of the updated entities, which are only read when an
+     * assigned field is searchable, or null otherwise.
+     */
+    List<Object> getIds();
+    
+    /**
+     * Gets the number of updated entities.
+     */
+    int getCount();
+}
@@ -0,0 +1,11 @@
+package com.onesteprest.onesteprest.events;
+
+/**
+ * Event fired after an entity is deleted.
+ */
+public interface AfterDeleteEvent extends EntityEvent {
+    /**
+     * Gets the ID of the entity that was deleted.
+     */
+    Object getId();
+}
@@ -0,0 +1,10 @@
+package com.onesteprest.onesteprest.events;
+
+/**
+ * Event fired before a batch of entities is created.
+ * 
+ * The entities can be modified, or replaced in the list, as long as the
+ * list keeps one entity per position.
+ */
+public interface BeforeBulkCreateEvent extends BulkEntityEvent {
+}
@@ -0,0 +1,18 @@
+package com.onesteprest.onesteprest.events;
+
+import java.util.List;
+
+/**
+ * Base interface for events of a batch of entities.
+ */
+public interface BulkEntityEvent {
+    /**
+     * Gets the model class associated with this event.
+     */
+    Class<?> getModelClass();
+    
+    /**
+     * Gets the entities involved in this event.
+     */
+    List<Object> getEntities();
+}
@@ -1,8 +1,10 @@
 package com.onesteprest.onesteprest.examples;
 
 import com.onesteprest.onesteprest.annotations.RestModel;
+import com.onesteprest.onesteprest.annotations.Searchable;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -10,7 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@RestModel(path = "/categorias")
+@RestModel(path = "/categorias", secondLevelCache = CacheConcurrencyStrategy.READ_WRITE, bulkDelete = true)
 public class Categoria {
     
     @Id
@@ -19,8 +21,10 @@ public class Categoria {
     
     @NotBlank(message = "El nombre es obligatorio")
     @Size(min = 3, max = 50, message = "El nombre debe tener entre 3 y 50 caracteres")
+    @Searchable
     private String nombre;
     
+    @Searchable
     private String descripcion;
     
     @OneToMany(mappedBy = "categoria", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
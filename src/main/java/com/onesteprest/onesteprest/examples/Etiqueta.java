@@ -3,6 +3,7 @@ package com.onesteprest.onesteprest.examples;
 import com.onesteprest.onesteprest.annotations.RestModel;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 
 import java.util.HashSet;
@@ -12,7 +13,7 @@ import java.util.Set;
  * Example model class for tags that can be applied to products.
  */
 @Entity
-@RestModel(path = "/etiquetas")
+@RestModel(path = "/etiquetas", cache = true, secondLevelCache = CacheConcurrencyStrategy.READ_WRITE)
 public class Etiqueta {
     
     @Id
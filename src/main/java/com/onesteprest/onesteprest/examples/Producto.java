@@ -1,11 +1,13 @@
 package com.onesteprest.onesteprest.examples;
 
 import com.onesteprest.onesteprest.annotations.RestModel;
+import com.onesteprest.onesteprest.annotations.Searchable;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -15,14 +17,18 @@ import java.util.Set;
  * This will generate CRUD endpoints for the "Producto" type.
  */
 @Entity
-@RestModel(path = "/productos")
+@DynamicUpdate
+@RestModel(path = "/productos", bulkUpdate = true, bulkDelete = true)
 public class Producto {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // A sequence (not IDENTITY) lets Hibernate batch the inserts of bulk creates
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "producto_seq")
+    @SequenceGenerator(name = "producto_seq", sequenceName = "producto_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "El nombre es obligatorio")
+    @Searchable
     private String nombre;
     
     @NotNull(message = "El precio es obligatorio")
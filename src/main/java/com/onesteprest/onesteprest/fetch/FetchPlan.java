@@ -0,0 +1,199 @@
+package com.onesteprest.onesteprest.fetch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.onesteprest.onesteprest.core.SerializedProperties;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import org.hibernate.Hibernate;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A client-selected fetch plan compiled from an {@code expand} expression.
+ *
+ * The expression is a comma separated list of relationship names, with dots
+ * for nesting (for example {@code categoria,etiquetas.productos}). Every node
+ * of the plan describes which relationships of its entity class have to be
+ * loaded and serialized; relationships that are not listed are left out of
+ * the response entirely. Only relationships that Jackson would serialize can
+ * be expanded, so a plan never writes more than the plain response would.
+ */
+public class FetchPlan {
+
+    private final Class<?> entityClass;
+    private final boolean collection;
+    private final SerializedProperties properties;
+    private final Map<String, FetchPlan> children = new TreeMap<>();
+
+    private FetchPlan(Class<?> entityClass, boolean collection, SerializedProperties properties) {
+        this.entityClass = entityClass;
+        this.collection = collection;
+        this.properties = properties;
+    }
+
+    /**
+     * Compiles an expand expression against the JPA metamodel.
+     *
+     * Cyclic mappings make endless distinct paths valid
+     * ({@code categoria.productos.categoria...}), and every level costs
+     * another query, so paths longer than {@code maxDepth} are rejected.
+     * Relationships that the mapper does not serialize (ignored on the class,
+     * or on the relationship that leads to it) are rejected as unknown.
+     *
+     * @param entityClass The root entity class
+     * @param expand The expand expression (may be empty for scalars only)
+     * @param metamodel The JPA metamodel
+     * @param maxDepth The maximum number of relationships in a path
+     * @param objectMapper The mapper the responses are written with
+     * @return The compiled plan
+     * @throws IllegalArgumentException if a name is unknown or not a relationship, or a path is too deep
+     */
+    public static FetchPlan compile(Class<?> entityClass, String expand, Metamodel metamodel, int maxDepth,
+                                    ObjectMapper objectMapper) {
+        FetchPlan root = new FetchPlan(entityClass, false, SerializedProperties.of(objectMapper, entityClass));
+        if (expand == null || expand.isBlank()) {
+            return root;
+        }
+
+        for (String path : expand.split(",")) {
+            String trimmed = path.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            String[] names = trimmed.split("\\.");
+            if (names.length > maxDepth) {
+                throw new IllegalArgumentException("Expand path '" + trimmed + "' is deeper than the maximum of " + maxDepth);
+            }
+
+            FetchPlan current = root;
+            for (String name : names) {
+                current = current.addChild(name, metamodel);
+            }
+        }
+        return root;
+    }
+
+    private FetchPlan addChild(String name, Metamodel metamodel) {
+        FetchPlan existing = children.get(name);
+        if (existing != null) {
+            return existing;
+        }
+
+        // Hidden properties are reported like missing ones
+        if (!properties.contains(name)) {
+            throw new IllegalArgumentException("Unknown relationship '" + name + "' on " + entityClass.getSimpleName());
+        }
+
+        ManagedType<?> managedType = metamodel.managedType(entityClass);
+        Attribute<?, ?> attribute;
+        try {
+            attribute = managedType.getAttribute(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown relationship '" + name + "' on " + entityClass.getSimpleName());
+        }
+
+        if (!attribute.isAssociation()) {
+            throw new IllegalArgumentException("'" + name + "' on " + entityClass.getSimpleName() + " is not a relationship");
+        }
+
+        Class<?> valueType = attribute.isCollection()
+                ? ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType()
+                : attribute.getJavaType();
+        FetchPlan child = new FetchPlan(valueType, attribute.isCollection(),
+                                        properties.getValueProperties(name, valueType));
+        children.put(name, child);
+        return child;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Whether this node is reached through a collection relationship.
+     */
+    public boolean isCollection() {
+        return collection;
+    }
+
+    public Map<String, FetchPlan> getChildren() {
+        return Collections.unmodifiableMap(children);
+    }
+
+    /**
+     * Gets the normalized expression of this plan (sorted, dotted paths),
+     * suitable as a cache key.
+     */
+    public String getExpression() {
+        List<String> paths = new ArrayList<>();
+        collectPaths("", paths);
+        return String.join(",", paths);
+    }
+
+    private void collectPaths(String prefix, List<String> paths) {
+        for (Map.Entry<String, FetchPlan> entry : children.entrySet()) {
+            String path = prefix + entry.getKey();
+            paths.add(path);
+            entry.getValue().collectPaths(path + ".", paths);
+        }
+    }
+
+    /**
+     * Wraps an entity so that it is written with this plan: the ObjectMapper
+     * serializes it like any other entity (renamed, ignored and formatted
+     * properties included), except that only the relationships included in
+     * the plan are written. Requires {@link FetchPlanModule} on the mapper.
+     *
+     * @param entity The entity, with the relationships of the plan loaded
+     * @return The value to serialize, or null if the entity is null
+     */
+    public Object bind(Object entity) {
+        return entity == null ? null : new Bound(Hibernate.unproxy(entity), this);
+    }
+
+    /**
+     * An entity bound to the plan node it is serialized with. The node is kept
+     * in a per-call attribute of the serializer provider, where the
+     * relationship writers of {@link FetchPlanModule} read it.
+     */
+    static final class Bound extends JsonSerializable.Base {
+
+        private final Object entity;
+        private final FetchPlan plan;
+
+        Bound(Object entity, FetchPlan plan) {
+            this.entity = entity;
+            this.plan = plan;
+        }
+
+        @Override
+        public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+            Object previous = provider.getAttribute(FetchPlan.class);
+            provider.setAttribute(FetchPlan.class, plan);
+            try {
+                provider.defaultSerializeValue(entity, generator);
+            } finally {
+                provider.setAttribute(FetchPlan.class, previous);
+            }
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer)
+                throws IOException {
+            serialize(generator, provider);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FetchPlan{" + entityClass.getSimpleName() + "[" + getExpression() + "]}";
+    }
+}
@@ -0,0 +1,112 @@
+package com.onesteprest.onesteprest.fetch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.onesteprest.onesteprest.core.ModelDescriptor;
+import jakarta.persistence.Entity;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jackson module that applies fetch plans during serialization.
+ *
+ * The relationship properties of entities are written by a writer that looks
+ * up the plan node of the current call ({@link FetchPlan#bind(Object)}): a
+ * relationship missing from the node is skipped, and an included one is
+ * written with its child node. Without a plan the writers behave like the
+ * default ones. Spring Boot registers the module on its ObjectMapper.
+ */
+@Component
+public class FetchPlanModule extends SimpleModule {
+
+    public FetchPlanModule() {
+        super("OneStepRestFetchPlan");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                Class<?> beanClass = beanDesc.getBeanClass();
+                if (!isEntity(beanClass)) {
+                    return beanProperties;
+                }
+
+                Map<String, String> internalNames = new HashMap<>();
+                for (BeanPropertyDefinition property : beanDesc.findProperties()) {
+                    internalNames.put(property.getName(), property.getInternalName());
+                }
+
+                ModelDescriptor descriptor = ModelDescriptor.of(beanClass);
+                for (int i = 0; i < beanProperties.size(); i++) {
+                    BeanPropertyWriter writer = beanProperties.get(i);
+                    String name = internalNames.getOrDefault(writer.getName(), writer.getName());
+                    if (descriptor.getRelationship(name) != null) {
+                        beanProperties.set(i, new RelationshipWriter(writer, name));
+                    }
+                }
+                return beanProperties;
+            }
+        });
+    }
+
+    private static boolean isEntity(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (current.isAnnotationPresent(Entity.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes a relationship according to the plan node of the current call.
+     */
+    static final class RelationshipWriter extends BeanPropertyWriter {
+
+        private final String relationship;
+
+        RelationshipWriter(BeanPropertyWriter base, String relationship) {
+            super(base);
+            this.relationship = relationship;
+        }
+
+        private RelationshipWriter(RelationshipWriter base, PropertyName name) {
+            super(base, name);
+            this.relationship = base.relationship;
+        }
+
+        @Override
+        protected BeanPropertyWriter _new(PropertyName newName) {
+            return new RelationshipWriter(this, newName);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator generator, SerializerProvider provider) throws Exception {
+            Object node = provider.getAttribute(FetchPlan.class);
+            if (!(node instanceof FetchPlan)) {
+                super.serializeAsField(bean, generator, provider);
+                return;
+            }
+
+            FetchPlan child = ((FetchPlan) node).getChildren().get(relationship);
+            if (child == null) {
+                return;
+            }
+            provider.setAttribute(FetchPlan.class, child);
+            try {
+                super.serializeAsField(bean, generator, provider);
+            } finally {
+                provider.setAttribute(FetchPlan.class, node);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.onesteprest.onesteprest.fetch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.core.SerializedProperties;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+
+import java.util.*;
+
+/**
+ * A sparse fieldset compiled from a {@code fields} expression.
+ *
+ * The expression is a comma separated list of properties, with dots to reach
+ * properties of single-valued relationships (for example
+ * {@code id,nombre,precio,categoria.nombre}). The projection is executed as a
+ * tuple query, so no entity instances are created and nothing is registered
+ * in the persistence context. Only properties that Jackson serializes can be
+ * selected, so a projection never exposes what the entity response hides.
+ */
+public class FieldProjection {
+
+    private final Class<?> entityClass;
+    private final List<String[]> paths = new ArrayList<>();
+
+    private FieldProjection(Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Compiles a fields expression against the JPA metamodel. Properties the
+     * mapper does not serialize are reported as unknown.
+     *
+     * @param entityClass The root entity class
+     * @param fields The fields expression
+     * @param metamodel The JPA metamodel
+     * @param objectMapper The mapper the entity responses are written with
+     * @return The compiled projection
+     * @throws IllegalArgumentException if a property is unknown or cannot be projected
+     */
+    public static FieldProjection compile(Class<?> entityClass, String fields, Metamodel metamodel,
+                                          ObjectMapper objectMapper) {
+        FieldProjection projection = new FieldProjection(entityClass);
+        Set<String> seen = new HashSet<>();
+
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty() || !seen.add(trimmed)) {
+                continue;
+            }
+
+            String[] segments = trimmed.split("\\.");
+            Class<?> currentClass = entityClass;
+            SerializedProperties properties = SerializedProperties.of(objectMapper, entityClass);
+            for (int i = 0; i < segments.length; i++) {
+                // Hidden properties are reported like missing ones
+                if (!properties.contains(segments[i])) {
+                    throw new IllegalArgumentException("Unknown field '" + segments[i] + "' on " + currentClass.getSimpleName());
+                }
+
+                ManagedType<?> managedType = metamodel.managedType(currentClass);
+                Attribute<?, ?> attribute;
+                try {
+                    attribute = managedType.getAttribute(segments[i]);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown field '" + segments[i] + "' on " + currentClass.getSimpleName());
+                }
+
+                boolean last = i == segments.length - 1;
+                if (attribute.isCollection()) {
+                    throw new IllegalArgumentException("Collection '" + segments[i] + "' cannot be used in fields");
+                }
+                if (last && attribute.isAssociation()) {
+                    throw new IllegalArgumentException("Relationship '" + trimmed + "' must be followed by one of its fields");
+                }
+                if (!last && !attribute.isAssociation()) {
+                    throw new IllegalArgumentException("'" + segments[i] + "' on " + currentClass.getSimpleName() + " is not a relationship");
+                }
+
+                if (!last) {
+                    properties = properties.getValueProperties(segments[i], attribute.getJavaType());
+                }
+                currentClass = attribute.getJavaType();
+            }
+
+            projection.paths.add(segments);
+        }
+
+        if (projection.paths.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        return projection;
+    }
+
+    /**
+     * Builds the selections of this projection for a query root.
+     * Relationships are joined with LEFT joins (one per relationship path), so rows
+     * without the related entity are still returned with null values.
+     *
+     * @param root The query root
+     * @return The selections, in the order of the expression
+     */
+    public List<Selection<?>> select(Root<?> root) {
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>();
+
+        for (String[] segments : paths) {
+            From<?, ?> from = root;
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < segments.length - 1; i++) {
+                prefix.append(segments[i]).append('.');
+                From<?, ?> join = joins.get(prefix.toString());
+                if (join == null) {
+                    join = from.join(segments[i], JoinType.LEFT);
+                    joins.put(prefix.toString(), join);
+                }
+                from = join;
+            }
+            selections.add(from.get(segments[segments.length - 1]));
+        }
+
+        return selections;
+    }
+
+    /**
+     * Converts a result tuple into a map, nesting the properties of relationships.
+     *
+     * @param tuple The result tuple, selected with {@link #select(Root)}
+     * @return The map representation
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            String[] segments = paths.get(i);
+            Map<String, Object> current = result;
+            for (int j = 0; j < segments.length - 1; j++) {
+                current = (Map<String, Object>) current.computeIfAbsent(segments[j], k -> new LinkedHashMap<>());
+            }
+            current.put(segments[segments.length - 1], tuple.get(i));
+        }
+        return result;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Gets the normalized expression of this projection, suitable as a cache key.
+     */
+    public String getExpression() {
+        List<String> fields = new ArrayList<>();
+        for (String[] segments : paths) {
+            fields.add(String.join(".", segments));
+        }
+        return String.join(",", fields);
+    }
+
+    @Override
+    public String toString() {
+        return "FieldProjection{" + entityClass.getSimpleName() + "[" + getExpression() + "]}";
+    }
+}
@@ -0,0 +1,26 @@
+package com.onesteprest.onesteprest.fetch;
+
+import java.util.List;
+
+/**
+ * The result of a multi-get: one entry per requested ID, in request order,
+ * with null for the IDs that were not found, which are also listed apart.
+ */
+public class MultiGetResult {
+
+    private final List<Object> results;
+    private final List<Object> missing;
+
+    public MultiGetResult(List<Object> results, List<Object> missing) {
+        this.results = results;
+        this.missing = missing;
+    }
+
+    public List<Object> getResults() {
+        return results;
+    }
+
+    public List<Object> getMissing() {
+        return missing;
+    }
+}
@@ -8,6 +8,7 @@ public class Filter {
     private FilterOperation operation;
     private Object value;
     private Object secondValue; // Para operaciones como BETWEEN
+    private FilterQuantifier quantifier; // Solo para campos de una colección
 
     public Filter() {
     }
@@ -57,6 +58,14 @@ public class Filter {
         this.secondValue = secondValue;
     }
 
+    public FilterQuantifier getQuantifier() {
+        return quantifier;
+    }
+
+    public void setQuantifier(FilterQuantifier quantifier) {
+        this.quantifier = quantifier;
+    }
+
     @Override
     public String toString() {
         return "Filter{" +
@@ -64,6 +73,7 @@ public class Filter {
                 ", operation=" + operation +
                 ", value=" + value +
                 (secondValue != null ? ", secondValue=" + secondValue : "") +
+                (quantifier != null ? ", quantifier=" + quantifier : "") +
                 '}';
     }
 }
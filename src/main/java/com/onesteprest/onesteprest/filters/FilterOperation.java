@@ -12,7 +12,8 @@ public enum FilterOperation {
     LESS_THAN_OR_EQUAL("lte"),
     LIKE("like"),
     IN("in"),
-    BETWEEN("between");
+    BETWEEN("between"),
+    SEARCH("search");
 
     private final String code;
 
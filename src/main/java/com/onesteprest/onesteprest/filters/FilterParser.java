@@ -25,6 +25,22 @@ public class FilterParser {
      * @return Especificación del filtro basada en los parámetros
      */
     public FilterSpecification parseFromQueryParams(Map<String, String[]> queryParams) {
+        return parseFromQueryParams(queryParams, false);
+    }
+
+    /**
+     * Analiza los parámetros de consulta para crear filtros. En modo estricto,
+     * para las escrituras por filtro, cada parámetro {@code filter_} debe
+     * producir un filtro: un parámetro sin valor utilizable (por ejemplo un
+     * {@code between} con un solo valor) es un error en lugar de un filtro
+     * menos, que ampliaría el conjunto de filas afectadas.
+     *
+     * @param queryParams Los parámetros de consulta (normalmente del request)
+     * @param strict Si cada parámetro de filtro debe producir un filtro
+     * @return Especificación del filtro basada en los parámetros
+     * @throws IllegalArgumentException si un parámetro de filtro no es válido
+     */
+    public FilterSpecification parseFromQueryParams(Map<String, String[]> queryParams, boolean strict) {
         if (queryParams == null || queryParams.isEmpty()) {
             return new FilterSpecification();
         }
@@ -43,19 +59,18 @@ public class FilterParser {
 
         System.out.println("Processing filter parameters: " + queryParams);
 
-        // Procesar campos individuales
+        // Procesar campos individuales; una clave que no se puede interpretar
+        // es un filtro inválido (400), no un filtro que se ignora
         for (Map.Entry<String, String[]> entry : queryParams.entrySet()) {
             String key = entry.getKey();
             if (key.startsWith("filter_") && !key.equals("filter_logic")) {
-                try {
-                    String[] values = entry.getValue();
-                    if (values != null && values.length > 0) {
-                        processFilterParam(key, values, filters);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error processing filter parameter: " + key + " - " + e.getMessage());
-                    e.printStackTrace();
-                    // Continue processing other filters even if one fails
+                String[] values = entry.getValue();
+                int added = 0;
+                if (values != null && values.length > 0) {
+                    added = processFilterParam(key, values, filters);
+                }
+                if (strict && added == 0) {
+                    throw new IllegalArgumentException("Filter parameter " + key + " has no usable value");
                 }
             }
         }
@@ -65,68 +80,92 @@ public class FilterParser {
 
     /**
      * Procesa un parámetro de filtro individual.
+     *
+     * @return El número de filtros añadidos
      */
-    private void processFilterParam(String key, String[] values, List<Filter> filters) {
+    private int processFilterParam(String key, String[] values, List<Filter> filters) {
         if (values == null || values.length == 0) {
-            return;
+            return 0;
         }
 
-        // Formato esperado: filter_field_operation
-        String[] parts = key.split("_", 3);
-        if (parts.length < 3) {
-            return;
+        // Formato esperado: filter_field_operation o filter_field_operation_quantifier.
+        // La operación y el cuantificador se leen desde el final, así que el campo
+        // puede contener '_' (filter_fecha_alta_eq)
+        String[] parts = key.substring("filter_".length()).split("_", -1);
+        int operationIndex = parts.length - 1;
+        FilterQuantifier quantifier = null;
+        if (findOperation(parts[operationIndex]) == null && operationIndex >= 2 &&
+            findOperation(parts[operationIndex - 1]) != null) {
+            quantifier = FilterQuantifier.fromCode(parts[operationIndex]);
+            operationIndex--;
+        }
+        FilterOperation operation = findOperation(parts[operationIndex]);
+        if (operation == null) {
+            throw new IllegalArgumentException("Unknown filter operation in " + key);
+        }
+        String field = String.join("_", Arrays.copyOfRange(parts, 0, operationIndex));
+        if (field.isEmpty()) {
+            throw new IllegalArgumentException("Missing filter field in " + key);
         }
-
-        String field = parts[1];
-        String operationCode = parts[2];
-        FilterOperation operation = FilterOperation.fromCode(operationCode);
         
         System.out.println("Processing filter: field=" + field + ", operation=" + operation + 
+                         (quantifier != null ? ", quantifier=" + quantifier : "") +
                          ", value=" + (values.length > 0 ? values[0] : "null"));
+        int added = filters.size();
 
         // Manejar tipos de operación especiales
-        try {
-            switch (operation) {
-                case BETWEEN:
-                    if (values.length >= 2) {
-                        filters.add(new Filter(field, operation, values[0], values[1]));
-                    } else if (values.length == 1 && values[0].contains(",")) {
-                        String[] betweenValues = values[0].split(",", 2);
-                        filters.add(new Filter(field, operation, betweenValues[0], betweenValues[1]));
-                    }
-                    break;
-                    
-                case IN:
-                    if (values.length > 1) {
-                        filters.add(new Filter(field, operation, Arrays.asList(values)));
-                    } else if (values.length == 1) {
-                        if (values[0].contains(",")) {
-                            // Split the comma-separated values
-                            String[] inValues = values[0].split(",");
-                            filters.add(new Filter(field, operation, Arrays.asList(inValues)));
-                        } else {
-                            // Single value, treat as a regular IN operation with one element
-                            List<String> singleValueList = new ArrayList<>();
-                            singleValueList.add(values[0]);
-                            filters.add(new Filter(field, operation, singleValueList));
-                        }
-                    }
-                    break;
-                    
-                default:
-                    // Operaciones regulares
-                    if (values.length > 0 && values[0] != null) {
-                        filters.add(new Filter(field, operation, values[0].trim()));
+        switch (operation) {
+            case BETWEEN:
+                if (values.length >= 2) {
+                    filters.add(new Filter(field, operation, values[0], values[1]));
+                } else if (values.length == 1 && values[0].contains(",")) {
+                    String[] betweenValues = values[0].split(",", 2);
+                    filters.add(new Filter(field, operation, betweenValues[0], betweenValues[1]));
+                }
+                break;
+                
+            case IN:
+                if (values.length > 1) {
+                    filters.add(new Filter(field, operation, Arrays.asList(values)));
+                } else if (values.length == 1) {
+                    if (values[0].contains(",")) {
+                        // Split the comma-separated values
+                        String[] inValues = values[0].split(",");
+                        filters.add(new Filter(field, operation, Arrays.asList(inValues)));
+                    } else {
+                        // Single value, treat as a regular IN operation with one element
+                        List<String> singleValueList = new ArrayList<>();
+                        singleValueList.add(values[0]);
+                        filters.add(new Filter(field, operation, singleValueList));
                     }
-                    break;
+                }
+                break;
+                
+            default:
+                // Operaciones regulares
+                if (values.length > 0 && values[0] != null) {
+                    filters.add(new Filter(field, operation, values[0].trim()));
+                }
+                break;
+        }
+
+        for (int i = added; i < filters.size(); i++) {
+            filters.get(i).setQuantifier(quantifier);
+        }
+        return filters.size() - added;
+    }
+
+    /**
+     * Busca la operación de un código, sin el valor por defecto de
+     * {@link FilterOperation#fromCode}.
+     */
+    private static FilterOperation findOperation(String code) {
+        for (FilterOperation operation : FilterOperation.values()) {
+            if (operation.getCode().equalsIgnoreCase(code)) {
+                return operation;
             }
-        } catch (Exception e) {
-            System.err.println("Error creating filter for field: " + field + 
-                               ", operation: " + operation + 
-                               ", value: " + (values.length > 0 ? values[0] : "null") +
-                               " - " + e.getMessage());
-            e.printStackTrace();
         }
+        return null;
     }
 
     /**
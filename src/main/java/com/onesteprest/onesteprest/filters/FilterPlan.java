@@ -0,0 +1,677 @@
+package com.onesteprest.onesteprest.filters;
+
+import com.onesteprest.onesteprest.search.SearchIndex;
+import com.onesteprest.onesteprest.search.TrigramIndex;
+import com.onesteprest.onesteprest.utils.TypeConverter;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Plan de filtrado compilado para un modelo y una forma de filtro.
+ *
+ * La forma de un filtro es la lógica (AND/OR) más el campo, la operación y el
+ * número de valores de cada condición, sin los valores en sí. Al compilar se
+ * resuelven los caminos contra el metamodelo, se validan las operaciones y se
+ * elige el conversor de cada campo; en cada petición solo se construyen los
+ * predicados con parámetros y se enlazan los valores. Como el texto de la
+ * consulta no depende de los valores, Hibernate puede reutilizar su plan.
+ *
+ * Los campos de una colección ({@code etiquetas.nombre}) admiten un
+ * cuantificador: {@code any} (por defecto), {@code all} o {@code none}.
+ */
+public class FilterPlan {
+
+    private final Class<?> modelClass;
+    private final FilterSpecification.FilterLogic logic;
+    private final List<CompiledFilter> filters;
+
+    private FilterPlan(Class<?> modelClass, FilterSpecification.FilterLogic logic, List<CompiledFilter> filters) {
+        this.modelClass = modelClass;
+        this.logic = logic;
+        this.filters = filters;
+    }
+
+    /**
+     * Calcula la forma normalizada de una especificación, usada como clave de caché.
+     *
+     * @param filterSpec Especificación del filtro
+     * @return La forma del filtro, independiente del orden de las condiciones y de sus valores
+     */
+    public static String shapeOf(FilterSpecification filterSpec) {
+        StringBuilder shape = new StringBuilder(String.valueOf(filterSpec.getLogic()));
+        for (Filter filter : sorted(filterSpec.getFilters())) {
+            shape.append('|').append(filter.getField())
+                 .append(':').append(filter.getOperation())
+                 .append(':').append(filter.getQuantifier())
+                 .append(':').append(arityOf(filter));
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Compila una especificación de filtro para un modelo.
+     *
+     * @param modelClass Clase del modelo
+     * @param filterSpec Especificación del filtro (solo se usa su forma)
+     * @param metamodel Metamodelo JPA
+     * @return El plan compilado
+     * @throws IllegalArgumentException si un campo no existe o la operación no es compatible con su tipo
+     */
+    public static FilterPlan compile(Class<?> modelClass, FilterSpecification filterSpec, Metamodel metamodel) {
+        return compile(modelClass, filterSpec, metamodel, null);
+    }
+
+    /**
+     * Compila una especificación de filtro para un modelo, usando los índices de
+     * trigramas de los campos {@code @Searchable} en las operaciones like y search.
+     *
+     * @param modelClass Clase del modelo
+     * @param filterSpec Especificación del filtro (solo se usa su forma)
+     * @param metamodel Metamodelo JPA
+     * @param searchIndex Índices de búsqueda, o null para no usarlos
+     * @return El plan compilado
+     * @throws IllegalArgumentException si un campo no existe o la operación no es compatible con su tipo
+     */
+    public static FilterPlan compile(Class<?> modelClass, FilterSpecification filterSpec, Metamodel metamodel,
+                                     SearchIndex searchIndex) {
+        List<CompiledFilter> compiled = new ArrayList<>();
+        int index = 0;
+        for (Filter filter : sorted(filterSpec.getFilters())) {
+            if (filter.getField() == null || filter.getOperation() == null) {
+                throw new IllegalArgumentException("Filter requires a field and an operation: " + filter);
+            }
+            String[] path = filter.getField().split("\\.");
+            int[] collectionIndex = new int[1];
+            Class<?> fieldType = resolveType(modelClass, path, metamodel, collectionIndex);
+            validateOperation(filter.getField(), fieldType, filter.getOperation());
+
+            FilterQuantifier quantifier = filter.getQuantifier();
+            if (collectionIndex[0] < 0 && quantifier != null) {
+                throw new IllegalArgumentException("Quantifier '" + quantifier.getCode() +
+                                                   "' requires a field reached through a collection, '" +
+                                                   filter.getField() + "' is not");
+            }
+            if (collectionIndex[0] >= 0 && quantifier == null) {
+                quantifier = FilterQuantifier.ANY;
+            }
+
+            // Solo los campos propios del modelo tienen índice de trigramas
+            TrigramIndex trigramIndex = null;
+            if (searchIndex != null && path.length == 1 &&
+                (filter.getOperation() == FilterOperation.LIKE || filter.getOperation() == FilterOperation.SEARCH)) {
+                trigramIndex = searchIndex.get(modelClass, path[0]);
+            }
+
+            boolean joins = collectionIndex[0] < 0 && path.length > 1 &&
+                            !isForeignKey(modelClass, path, metamodel);
+
+            compiled.add(new CompiledFilter("f" + index++, path, collectionIndex[0], quantifier, fieldType,
+                                            filter.getOperation(), arityOf(filter), converterFor(fieldType),
+                                            trigramIndex, joins));
+        }
+        return new FilterPlan(modelClass, filterSpec.getLogic(), compiled);
+    }
+
+    /**
+     * Construye el predicado del plan sobre la raíz de una consulta.
+     * Los valores quedan como parámetros que se enlazan con {@link #bind(Query, FilterSpecification)}.
+     *
+     * Las condiciones sobre campos de una colección se traducen a subconsultas
+     * {@code EXISTS} correlacionadas, de modo que cada fila de la raíz aparece
+     * una sola vez: {@code any} exige que algún elemento cumpla la condición,
+     * {@code none} que ninguno la cumpla y {@code all} que no haya elementos que
+     * no la cumplan (una colección vacía cumple {@code all}).
+     *
+     * @param root Root de la consulta JPA
+     * @param query La consulta que contiene la raíz, para crear las subconsultas
+     * @param cb El constructor de criterios
+     * @return El predicado, o null si ninguna condición aplica
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Predicate toPredicate(Root<?> root, CommonAbstractCriteria query, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        for (CompiledFilter filter : filters) {
+            Predicate predicate;
+            if (filter.collectionIndex < 0) {
+                predicate = condition(filter, walk(root, filter.path, 0, filter.path.length), cb);
+                if (predicate != null && filter.trigramIndex != null && filter.arity > 0) {
+                    // Limitar a los candidatos del índice, salvo que el enlace indique recorrer la tabla
+                    Expression<Collection<?>> candidates =
+                            (Expression<Collection<?>>) (Expression<?>) cb.parameter(Collection.class, filter.name + "_ids");
+                    predicate = cb.and(predicate, cb.or(cb.isTrue(cb.parameter(Boolean.class, filter.name + "_scan")),
+                                                        root.get(filter.trigramIndex.getIdAttribute()).in(candidates)));
+                }
+            } else {
+                // Correlacionar con la raíz y unir hasta los elementos de la colección
+                Subquery<Integer> subquery = query.subquery(Integer.class);
+                From<?, ?> from = subquery.correlate((Root) root);
+                for (int i = 0; i <= filter.collectionIndex; i++) {
+                    from = from.join(filter.path[i]);
+                }
+                Predicate condition = condition(filter, walk(from, filter.path, filter.collectionIndex + 1, filter.path.length), cb);
+                if (condition == null) {
+                    continue;
+                }
+
+                if (filter.quantifier == FilterQuantifier.ALL) {
+                    subquery.select(cb.literal(1)).where(cb.not(condition));
+                    predicate = cb.not(cb.exists(subquery));
+                } else if (filter.quantifier == FilterQuantifier.NONE) {
+                    subquery.select(cb.literal(1)).where(condition);
+                    predicate = cb.not(cb.exists(subquery));
+                } else {
+                    subquery.select(cb.literal(1)).where(condition);
+                    predicate = cb.exists(subquery);
+                }
+            }
+
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+
+        if (predicates.isEmpty()) {
+            return null;
+        }
+
+        // Combinar predicados según la lógica (AND/OR)
+        if (logic == FilterSpecification.FilterLogic.OR) {
+            return cb.or(predicates.toArray(new Predicate[0]));
+        } else {
+            return cb.and(predicates.toArray(new Predicate[0]));
+        }
+    }
+
+    /**
+     * Recorre los segmentos de un camino a partir de un origen.
+     */
+    private static Path<?> walk(Path<?> start, String[] path, int from, int to) {
+        Path<?> current = start;
+        for (int i = from; i < to; i++) {
+            current = current.get(path[i]);
+        }
+        return current;
+    }
+
+    /**
+     * Crea la condición de un filtro sobre el camino ya resuelto.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate condition(CompiledFilter filter, Path<?> path, CriteriaBuilder cb) {
+        Expression<Comparable> comparable = (Expression<Comparable>) path;
+        Class<Comparable> parameterType = (Class<Comparable>) filter.parameterType();
+
+        switch (filter.operation) {
+            case EQUAL:
+                return filter.arity == 0 ? cb.isNull(path) : cb.equal(path, cb.parameter(parameterType, filter.name));
+            case NOT_EQUAL:
+                return filter.arity == 0 ? cb.isNotNull(path) : cb.notEqual(path, cb.parameter(parameterType, filter.name));
+            case GREATER_THAN:
+                return filter.arity > 0 ? cb.greaterThan(comparable, cb.parameter(parameterType, filter.name)) : null;
+            case GREATER_THAN_OR_EQUAL:
+                return filter.arity > 0 ? cb.greaterThanOrEqualTo(comparable, cb.parameter(parameterType, filter.name)) : null;
+            case LESS_THAN:
+                return filter.arity > 0 ? cb.lessThan(comparable, cb.parameter(parameterType, filter.name)) : null;
+            case LESS_THAN_OR_EQUAL:
+                return filter.arity > 0 ? cb.lessThanOrEqualTo(comparable, cb.parameter(parameterType, filter.name)) : null;
+            case LIKE:
+                return filter.arity > 0 ? cb.like((Expression<String>) path, cb.parameter(String.class, filter.name)) : null;
+            case SEARCH:
+                return filter.arity > 0 ? cb.like(cb.lower((Expression<String>) path), cb.parameter(String.class, filter.name), '\\') : null;
+            case IN:
+                if (filter.arity == 0) {
+                    // Una lista IN vacía siempre da falso en SQL
+                    return cb.disjunction();
+                } else if (filter.arity > 0) {
+                    CriteriaBuilder.In<Object> in = cb.in((Expression<Object>) path);
+                    for (int i = 0; i < filter.arity; i++) {
+                        in.value(cb.parameter(parameterType, filter.name + "_" + i));
+                    }
+                    return in;
+                }
+                return null;
+            case BETWEEN:
+                if (filter.arity == 2) {
+                    return cb.between(comparable, cb.parameter(parameterType, filter.name + "_0"),
+                                      cb.parameter(parameterType, filter.name + "_1"));
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Traduce el plan a una condición SQL sobre la tabla del modelo, con
+     * parámetros con nombre ({@code :f0}) que se enlazan con
+     * {@link #bind(BiConsumer, FilterSpecification)}. Solo admite campos propios
+     * del modelo y el ID de sus relaciones simples ({@code categoria.id}), que se
+     * resuelven con una columna de la misma tabla; los índices de trigramas no se usan.
+     *
+     * @param columnOf Devuelve la columna de un camino, o lanza IllegalArgumentException si no la tiene
+     * @return La condición, o null si ninguna condición aplica
+     * @throws IllegalArgumentException si una condición necesita un join o pasa por una colección
+     */
+    public String toSql(Function<String[], String> columnOf) {
+        List<String> conditions = new ArrayList<>();
+
+        for (CompiledFilter filter : filters) {
+            if (filter.collectionIndex >= 0 || filter.joins) {
+                throw new IllegalArgumentException("Filter field '" + String.join(".", filter.path) +
+                                                   "' needs a join, which SQL filters do not support");
+            }
+            String column = columnOf.apply(filter.path);
+            String condition = sqlCondition(filter, column);
+            if (condition != null) {
+                conditions.add(condition);
+            }
+        }
+
+        if (conditions.isEmpty()) {
+            return null;
+        }
+
+        // Combinar condiciones según la lógica (AND/OR)
+        String separator = logic == FilterSpecification.FilterLogic.OR ? " OR " : " AND ";
+        return "(" + String.join(separator, conditions) + ")";
+    }
+
+    /**
+     * Crea la condición SQL de un filtro sobre una columna, con las mismas
+     * reglas que {@link #condition(CompiledFilter, Path, CriteriaBuilder)}.
+     */
+    private static String sqlCondition(CompiledFilter filter, String column) {
+        String parameter = ":" + filter.name;
+
+        switch (filter.operation) {
+            case EQUAL:
+                return filter.arity == 0 ? column + " IS NULL" : column + " = " + parameter;
+            case NOT_EQUAL:
+                return filter.arity == 0 ? column + " IS NOT NULL" : column + " <> " + parameter;
+            case GREATER_THAN:
+                return filter.arity > 0 ? column + " > " + parameter : null;
+            case GREATER_THAN_OR_EQUAL:
+                return filter.arity > 0 ? column + " >= " + parameter : null;
+            case LESS_THAN:
+                return filter.arity > 0 ? column + " < " + parameter : null;
+            case LESS_THAN_OR_EQUAL:
+                return filter.arity > 0 ? column + " <= " + parameter : null;
+            case LIKE:
+                return filter.arity > 0 ? column + " LIKE " + parameter : null;
+            case SEARCH:
+                return filter.arity > 0 ? "LOWER(" + column + ") LIKE " + parameter + " ESCAPE '\\'" : null;
+            case IN:
+                if (filter.arity == 0) {
+                    // Una lista IN vacía siempre da falso en SQL
+                    return "1 = 0";
+                } else if (filter.arity > 0) {
+                    StringJoiner in = new StringJoiner(", ", column + " IN (", ")");
+                    for (int i = 0; i < filter.arity; i++) {
+                        in.add(parameter + "_" + i);
+                    }
+                    return in.toString();
+                }
+                return null;
+            case BETWEEN:
+                return filter.arity == 2 ? column + " BETWEEN " + parameter + "_0 AND " + parameter + "_1" : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Enlaza los valores de una especificación con la forma de este plan a una consulta
+     * construida con {@link #toPredicate(Root, CommonAbstractCriteria, CriteriaBuilder)}, ya sea
+     * una consulta o una sentencia {@code UPDATE}/{@code DELETE}.
+     *
+     * @param query La consulta a la que enlazar los valores
+     * @param filterSpec Especificación del filtro con los valores
+     * @throws IllegalArgumentException si un valor no se puede convertir al tipo del campo
+     */
+    public void bind(Query query, FilterSpecification filterSpec) {
+        bind(query::setParameter, filterSpec, query);
+    }
+
+    /**
+     * Enlaza los valores de una especificación con la forma de este plan a una
+     * condición SQL creada con {@link #toSql(Function)}, pasando cada parámetro
+     * por su nombre.
+     *
+     * @param binder Recibe el nombre y el valor ya convertido de cada parámetro
+     * @param filterSpec Especificación del filtro con los valores
+     * @throws IllegalArgumentException si un valor no se puede convertir al tipo del campo
+     */
+    public void bind(BiConsumer<String, Object> binder, FilterSpecification filterSpec) {
+        bind(binder, filterSpec, null);
+    }
+
+    /**
+     * Enlaza los valores; los candidatos del índice de trigramas solo se enlazan
+     * a las consultas JPA, porque la condición SQL no los usa.
+     */
+    private void bind(BiConsumer<String, Object> binder, FilterSpecification filterSpec, Query query) {
+        List<Filter> values = sorted(filterSpec.getFilters());
+        for (int i = 0; i < filters.size(); i++) {
+            CompiledFilter filter = filters.get(i);
+            Filter value = values.get(i);
+
+            switch (filter.operation) {
+                case IN:
+                    if (filter.arity > 0) {
+                        int index = 0;
+                        for (Object item : (Collection<?>) value.getValue()) {
+                            binder.accept(filter.name + "_" + index++, filter.convert(item));
+                        }
+                    }
+                    break;
+                case BETWEEN:
+                    if (filter.arity == 2) {
+                        binder.accept(filter.name + "_0", filter.convert(value.getValue()));
+                        binder.accept(filter.name + "_1", filter.convert(value.getSecondValue()));
+                    }
+                    break;
+                case LIKE:
+                    if (filter.arity > 0) {
+                        String likeValue = value.getValue().toString();
+                        // Agregar comodines si no están presentes
+                        if (!likeValue.contains("%")) {
+                            likeValue = "%" + likeValue + "%";
+                        }
+                        binder.accept(filter.name, likeValue);
+                        if (query != null) {
+                            bindCandidates(query, filter, Arrays.asList(likeValue.split("[%_]")));
+                        }
+                    }
+                    break;
+                case SEARCH:
+                    if (filter.arity > 0) {
+                        String searchValue = value.getValue().toString();
+                        // Búsqueda literal sin distinguir mayúsculas: escapar los comodines del valor
+                        String escaped = searchValue.toLowerCase(Locale.ROOT)
+                                                    .replace("\\", "\\\\")
+                                                    .replace("%", "\\%")
+                                                    .replace("_", "\\_");
+                        binder.accept(filter.name, "%" + escaped + "%");
+                        if (query != null) {
+                            bindCandidates(query, filter, List.of(searchValue));
+                        }
+                    }
+                    break;
+                default:
+                    if (filter.arity > 0) {
+                        binder.accept(filter.name, filter.convert(value.getValue()));
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Enlaza los candidatos del índice de trigramas de una condición. Si el índice
+     * no puede acotar la búsqueda (fragmentos de menos de tres caracteres o
+     * demasiados candidatos) se recorre la tabla.
+     */
+    private static void bindCandidates(Query query, CompiledFilter filter, List<String> fragments) {
+        if (filter.trigramIndex == null) {
+            return;
+        }
+        List<Object> candidates = filter.trigramIndex.candidates(fragments);
+        query.setParameter(filter.name + "_scan", candidates == null);
+        query.setParameter(filter.name + "_ids", candidates != null ? candidates : Collections.emptyList());
+    }
+
+    /**
+     * Indica si alguna condición recorre una relación simple más allá de su clave
+     * ajena ({@code categoria.nombre}, pero no {@code categoria.id}). Esas
+     * condiciones necesitan un join, que las sentencias {@code UPDATE} y
+     * {@code DELETE} no admiten; las de colecciones usan subconsultas y no cuentan.
+     */
+    public boolean requiresJoins() {
+        for (CompiledFilter filter : filters) {
+            if (filter.joins) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica que todas las condiciones del plan produzcan un predicado. Las
+     * consultas ignoran las condiciones sin los valores que su operación
+     * requiere (un BETWEEN sin {@code secondValue}, un IN cuyo valor no es una
+     * lista, un GT con valor nulo), pero en una sentencia {@code UPDATE} o
+     * {@code DELETE} eso ampliaría las filas afectadas.
+     *
+     * @throws IllegalArgumentException si alguna condición se ignoraría
+     */
+    public void requireAllConditions() {
+        for (CompiledFilter filter : filters) {
+            if (!filter.isApplicable()) {
+                throw new IllegalArgumentException("Filter on '" + String.join(".", filter.path) + "' with operation '" +
+                                                   filter.operation.getCode() + "' is missing " +
+                                                   (filter.operation == FilterOperation.BETWEEN ? "value or secondValue"
+                                                    : filter.operation == FilterOperation.IN ? "a list of values"
+                                                    : "its value"));
+            }
+        }
+    }
+
+    public Class<?> getModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * Ordena las condiciones de forma estable por campo, operación y cuantificador, para que
+     * la compilación y el enlace recorran los filtros en el mismo orden.
+     */
+    private static List<Filter> sorted(List<Filter> filters) {
+        List<Filter> sorted = new ArrayList<>(filters);
+        sorted.sort(Comparator.comparing((Filter f) -> String.valueOf(f.getField()))
+                              .thenComparing(f -> String.valueOf(f.getOperation()))
+                              .thenComparing(f -> String.valueOf(f.getQuantifier())));
+        return sorted;
+    }
+
+    /**
+     * Número de valores de una condición: 0 para un valor nulo, el tamaño de la
+     * lista para IN y 2 para un BETWEEN completo. Un valor ausente donde la
+     * operación lo requiere se marca con -1 y la condición se ignora en las
+     * consultas (las sentencias la rechazan con {@link #requireAllConditions()}).
+     */
+    private static int arityOf(Filter filter) {
+        Object value = filter.getValue();
+        if (filter.getOperation() == FilterOperation.IN) {
+            return value instanceof Collection ? ((Collection<?>) value).size() : -1;
+        }
+        if (filter.getOperation() == FilterOperation.BETWEEN) {
+            return value != null && filter.getSecondValue() != null ? 2 : -1;
+        }
+        return value == null ? 0 : 1;
+    }
+
+    /**
+     * Resuelve el tipo del campo al final de un camino. El camino puede pasar por
+     * relaciones simples y, como mucho, por una colección; su posición se devuelve
+     * en {@code collectionIndex[0]} (-1 si no hay ninguna).
+     */
+    private static Class<?> resolveType(Class<?> modelClass, String[] path, Metamodel metamodel, int[] collectionIndex) {
+        collectionIndex[0] = -1;
+        Class<?> currentClass = modelClass;
+        for (int i = 0; i < path.length; i++) {
+            ManagedType<?> managedType = metamodel.managedType(currentClass);
+            Attribute<?, ?> attribute;
+            try {
+                attribute = managedType.getAttribute(path[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown filter field '" + path[i] + "' on " + currentClass.getSimpleName());
+            }
+
+            boolean last = i == path.length - 1;
+            if (last && attribute.isAssociation()) {
+                throw new IllegalArgumentException("Filter on relationship '" + String.join(".", path) +
+                                                   "' must name one of its fields, e.g. " + path[i] + ".id");
+            }
+            if (!last && !attribute.isAssociation()) {
+                throw new IllegalArgumentException("'" + path[i] + "' on " + currentClass.getSimpleName() + " is not a relationship");
+            }
+
+            if (attribute.isCollection()) {
+                if (collectionIndex[0] >= 0) {
+                    throw new IllegalArgumentException("Filter field '" + String.join(".", path) +
+                                                       "' goes through more than one collection");
+                }
+                collectionIndex[0] = i;
+                currentClass = ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType();
+            } else {
+                currentClass = attribute.getJavaType();
+            }
+        }
+        return currentClass;
+    }
+
+    /**
+     * Indica si un camino es el ID de una relación simple del modelo
+     * ({@code categoria.id}), que se resuelve con la clave ajena sin join.
+     */
+    private static boolean isForeignKey(Class<?> modelClass, String[] path, Metamodel metamodel) {
+        if (path.length != 2) {
+            return false;
+        }
+        Class<?> target = metamodel.managedType(modelClass).getAttribute(path[0]).getJavaType();
+        Attribute<?, ?> attribute = metamodel.managedType(target).getAttribute(path[1]);
+        return attribute instanceof SingularAttribute && ((SingularAttribute<?, ?>) attribute).isId();
+    }
+
+    /**
+     * Verifica que la operación sea compatible con el tipo del campo.
+     */
+    private static void validateOperation(String field, Class<?> fieldType, FilterOperation operation) {
+        Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(fieldType);
+        switch (operation) {
+            case LIKE:
+            case SEARCH:
+                if (type != String.class) {
+                    throw new IllegalArgumentException("Operation '" + operation.getCode() + "' requires a text field, '" +
+                                                       field + "' is " + type.getSimpleName());
+                }
+                break;
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case BETWEEN:
+                if (!Comparable.class.isAssignableFrom(type)) {
+                    throw new IllegalArgumentException("Operation '" + operation.getCode() + "' requires a comparable field, '" +
+                                                       field + "' is " + type.getSimpleName());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Elige el conversor de valores de un tipo de campo.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<Object, Object> converterFor(Class<?> fieldType) {
+        Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(fieldType);
+        if (type == String.class) {
+            return Object::toString;
+        } else if (type == Long.class) {
+            return v -> v instanceof Number ? ((Number) v).longValue() : Long.valueOf(v.toString().trim());
+        } else if (type == Integer.class) {
+            return v -> v instanceof Number ? ((Number) v).intValue() : Integer.valueOf(v.toString().trim());
+        } else if (type == Double.class) {
+            return v -> v instanceof Number ? ((Number) v).doubleValue() : Double.valueOf(v.toString().trim());
+        } else if (type == Float.class) {
+            return v -> v instanceof Number ? ((Number) v).floatValue() : Float.valueOf(v.toString().trim());
+        } else if (type == BigDecimal.class) {
+            return v -> new BigDecimal(v.toString().trim());
+        } else if (type == Boolean.class) {
+            return v -> v instanceof Boolean ? v : Boolean.valueOf(v.toString().trim());
+        } else if (type == LocalDate.class) {
+            return v -> v instanceof LocalDate ? v : LocalDate.parse(v.toString().trim());
+        } else if (type == LocalDateTime.class) {
+            return v -> v instanceof LocalDateTime ? v : LocalDateTime.parse(v.toString().trim());
+        } else if (type.isEnum()) {
+            return v -> type.isInstance(v) ? v : Enum.valueOf((Class<Enum>) type, v.toString().trim());
+        }
+        return v -> TypeConverter.convertToAppropriateType(v, type);
+    }
+
+    /**
+     * Condición compilada: camino, tipo, operación y conversor ya resueltos.
+     */
+    private static class CompiledFilter {
+        private final String name;
+        private final String[] path;
+        private final int collectionIndex;
+        private final FilterQuantifier quantifier;
+        private final Class<?> fieldType;
+        private final FilterOperation operation;
+        private final int arity;
+        private final Function<Object, Object> converter;
+        private final TrigramIndex trigramIndex;
+        private final boolean joins;
+
+        CompiledFilter(String name, String[] path, int collectionIndex, FilterQuantifier quantifier, Class<?> fieldType,
+                       FilterOperation operation, int arity, Function<Object, Object> converter,
+                       TrigramIndex trigramIndex, boolean joins) {
+            this.name = name;
+            this.path = path;
+            this.collectionIndex = collectionIndex;
+            this.quantifier = quantifier;
+            this.fieldType = fieldType;
+            this.operation = operation;
+            this.arity = arity;
+            this.converter = converter;
+            this.trigramIndex = trigramIndex;
+            this.joins = joins;
+        }
+
+        /**
+         * Indica si la condición produce un predicado, con las mismas reglas que
+         * {@link FilterPlan#condition(CompiledFilter, Path, CriteriaBuilder)}.
+         */
+        boolean isApplicable() {
+            switch (operation) {
+                case EQUAL:
+                case NOT_EQUAL:
+                case IN:
+                    return arity >= 0;
+                case BETWEEN:
+                    return arity == 2;
+                default:
+                    return arity > 0;
+            }
+        }
+
+        Class<?> parameterType() {
+            return ClassUtils.resolvePrimitiveIfNecessary(fieldType);
+        }
+
+        Object convert(Object value) {
+            try {
+                return converter.apply(value);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Invalid value '" + value + "' for filter field '" +
+                                                   String.join(".", path) + "'");
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.onesteprest.onesteprest.filters;
+
+import com.onesteprest.onesteprest.config.OneStepRestConfig;
+import com.onesteprest.onesteprest.search.SearchIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché LRU acotada de planes de filtrado, por modelo y forma de filtro.
+ *
+ * Registra los aciertos y fallos como métricas {@code onesteprest.filter.plans}
+ * cuando hay un {@link MeterRegistry} disponible.
+ */
+@Component
+public class FilterPlanCache {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OneStepRestConfig config;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private Map<String, FilterPlan> plans;
+
+    @PostConstruct
+    public void init() {
+        int maxSize = config.getFilterPlanCacheSize();
+        plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FilterPlan> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("onesteprest.filter.plans", hits, AtomicLong::get)
+                    .tag("result", "hit")
+                    .description("Filter plan cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("onesteprest.filter.plans", misses, AtomicLong::get)
+                    .tag("result", "miss")
+                    .description("Filter plan cache lookups")
+                    .register(registry);
+            Gauge.builder("onesteprest.filter.plans.size", this, FilterPlanCache::size)
+                    .description("Cached filter plans")
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Obtiene el plan de un modelo y una especificación, compilándolo si no está en caché.
+     *
+     * @param modelClass Clase del modelo
+     * @param filterSpec Especificación del filtro
+     * @return El plan compilado
+     * @throws IllegalArgumentException si el filtro no es válido para el modelo
+     */
+    public FilterPlan get(Class<?> modelClass, FilterSpecification filterSpec) {
+        String key = modelClass.getName() + "|" + FilterPlan.shapeOf(filterSpec);
+
+        lock.lock();
+        try {
+            FilterPlan plan = plans.get(key);
+            if (plan != null) {
+                hits.incrementAndGet();
+                return plan;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Compilar fuera del bloqueo; si dos peticiones compilan a la vez, ambas obtienen un plan equivalente
+        misses.incrementAndGet();
+        FilterPlan plan = FilterPlan.compile(modelClass, filterSpec, entityManagerFactory.getMetamodel(), searchIndex);
+
+        lock.lock();
+        try {
+            plans.put(key, plan);
+        } finally {
+            lock.unlock();
+        }
+        return plan;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return plans.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.onesteprest.onesteprest.filters;
+
+/**
+ * Enum de cuantificadores para filtros sobre campos de una colección.
+ */
+public enum FilterQuantifier {
+    ANY("any"),
+    ALL("all"),
+    NONE("none");
+
+    private final String code;
+
+    FilterQuantifier(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Obtiene el cuantificador a partir del código.
+     *
+     * @param code Código del cuantificador
+     * @return FilterQuantifier correspondiente
+     * @throws IllegalArgumentException si el código no es un cuantificador
+     */
+    public static FilterQuantifier fromCode(String code) {
+        for (FilterQuantifier quantifier : values()) {
+            if (quantifier.getCode().equalsIgnoreCase(code)) {
+                return quantifier;
+            }
+        }
+        throw new IllegalArgumentException("Unknown filter quantifier: " + code);
+    }
+}
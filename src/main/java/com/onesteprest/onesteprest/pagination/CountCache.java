@@ -0,0 +1,96 @@
+package com.onesteprest.onesteprest.pagination;
+
+import com.onesteprest.onesteprest.cache.ModelChangeTracker;
+import com.onesteprest.onesteprest.filters.Filter;
+import com.onesteprest.onesteprest.filters.FilterSpecification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the exact row counts used by the {@link CountStrategy#CACHED} strategy,
+ * per model and per filter.
+ *
+ * Each count keeps the {@link ModelChangeTracker} version of its model, read
+ * before counting, so any change to the model or to a model it reaches through
+ * relationships (including rows written by cascade) makes it stale. As in
+ * {@link com.onesteprest.onesteprest.cache.ResultCache}, transactions that
+ * changed a model count around the cache until they complete.
+ */
+@Component
+public class CountCache {
+
+    // Upper bound of cached filters per model, to keep memory bounded
+    private static final int MAX_ENTRIES_PER_MODEL = 1000;
+
+    @Autowired
+    private ModelChangeTracker changeTracker;
+
+    private final Map<Class<?>, Map<String, Entry>> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a cached count, counting and storing it if it is missing or stale.
+     * Transactions with pending changes always count.
+     *
+     * @param modelClass The model class
+     * @param key The filter key, see {@link #keyOf(FilterSpecification)}
+     * @param counter Runs the exact count
+     * @return The cached or new count
+     */
+    public long get(Class<?> modelClass, String key, LongSupplier counter) {
+        if (changeTracker.hasPendingChanges()) {
+            return counter.getAsLong();
+        }
+
+        long version = changeTracker.getVersion(modelClass);
+        Map<String, Entry> modelCounts = counts.computeIfAbsent(modelClass, k -> new ConcurrentHashMap<>());
+        Entry entry = modelCounts.get(key);
+        if (entry != null && entry.version == version) {
+            return entry.count;
+        }
+
+        // A change made while counting leaves the entry stale
+        long count = counter.getAsLong();
+        if (modelCounts.size() >= MAX_ENTRIES_PER_MODEL) {
+            modelCounts.clear();
+        }
+        modelCounts.put(key, new Entry(count, version));
+        return count;
+    }
+
+    /**
+     * Builds the cache key of a filter specification. Filters are sorted, so the
+     * same filters in a different order share the same count.
+     *
+     * @param filterSpec The filter specification, or null
+     * @return The cache key
+     */
+    public static String keyOf(FilterSpecification filterSpec) {
+        if (filterSpec == null || !filterSpec.hasFilters()) {
+            return "";
+        }
+
+        List<String> filters = new ArrayList<>();
+        for (Filter filter : filterSpec.getFilters()) {
+            filters.add(filter.toString());
+        }
+        Collections.sort(filters);
+        return filterSpec.getLogic() + filters.toString();
+    }
+
+    private static class Entry {
+        private final long count;
+        private final long version;
+
+        Entry(long count, long version) {
+            this.count = count;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.onesteprest.onesteprest.pagination;
+
+/**
+ * How the total number of rows of a paged response is obtained.
+ */
+public enum CountStrategy {
+    /** Runs a {@code COUNT} query with the same filters on every request. */
+    EXACT("exact"),
+    /** Skips the count and reads one extra row to tell whether there is a next page. */
+    NONE("none"),
+    /** Reuses the exact count of the same model and filters until the model changes. */
+    CACHED("cached"),
+    /** Reads the row count estimate kept by the database (exact count when filtered). */
+    ESTIMATED("estimated");
+
+    private final String code;
+
+    CountStrategy(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the strategy for a code.
+     *
+     * @param code The strategy code
+     * @return The matching strategy
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static CountStrategy fromCode(String code) {
+        for (CountStrategy strategy : values()) {
+            if (strategy.getCode().equalsIgnoreCase(code)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown count strategy: " + code);
+    }
+}
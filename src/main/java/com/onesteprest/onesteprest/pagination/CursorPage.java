@@ -0,0 +1,37 @@
+package com.onesteprest.onesteprest.pagination;
+
+import java.util.List;
+
+/**
+ * A page of results read with keyset pagination.
+ *
+ * Unlike a {@link org.springframework.data.domain.Page}, it carries no total
+ * count; the client keeps requesting pages with {@link #getNextCursor()} until
+ * it is null.
+ */
+public class CursorPage {
+    private final List<Object> content;
+    private final int size;
+    private final String nextCursor;
+
+    public CursorPage(List<Object> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Object> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the cursor of the next page, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
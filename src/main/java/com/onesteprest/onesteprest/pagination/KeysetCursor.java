@@ -0,0 +1,87 @@
+package com.onesteprest.onesteprest.pagination;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The position of the last row of a keyset page: the sort property and
+ * direction it was read with, and the sort key and id of that row.
+ *
+ * It is exchanged with clients as an opaque URL-safe Base64 string.
+ */
+public class KeysetCursor {
+    private final String sortProperty;
+    private final boolean descending;
+    private final Object sortValue;
+    private final Object id;
+
+    public KeysetCursor(String sortProperty, boolean descending, Object sortValue, Object id) {
+        this.sortProperty = sortProperty;
+        this.descending = descending;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    /**
+     * Encodes this cursor as an opaque string.
+     *
+     * @param objectMapper The mapper used to write the key values
+     * @return The encoded cursor
+     */
+    public String encode(ObjectMapper objectMapper) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("s", sortProperty);
+        node.put("d", descending);
+        node.set("k", objectMapper.valueToTree(sortValue));
+        node.set("i", objectMapper.valueToTree(id));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(node);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode cursor: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decodes a cursor previously returned by {@link #encode(ObjectMapper)}.
+     *
+     * @param cursor The encoded cursor
+     * @param objectMapper The mapper used to read the key values
+     * @return The decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor, ObjectMapper objectMapper) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            JsonNode node = objectMapper.readTree(new String(json, StandardCharsets.UTF_8));
+            if (!node.hasNonNull("s") || !node.has("d") || !node.has("k") || !node.hasNonNull("i")) {
+                throw new IllegalStateException("Missing cursor property");
+            }
+            return new KeysetCursor(node.get("s").asText(), node.get("d").asBoolean(),
+                                    objectMapper.treeToValue(node.get("k"), Object.class),
+                                    objectMapper.treeToValue(node.get("i"), Object.class));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String getSortProperty() {
+        return sortProperty;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Object getSortValue() {
+        return sortValue;
+    }
+
+    public Object getId() {
+        return id;
+    }
+}
@@ -0,0 +1,107 @@
+package com.onesteprest.onesteprest.pagination;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the row count estimates kept by the database statistics, used by the
+ * {@link CountStrategy#ESTIMATED} strategy. Supports H2, PostgreSQL and
+ * MySQL/MariaDB; other databases have no estimate.
+ */
+@Component
+public class RowCountEstimator {
+
+    private static final String H2_QUERY =
+        "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES " +
+        "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND UPPER(TABLE_NAME) = UPPER(?)";
+
+    private static final String POSTGRESQL_QUERY =
+        "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+
+    private static final String MYSQL_QUERY =
+        "SELECT TABLE_ROWS FROM information_schema.TABLES " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Maps model class to its table name
+    private final Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
+
+    private volatile String estimateQuery;
+
+    /**
+     * Gets the estimated number of rows of a model's table.
+     *
+     * @param modelClass The model class
+     * @return The estimate, or null if the database keeps none for the table
+     */
+    public Long estimate(Class<?> modelClass) {
+        String query = getEstimateQuery();
+        String tableName = getTableName(modelClass);
+        if (query.isEmpty() || tableName == null) {
+            return null;
+        }
+
+        try {
+            List<Long> rows = jdbcTemplate.queryForList(query, Long.class, tableName);
+            if (rows.isEmpty() || rows.get(0) == null || rows.get(0) < 0) {
+                // PostgreSQL reports -1 for tables that were never analyzed
+                return null;
+            }
+            return rows.get(0);
+        } catch (Exception e) {
+            System.err.println("Error reading row count estimate for " + tableName + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the estimate query of the current database, or an empty string if it has none.
+     */
+    private String getEstimateQuery() {
+        if (estimateQuery == null) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if ("H2".equalsIgnoreCase(product)) {
+                estimateQuery = H2_QUERY;
+            } else if ("PostgreSQL".equalsIgnoreCase(product)) {
+                estimateQuery = POSTGRESQL_QUERY;
+            } else if ("MySQL".equalsIgnoreCase(product) || "MariaDB".equalsIgnoreCase(product)) {
+                estimateQuery = MYSQL_QUERY;
+            } else {
+                estimateQuery = "";
+            }
+        }
+        return estimateQuery;
+    }
+
+    /**
+     * Gets the table name mapped by Hibernate for a model class.
+     */
+    private String getTableName(Class<?> modelClass) {
+        return tableNames.computeIfAbsent(modelClass, k -> {
+            EntityPersister persister = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel()
+                    .getEntityDescriptor(modelClass);
+            if (persister instanceof AbstractEntityPersister) {
+                String tableName = ((AbstractEntityPersister) persister).getTableName();
+                return tableName.replace("\"", "").replace("`", "");
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.onesteprest.onesteprest.pagination;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * A page of results read without counting the total number of rows.
+ * It serializes like a page without the totals, plus a {@code hasNext} flag.
+ */
+public class SlicePage extends SliceImpl<Object> {
+
+    public SlicePage(List<Object> content, Pageable pageable, boolean hasNext) {
+        super(content, pageable, hasNext);
+    }
+
+    @Override
+    @JsonProperty("hasNext")
+    public boolean hasNext() {
+        return super.hasNext();
+    }
+}
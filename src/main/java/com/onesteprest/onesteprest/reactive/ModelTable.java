@@ -0,0 +1,197 @@
+package com.onesteprest.onesteprest.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.core.SerializedProperties;
+import io.r2dbc.spi.Row;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * The table of a model as the JPA mapping defines it: its name and the
+ * columns of its scalar properties and of the foreign keys of its
+ * single-valued relationships.
+ *
+ * Rows are read into maps with the properties and names that Jackson writes
+ * for the entities: properties hidden with {@code @JsonIgnore},
+ * {@code WRITE_ONLY} access or {@code @JsonIgnoreProperties} are not selected,
+ * and renamed ones use their JSON name. Hidden columns can still be filtered
+ * and sorted on, as in the JPA listing. A relationship is written as an object
+ * with only its ID, as in {@code "categoria": {"id": 3}}. Collections and
+ * properties of types that are not read natively over R2DBC (enums,
+ * embeddables) are left out.
+ */
+public class ModelTable {
+
+    // Property types read as they are from R2DBC rows
+    private static final Set<Class<?>> READABLE_TYPES = Set.of(
+            String.class, Long.class, Integer.class, Short.class, Double.class, Float.class,
+            BigDecimal.class, Boolean.class, LocalDate.class, LocalDateTime.class, LocalTime.class, UUID.class);
+
+    private final String name;
+    private final String idColumn;
+    private final Class<?> idType;
+    // Property path ("nombre", "categoria.id") to its column
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    private ModelTable(String name, String idColumn, Class<?> idType) {
+        this.name = name;
+        this.idColumn = idColumn;
+        this.idType = idType;
+    }
+
+    /**
+     * Reads the table of a model from the Hibernate mapping.
+     *
+     * @param modelClass The model class
+     * @param entityManagerFactory The JPA entity manager factory
+     * @param objectMapper The mapper the entity responses are written with
+     * @return The table of the model
+     * @throws IllegalArgumentException if the model is not mapped to a single table with a simple ID
+     */
+    public static ModelTable of(Class<?> modelClass, EntityManagerFactory entityManagerFactory,
+                                ObjectMapper objectMapper) {
+        EntityPersister persister = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(modelClass);
+        if (!(persister instanceof AbstractEntityPersister) || persister.getIdentifierPropertyName() == null) {
+            throw new IllegalArgumentException(modelClass.getSimpleName() + " is not mapped to a table with a simple ID");
+        }
+        AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+
+        EntityType<?> entityType = entityManagerFactory.getMetamodel().entity(modelClass);
+        ModelTable table = new ModelTable(entityPersister.getTableName(),
+                                          singleColumn(entityPersister.getIdentifierColumnNames()),
+                                          ClassUtils.resolvePrimitiveIfNecessary(entityType.getIdType().getJavaType()));
+        SerializedProperties properties = SerializedProperties.of(objectMapper, modelClass);
+
+        for (SingularAttribute<?, ?> attribute : entityType.getSingularAttributes()) {
+            String[] columnNames = attribute.isId()
+                    ? entityPersister.getIdentifierColumnNames()
+                    : entityPersister.getPropertyColumnNames(attribute.getName());
+            if (columnNames.length != 1) {
+                // Embeddables and the inverse side of one-to-one relationships
+                continue;
+            }
+
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType());
+                if (READABLE_TYPES.contains(type)) {
+                    String key = properties.contains(attribute.getName()) ? properties.getJsonName(attribute.getName()) : null;
+                    table.columns.put(attribute.getName(), new Column(key, null, columnNames[0], type));
+                }
+            } else if (attribute.isAssociation()) {
+                EntityType<?> target = entityManagerFactory.getMetamodel().entity(attribute.getJavaType());
+                SingularAttribute<?, ?> targetId = target.getId(target.getIdType().getJavaType());
+                Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(targetId.getJavaType());
+                if (READABLE_TYPES.contains(type)) {
+                    String key = null;
+                    String targetKey = null;
+                    if (properties.contains(attribute.getName())) {
+                        SerializedProperties targetProperties =
+                                properties.getValueProperties(attribute.getName(), attribute.getJavaType());
+                        if (targetProperties.contains(targetId.getName())) {
+                            key = properties.getJsonName(attribute.getName());
+                            targetKey = targetProperties.getJsonName(targetId.getName());
+                        }
+                    }
+                    table.columns.put(attribute.getName() + "." + targetId.getName(),
+                                      new Column(key, targetKey, columnNames[0], type));
+                }
+            }
+        }
+        return table;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getIdColumn() {
+        return idColumn;
+    }
+
+    public Class<?> getIdType() {
+        return idType;
+    }
+
+    /**
+     * Gets the column of a property path: a scalar property or the ID of a
+     * single-valued relationship.
+     *
+     * @throws IllegalArgumentException if the path has no column in this table
+     */
+    public String columnOf(String[] path) {
+        Column column = columns.get(String.join(".", path));
+        if (column == null) {
+            throw new IllegalArgumentException("Field '" + String.join(".", path) + "' has no column in table " + name);
+        }
+        return column.name;
+    }
+
+    /**
+     * Gets the columns read for each row, in property order: those of the
+     * properties that Jackson serializes.
+     */
+    public List<String> getSelectColumns() {
+        List<String> selected = new ArrayList<>(columns.size());
+        for (Column column : columns.values()) {
+            if (column.key != null) {
+                selected.add(column.name);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Reads a row selected with {@link #getSelectColumns()} into a map of properties.
+     */
+    public Map<String, Object> read(Row row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Column column : columns.values()) {
+            if (column.key == null) {
+                continue;
+            }
+            Object value = row.get(column.name, column.type);
+            if (column.targetKey == null) {
+                values.put(column.key, value);
+            } else {
+                values.put(column.key, value != null ? Collections.singletonMap(column.targetKey, value) : null);
+            }
+        }
+        return values;
+    }
+
+    private static String singleColumn(String[] columns) {
+        if (columns.length != 1) {
+            throw new IllegalArgumentException("Composite keys are not supported: " + Arrays.toString(columns));
+        }
+        return columns[0];
+    }
+
+    private static class Column {
+        // JSON name of the property, or null if Jackson does not serialize it
+        private final String key;
+        // JSON name of the ID of the related entity, or null for a scalar property
+        private final String targetKey;
+        private final String name;
+        private final Class<?> type;
+
+        Column(String key, String targetKey, String name, Class<?> type) {
+            this.key = key;
+            this.targetKey = targetKey;
+            this.name = name;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.onesteprest.onesteprest.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.config.OneStepRestConfig;
+import com.onesteprest.onesteprest.filters.FilterExecutor;
+import com.onesteprest.onesteprest.filters.FilterPlan;
+import com.onesteprest.onesteprest.filters.FilterSpecification;
+import com.onesteprest.onesteprest.service.DynamicEntityService;
+import com.onesteprest.onesteprest.utils.TypeConverter;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads entities of the registered models over R2DBC, without blocking the
+ * calling thread.
+ *
+ * Models, filters and tables come from the JPA side: the model paths
+ * registered in {@link DynamicEntityService}, the compiled plans of the
+ * {@link FilterExecutor} translated into SQL, and the table mapping read from
+ * Hibernate. Only the rows are read through R2DBC, as maps of properties
+ * (see {@link ModelTable}), so nothing is loaded into a persistence context.
+ *
+ * The connection factory is kept private rather than exposed as a bean, since
+ * Spring Boot backs off the JDBC data source when it finds one. Spring R2DBC
+ * is an optional dependency, so the reader is only created when it is on the
+ * classpath.
+ */
+@Component
+@Profile("reactive")
+@ConditionalOnClass(name = "org.springframework.r2dbc.core.DatabaseClient")
+public class ReactiveEntityReader {
+
+    @Autowired
+    private DynamicEntityService entityService;
+
+    @Autowired
+    private FilterExecutor filterExecutor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OneStepRestConfig config;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Class<?>, ModelTable> tables = new ConcurrentHashMap<>();
+    private ConnectionFactory connectionFactory;
+    private DatabaseClient databaseClient;
+
+    @PostConstruct
+    public void init() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(config.getReactiveUrl());
+        ConnectionFactoryOptions.Builder builder = options.mutate();
+        if (!options.hasOption(ConnectionFactoryOptions.USER)) {
+            builder.option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername());
+        }
+        if (!options.hasOption(ConnectionFactoryOptions.PASSWORD) && dataSourceProperties.determinePassword() != null) {
+            builder.option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword());
+        }
+        connectionFactory = ConnectionFactories.get(builder.build());
+        databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connectionFactory instanceof Closeable) {
+            Mono.from(((Closeable) connectionFactory).close()).block();
+        }
+    }
+
+    /**
+     * Reads the entities of a model that match a filter. The model, filter
+     * and sort are checked when this is called, before anything is read; the
+     * rows are read as the returned flux is consumed.
+     *
+     * @param modelPath The path segment for the model
+     * @param filterSpec The filter to apply, or null for all rows
+     * @param sortBy The property to sort by, or null to sort by ID
+     * @param descending Whether to sort in descending order
+     * @param limit The maximum number of rows, or null for all of them
+     * @return The rows as maps of properties
+     * @throws IllegalArgumentException if the model, a filter or the sort property is not valid
+     */
+    public Flux<Map<String, Object>> findAll(String modelPath, FilterSpecification filterSpec, String sortBy,
+                                             boolean descending, Integer limit) {
+        Class<?> modelClass = entityService.getModelClass(modelPath);
+        ModelTable table = tableOf(modelClass);
+
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(String.join(", ", table.getSelectColumns()))
+                .append(" FROM ").append(table.getName());
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (filterSpec != null && filterSpec.hasFilters()) {
+            FilterPlan plan = filterExecutor.getPlan(modelClass, filterSpec);
+            String condition = plan.toSql(table::columnOf);
+            if (condition != null) {
+                sql.append(" WHERE ").append(condition);
+                plan.bind(parameters::put, filterSpec);
+            }
+        }
+
+        // Sort by ID last so that rows with equal sort values keep a stable order
+        String direction = descending ? " DESC" : " ASC";
+        sql.append(" ORDER BY ");
+        if (sortBy != null && !sortBy.isEmpty()) {
+            String sortColumn = table.columnOf(sortBy.split("\\."));
+            if (!sortColumn.equals(table.getIdColumn())) {
+                sql.append(sortColumn).append(direction).append(", ");
+            }
+        }
+        sql.append(table.getIdColumn()).append(direction);
+
+        if (limit != null) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("limit must not be negative");
+            }
+            sql.append(" LIMIT ").append(limit);
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map((row, metadata) -> table.read(row)).all();
+    }
+
+    /**
+     * Reads the entity of a model with the given ID.
+     *
+     * @param modelPath The path segment for the model
+     * @param id The entity ID
+     * @return The row as a map of properties, or empty if there is none
+     * @throws IllegalArgumentException if the model or the ID is not valid
+     */
+    public Mono<Map<String, Object>> findById(String modelPath, Object id) {
+        ModelTable table = tableOf(entityService.getModelClass(modelPath));
+        Object convertedId = TypeConverter.convertToAppropriateType(id, table.getIdType());
+        if (!table.getIdType().isInstance(convertedId)) {
+            throw new IllegalArgumentException("Invalid ID '" + id + "' for model " + modelPath);
+        }
+        String sql = "SELECT " + String.join(", ", table.getSelectColumns()) +
+                     " FROM " + table.getName() + " WHERE " + table.getIdColumn() + " = :id";
+        return databaseClient.sql(sql)
+                .bind("id", convertedId)
+                .map((row, metadata) -> table.read(row))
+                .one();
+    }
+
+    private ModelTable tableOf(Class<?> modelClass) {
+        return tables.computeIfAbsent(modelClass, type -> ModelTable.of(type, entityManagerFactory, objectMapper));
+    }
+}
@@ -0,0 +1,174 @@
+package com.onesteprest.onesteprest.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.config.OneStepRestConfig;
+import com.onesteprest.onesteprest.core.EntityStreamWriter;
+import com.onesteprest.onesteprest.filters.FilterParser;
+import com.onesteprest.onesteprest.filters.FilterSpecification;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves the read endpoints of the registered models on WebFlux, on a port
+ * of their own, while the servlet container keeps serving the full API.
+ *
+ * {@code GET {base}/{model}} streams the matching rows with the same filter
+ * parameters as {@code DynamicRestController} (query parameters or a JSON
+ * {@code filter}), sorted with {@code sortBy} and {@code direction} and cut
+ * with {@code limit}. The response is a JSON array, or newline-delimited JSON
+ * with {@code Accept: application/x-ndjson}; either way rows are encoded as
+ * the client reads them, so a slow client holds a connection and a database
+ * cursor but no thread. {@code GET {base}/{model}/{id}} reads a single row.
+ *
+ * Enabled with the {@code reactive} profile, when WebFlux, Reactor Netty and
+ * Spring R2DBC are on the classpath: they are optional dependencies.
+ */
+@Component
+@Profile("reactive")
+@ConditionalOnClass(name = {
+    "org.springframework.web.reactive.function.server.RouterFunction",
+    "reactor.netty.http.server.HttpServer",
+    "org.springframework.r2dbc.core.DatabaseClient"
+})
+public class ReactiveReadServer {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> ROW_TYPE =
+            new ParameterizedTypeReference<Map<String, Object>>() {};
+
+    private static final MediaType NDJSON = MediaType.parseMediaType(EntityStreamWriter.NDJSON_MEDIA_TYPE);
+
+    @Autowired
+    private ReactiveEntityReader entityReader;
+
+    @Autowired
+    private FilterParser filterParser;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OneStepRestConfig config;
+
+    private DisposableServer server;
+
+    @PostConstruct
+    public void start() {
+        String basePath = config.getApiBasePath();
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET(basePath + "/{model}", this::getAll)
+                .GET(basePath + "/{model}/{id}", this::getById)
+                .build();
+
+        // Same JSON settings as the servlet endpoints
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        server = HttpServer.create()
+                .port(config.getReactivePort())
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes, strategies)))
+                .bindNow();
+        System.out.println("Reactive read endpoints listening on port " + server.port() + " at " + basePath);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    /**
+     * Gets the port the endpoints listen on, which differs from the configured
+     * one when that is 0.
+     */
+    public int getPort() {
+        return server.port();
+    }
+
+    private Mono<ServerResponse> getAll(ServerRequest request) {
+        try {
+            String model = request.pathVariable("model");
+            FilterSpecification filterSpec = parseFilter(request.queryParams());
+            String sortBy = request.queryParam("sortBy").orElse(null);
+            boolean descending = request.queryParam("direction").orElse("asc").equalsIgnoreCase("desc");
+            Integer limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+
+            Flux<Map<String, Object>> rows = entityReader.findAll(model, filterSpec, sortBy, descending, limit);
+
+            boolean ndjson = false;
+            for (MediaType accepted : request.headers().accept()) {
+                if (accepted.equalsTypeAndSubtype(NDJSON)) {
+                    ndjson = true;
+                }
+            }
+            return ServerResponse.ok()
+                    .contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON)
+                    .body(rows, ROW_TYPE);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    private Mono<ServerResponse> getById(ServerRequest request) {
+        try {
+            return entityReader.findById(request.pathVariable("model"), request.pathVariable("id"))
+                    .flatMap(row -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(row))
+                    .switchIfEmpty(ServerResponse.notFound().build())
+                    .onErrorResume(e -> {
+                        e.printStackTrace();
+                        return ServerResponse.status(500).contentType(MediaType.TEXT_PLAIN)
+                                .bodyValue("Error processing request: " + e.getMessage());
+                    });
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    private static Mono<ServerResponse> badRequest(IllegalArgumentException e) {
+        return ServerResponse.badRequest().contentType(MediaType.TEXT_PLAIN)
+                .bodyValue("Invalid request: " + e.getMessage());
+    }
+
+    /**
+     * Parses the filter of a request, from a JSON {@code filter} parameter or
+     * from {@code filter_} query parameters, as the servlet endpoints do.
+     */
+    private FilterSpecification parseFilter(MultiValueMap<String, String> queryParams) {
+        String filter = queryParams.getFirst("filter");
+        if (filter != null && !filter.isEmpty()) {
+            return filterParser.parseFromJson(filter);
+        }
+        Map<String, String[]> params = new HashMap<>();
+        for (Map.Entry<String, List<String>> param : queryParams.entrySet()) {
+            params.put(param.getKey(), param.getValue().toArray(new String[0]));
+        }
+        return filterParser.parseFromQueryParams(params);
+    }
+}
@@ -0,0 +1,267 @@
+package com.onesteprest.onesteprest.search;
+
+import com.onesteprest.onesteprest.annotations.Searchable;
+import com.onesteprest.onesteprest.config.OneStepRestConfig;
+import com.onesteprest.onesteprest.core.ModelDescriptor;
+import com.onesteprest.onesteprest.core.PropertyAccessor;
+import com.onesteprest.onesteprest.events.AfterBulkDeleteEvent;
+import com.onesteprest.onesteprest.events.AfterBulkUpdateEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Trigram indexes of the {@link Searchable} fields of the registered models.
+ *
+ * The indexes are filled from the tables when the application is ready and
+ * kept current from Hibernate's post-insert, post-update and post-delete
+ * events, so that entities written by cascade (the products created inside a
+ * new category) are indexed like those written through the service. The
+ * set-based bulk updates and deletes bypass those events and are applied from
+ * their own entity events. Changes are applied so that the index never misses
+ * a row visible to a query: created entities and new values are added when
+ * they are flushed, while removals wait for the commit. A rolled back change
+ * can therefore leave extra candidates, which the query discards.
+ */
+@Component
+public class SearchIndex {
+
+    // Rows read per round trip while building an index
+    private static final int BUILD_FETCH_SIZE = 1000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OneStepRestConfig config;
+
+    private final Map<Class<?>, Map<Field, TrigramIndex>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the (empty) indexes of the searchable fields of a model.
+     *
+     * @param modelClass The model class
+     * @throws IllegalStateException if a searchable field is not a String
+     */
+    public void register(Class<?> modelClass) {
+        if (indexes.containsKey(modelClass)) {
+            return;
+        }
+
+        Map<Field, TrigramIndex> modelIndexes = new LinkedHashMap<>();
+        Class<?> current = modelClass;
+        while (current != null && current != Object.class) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(Searchable.class)) {
+                    continue;
+                }
+                if (field.getType() != String.class) {
+                    throw new IllegalStateException("@Searchable field " + modelClass.getSimpleName() + "." +
+                                                    field.getName() + " must be a String");
+                }
+                modelIndexes.put(field, new TrigramIndex(getIdAttribute(modelClass), config.getSearchIndexMaxCandidates()));
+            }
+            current = current.getSuperclass();
+        }
+
+        if (!modelIndexes.isEmpty()) {
+            indexes.put(modelClass, modelIndexes);
+        }
+    }
+
+    /**
+     * Gets the index of a field.
+     *
+     * @param modelClass The model class
+     * @param fieldName The field name
+     * @return The index, or null if the field is not searchable
+     */
+    public TrigramIndex get(Class<?> modelClass, String fieldName) {
+        Map<Field, TrigramIndex> modelIndexes = indexes.get(modelClass);
+        if (modelIndexes == null) {
+            return null;
+        }
+        for (Map.Entry<Field, TrigramIndex> entry : modelIndexes.entrySet()) {
+            if (entry.getKey().getName().equals(fieldName)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether a model has any searchable field.
+     *
+     * @param modelClass The model class
+     */
+    public boolean isIndexed(Class<?> modelClass) {
+        return indexes.containsKey(modelClass);
+    }
+
+    /**
+     * Fills the indexes from the tables, streaming the id and value of every row.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        for (Map.Entry<Class<?>, Map<Field, TrigramIndex>> model : indexes.entrySet()) {
+            String entityName = entityManagerFactory.getMetamodel().entity(model.getKey()).getName();
+            for (Map.Entry<Field, TrigramIndex> entry : model.getValue().entrySet()) {
+                TrigramIndex index = entry.getValue();
+                String jpql = "SELECT e." + index.getIdAttribute() + ", e." + entry.getKey().getName() +
+                              " FROM " + entityName + " e";
+
+                EntityManager entityManager = entityManagerFactory.createEntityManager();
+                try (Stream<Object[]> rows = entityManager.createQuery(jpql, Object[].class)
+                        .setHint("org.hibernate.fetchSize", BUILD_FETCH_SIZE)
+                        .getResultStream()) {
+                    rows.forEach(row -> index.add(row[0], (String) row[1]));
+                } finally {
+                    entityManager.close();
+                }
+
+                System.out.println("Built search index for " + model.getKey().getSimpleName() + "." +
+                                   entry.getKey().getName() + " with " + index.size() + " entries");
+            }
+        }
+    }
+
+    /**
+     * Registers the Hibernate listeners that keep the indexes current.
+     */
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        EntityListener listener = new EntityListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    @EventListener
+    public void onAfterBulkUpdate(AfterBulkUpdateEvent event) {
+        Map<Field, TrigramIndex> modelIndexes = indexes.get(event.getModelClass());
+        if (modelIndexes == null || event.getIds() == null) {
+            return;
+        }
+        for (Map.Entry<Field, TrigramIndex> entry : modelIndexes.entrySet()) {
+            if (!event.getAssignments().containsKey(entry.getKey().getName())) {
+                continue;
+            }
+            TrigramIndex index = entry.getValue();
+            String value = (String) event.getAssignments().get(entry.getKey().getName());
+            for (Object id : event.getIds()) {
+                index.add(id, value);
+            }
+            afterCommit(() -> event.getIds().forEach(id -> index.replace(id, value)));
+        }
+    }
+
+    @EventListener
+    public void onAfterBulkDelete(AfterBulkDeleteEvent event) {
+        Map<Field, TrigramIndex> modelIndexes = indexes.get(event.getModelClass());
+        if (modelIndexes != null && event.getIds() != null) {
+            for (TrigramIndex index : modelIndexes.values()) {
+                afterCommit(() -> event.getIds().forEach(index::remove));
+            }
+        }
+    }
+
+    private void forEachIndex(Class<?> modelClass, Object entity, IndexUpdate update) {
+        Map<Field, TrigramIndex> modelIndexes = indexes.get(modelClass);
+        if (modelIndexes == null || entity == null) {
+            return;
+        }
+        for (Map.Entry<Field, TrigramIndex> entry : modelIndexes.entrySet()) {
+            Field field = entry.getKey();
+            PropertyAccessor accessor = ModelDescriptor.of(field.getDeclaringClass()).getAccessor(field.getName());
+            update.apply(entry.getValue(), (String) accessor.get(entity));
+        }
+    }
+
+    /**
+     * Runs an action when the current transaction commits, or at once if there is none.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private String getIdAttribute(Class<?> modelClass) {
+        EntityType<?> entityType = entityManagerFactory.getMetamodel().entity(modelClass);
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    private interface IndexUpdate {
+        void apply(TrigramIndex index, String value);
+    }
+
+    /**
+     * Applies the rows written by Hibernate, including cascades, within the
+     * flush that writes them.
+     */
+    private class EntityListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            Object id = event.getId();
+            forEachIndex(event.getPersister().getMappedClass(), event.getEntity(), (index, value) -> index.add(id, value));
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            // Keep the old trigrams until the commit, so that readers of the old value still find the row
+            Object id = event.getId();
+            forEachIndex(event.getPersister().getMappedClass(), event.getEntity(), (index, value) -> {
+                index.add(id, value);
+                afterCommit(() -> index.replace(id, value));
+            });
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            Map<Field, TrigramIndex> modelIndexes = indexes.get(event.getPersister().getMappedClass());
+            if (modelIndexes != null) {
+                Object id = event.getId();
+                for (TrigramIndex index : modelIndexes.values()) {
+                    afterCommit(() -> index.remove(id));
+                }
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
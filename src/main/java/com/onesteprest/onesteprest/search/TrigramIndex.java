@@ -0,0 +1,159 @@
+package com.onesteprest.onesteprest.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An inverted index from the trigrams of a text field to the ids of the
+ * entities containing them.
+ *
+ * Text is lower-cased before indexing, so the candidates of a pattern are a
+ * superset of the case-sensitive and case-insensitive matches; the query still
+ * applies the pattern to the candidates.
+ */
+public class TrigramIndex {
+
+    private final String idAttribute;
+    private final int maxCandidates;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<Object>> postings = new HashMap<>();
+    private final Map<Object, Set<String>> trigramsById = new HashMap<>();
+
+    /**
+     * @param idAttribute The name of the id attribute of the model
+     * @param maxCandidates Above this number of candidates the index is not selective enough to be used
+     */
+    public TrigramIndex(String idAttribute, int maxCandidates) {
+        this.idAttribute = idAttribute;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Adds the trigrams of a value to an entity, keeping the ones it already has.
+     */
+    public void add(Object id, String value) {
+        if (id == null || value == null) {
+            return;
+        }
+        Set<String> trigrams = trigramsOf(value.toLowerCase(Locale.ROOT));
+        lock.writeLock().lock();
+        try {
+            Set<String> current = trigramsById.computeIfAbsent(id, k -> new HashSet<>());
+            for (String trigram : trigrams) {
+                if (current.add(trigram)) {
+                    postings.computeIfAbsent(trigram, k -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the indexed value of an entity.
+     */
+    public void replace(Object id, String value) {
+        remove(id);
+        add(id, value);
+    }
+
+    /**
+     * Removes an entity from the index.
+     */
+    public void remove(Object id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Set<String> trigrams = trigramsById.remove(id);
+            if (trigrams == null) {
+                return;
+            }
+            for (String trigram : trigrams) {
+                Set<Object> ids = postings.get(trigram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(trigram);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of the entities that may contain all the literal fragments.
+     *
+     * @param fragments The literal parts of the pattern, without wildcards
+     * @return The candidate ids, or null if the index cannot narrow the search
+     *         (no fragment has three characters, or there are too many candidates)
+     */
+    public List<Object> candidates(List<String> fragments) {
+        Set<String> trigrams = new HashSet<>();
+        for (String fragment : fragments) {
+            trigrams.addAll(trigramsOf(fragment.toLowerCase(Locale.ROOT)));
+        }
+        if (trigrams.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Set<Object>> sets = new ArrayList<>();
+            for (String trigram : trigrams) {
+                Set<Object> ids = postings.get(trigram);
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                sets.add(ids);
+            }
+
+            // Intersect starting from the most selective trigram
+            sets.sort(Comparator.comparingInt(Set::size));
+            List<Object> result = new ArrayList<>();
+            for (Object id : sets.get(0)) {
+                boolean inAll = true;
+                for (int i = 1; i < sets.size() && inAll; i++) {
+                    inAll = sets.get(i).contains(id);
+                }
+                if (inAll) {
+                    result.add(id);
+                    if (result.size() > maxCandidates) {
+                        return null;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getIdAttribute() {
+        return idAttribute;
+    }
+
+    /**
+     * Gets the number of indexed entities.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return trigramsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
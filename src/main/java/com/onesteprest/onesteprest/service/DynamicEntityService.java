@@ -1,31 +1,78 @@
 package com.onesteprest.onesteprest.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.aggregation.AggregateResult;
+import com.onesteprest.onesteprest.aggregation.Aggregation;
+import com.onesteprest.onesteprest.aggregation.FacetResult;
+import com.onesteprest.onesteprest.aggregation.Facets;
 import com.onesteprest.onesteprest.annotations.RestModel;
+import com.onesteprest.onesteprest.bulk.BulkDeleter;
+import com.onesteprest.onesteprest.bulk.BulkItemResult;
+import com.onesteprest.onesteprest.cache.ModelChangeTracker;
+import com.onesteprest.onesteprest.cache.ResultCache;
+import com.onesteprest.onesteprest.cache.TaggedEntity;
+import com.onesteprest.onesteprest.config.OneStepRestConfig;
+import com.onesteprest.onesteprest.core.ModelDescriptor;
+import com.onesteprest.onesteprest.core.PropertyAccessor;
+import com.onesteprest.onesteprest.core.RelationshipDescriptor;
 import com.onesteprest.onesteprest.exceptions.EntityValidationException;
+import com.onesteprest.onesteprest.fetch.FetchPlan;
+import com.onesteprest.onesteprest.fetch.FieldProjection;
+import com.onesteprest.onesteprest.fetch.MultiGetResult;
+import com.onesteprest.onesteprest.pagination.CountCache;
+import com.onesteprest.onesteprest.pagination.CountStrategy;
+import com.onesteprest.onesteprest.pagination.CursorPage;
+import com.onesteprest.onesteprest.pagination.KeysetCursor;
+import com.onesteprest.onesteprest.pagination.RowCountEstimator;
+import com.onesteprest.onesteprest.pagination.SlicePage;
+import com.onesteprest.onesteprest.search.SearchIndex;
+import com.onesteprest.onesteprest.utils.BatchRelationshipLoader;
 import com.onesteprest.onesteprest.utils.RelationshipUtil;
 import com.onesteprest.onesteprest.utils.EntityRelationshipManager;
 import com.onesteprest.onesteprest.utils.TypeConverter;
 import com.onesteprest.onesteprest.filters.FilterExecutor;
 import com.onesteprest.onesteprest.filters.FilterSpecification;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
 
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.Subgraph;
+import jakarta.validation.constraints.NotNull;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Service to handle dynamic entity operations.
@@ -48,15 +95,76 @@ public class DynamicEntityService {
     @Autowired
     private FilterExecutor filterExecutor;
     
+    @Autowired
+    private SearchIndex searchIndex;
+    
+    @Autowired
+    private CountCache countCache;
+    
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+    
+    @Autowired
+    private ResultCache resultCache;
+    
+    @Autowired
+    private ModelChangeTracker changeTracker;
+    
+    @Autowired
+    private BulkDeleter bulkDeleter;
+    
+    @Autowired
+    private OneStepRestConfig config;
+    
     // Maps path segment (e.g. "productos") to its Class
     private final Map<String, Class<?>> modelMap = new HashMap<>();
     
     // Maps Class to its validation setting
     private final Map<Class<?>, Boolean> validationEnabledMap = new HashMap<>();
     
+    // Maps Class to its default count strategy
+    private final Map<Class<?>, CountStrategy> countStrategyMap = new HashMap<>();
+    
+    // Maps Class to whether its read results are cached
+    private final Map<Class<?>, Boolean> resultCacheEnabledMap = new HashMap<>();
+    
+    // Maps Class to whether it has a second-level cache region, so its queries use the query cache
+    private final Map<Class<?>, Boolean> queryCacheEnabledMap = new HashMap<>();
+    
+    // Maps Class to whether it accepts set-based updates by filter
+    private final Map<Class<?>, Boolean> bulkUpdateEnabledMap = new HashMap<>();
+    
+    // Maps Class to whether it accepts set-based deletes by filter
+    private final Map<Class<?>, Boolean> bulkDeleteEnabledMap = new HashMap<>();
+    
     // Default relationship depth
     private static final int DEFAULT_RELATIONSHIP_DEPTH = 2;
     
+    // JPA hint used to apply a fetch graph to a query or find
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+    
+    // Hibernate hint to keep the results of a query in the query cache
+    private static final String CACHEABLE_HINT = "org.hibernate.cacheable";
+    
+    // Hibernate hint for the JDBC fetch size of a query
+    private static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+    
+    // Number of rows read, loaded and written at a time when streaming
+    private static final int STREAM_CHUNK_SIZE = 500;
+    
+    // Number of IDs bound in one IN list; padding rounds it up to 512, within the limits of common databases
+    private static final int ID_CHUNK_SIZE = 500;
+    
+    // Maps model class and normalized expand expression to its compiled entity graph.
+    // The expressions come from clients, so the least recently used graphs are evicted
+    private final Map<String, EntityGraph<?>> entityGraphCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, EntityGraph<?>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, EntityGraph<?>> eldest) {
+                    return size() > config.getEntityGraphCacheSize();
+                }
+            });
+    
     /**
      * Registers a model class for use with dynamic REST endpoints.
      *
@@ -71,6 +179,14 @@ public class DynamicEntityService {
             }
             modelMap.put(path, modelClass);
             validationEnabledMap.put(modelClass, annotation.enableValidation());
+            countStrategyMap.put(modelClass, annotation.count());
+            resultCacheEnabledMap.put(modelClass, annotation.cache());
+            queryCacheEnabledMap.put(modelClass, annotation.secondLevelCache() != CacheConcurrencyStrategy.NONE);
+            bulkUpdateEnabledMap.put(modelClass, annotation.bulkUpdate());
+            bulkDeleteEnabledMap.put(modelClass, annotation.bulkDelete());
+            // Build the reflection metadata up front instead of on the first request
+            ModelDescriptor.of(modelClass);
+            searchIndex.register(modelClass);
             System.out.println("Registered model class: " + modelClass.getName() + " for path: " + path);
         }
     }
@@ -84,40 +200,38 @@ public class DynamicEntityService {
      */
     @Transactional(readOnly = true)
     public Page<Object> findAll(String modelPath, Pageable pageable) {
+        return findAll(modelPath, pageable, null);
+    }
+    
+    /**
+     * Finds all entities of a given model type with pagination, loading only
+     * the relationships listed in the expand expression.
+     *
+     * @param modelPath The path segment for the model
+     * @param pageable Pagination information
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @return Page of entities
+     */
+    @Transactional(readOnly = true)
+    public Page<Object> findAll(String modelPath, Pageable pageable, String expand) {
+        return (Page<Object>) findAll(modelPath, pageable, expand, CountStrategy.EXACT);
+    }
+    
+    /**
+     * Finds all entities of a given model type with pagination, obtaining the
+     * total count with the given strategy.
+     *
+     * @param modelPath The path segment for the model
+     * @param pageable Pagination information
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @param count The count strategy, or null for the model default
+     * @return Page of entities, or a slice without totals for {@link CountStrategy#NONE}
+     */
+    @Transactional(readOnly = true)
+    public Slice<Object> findAll(String modelPath, Pageable pageable, String expand, CountStrategy count) {
         Class<?> modelClass = getModelClass(modelPath);
-        
-        // Create count query
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-        Root<?> root = countQuery.from(modelClass);
-        countQuery.select(cb.count(root));
-        
-        Long count = entityManager.createQuery(countQuery).getSingleResult();
-        
-        // Create main query
-        CriteriaQuery<Object> query = cb.createQuery((Class<Object>)modelClass);
-        Root<?> queryRoot = query.from(modelClass);
-        query.select(queryRoot);
-        
-        // Apply sorting if specified
-        if (pageable.getSort().isSorted()) {
-            // Apply sorting logic
-        }
-        
-        // Execute query with pagination
-        TypedQuery<?> typedQuery = entityManager.createQuery(query);
-        typedQuery.setFirstResult((int) pageable.getOffset());
-        typedQuery.setMaxResults(pageable.getPageSize());
-        
-        List<?> resultList = typedQuery.getResultList();
-        
-        // Load relationships for each entity
-        List<Object> enrichedResults = new ArrayList<>();
-        for (Object entity : resultList) {
-            enrichedResults.add(RelationshipUtil.loadRelationships(entity, entityManager, DEFAULT_RELATIONSHIP_DEPTH));
-        }
-        
-        return new PageImpl<>(enrichedResults, pageable, count);
+        return cached(modelClass, signatureOf("findAll", null, pageable, expand, count),
+                () -> findSlice(modelClass, null, pageable, expand, count));
     }
     
     /**
@@ -128,18 +242,35 @@ public class DynamicEntityService {
      */
     @Transactional(readOnly = true)
     public List<Object> findAll(String modelPath) {
+        return findAll(modelPath, (String) null);
+    }
+    
+    /**
+     * Finds all entities of a given model type, loading only the relationships
+     * listed in the expand expression.
+     *
+     * @param modelPath The path segment for the model
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @return List of all entities
+     */
+    @Transactional(readOnly = true)
+    public List<Object> findAll(String modelPath, String expand) {
         Class<?> modelClass = getModelClass(modelPath);
+        return cached(modelClass, "list|expand=" + expand, () -> findList(modelClass, expand));
+    }
+    
+    /**
+     * Reads every entity of a model.
+     */
+    private List<Object> findList(Class<?> modelClass, String expand) {
+        FetchPlan fetchPlan = getFetchPlan(modelClass, expand);
         String queryString = "SELECT e FROM " + modelClass.getSimpleName() + " e";
         TypedQuery<Object> query = entityManager.createQuery(queryString, (Class<Object>)modelClass);
+        applyFetchGraph(query, modelClass, fetchPlan);
         List<Object> resultList = query.getResultList();
         
-        // Load relationships for each entity
-        List<Object> enrichedResults = new ArrayList<>();
-        for (Object entity : resultList) {
-            enrichedResults.add(RelationshipUtil.loadRelationships(entity, entityManager, DEFAULT_RELATIONSHIP_DEPTH));
-        }
-        
-        return enrichedResults;
+        // Load relationships for all entities at once
+        return loadRelationships(resultList, fetchPlan);
     }
     
     /**
@@ -151,11 +282,42 @@ public class DynamicEntityService {
      */
     @Transactional(readOnly = true)
     public Optional<Object> findById(String modelPath, Object id) {
+        return findById(modelPath, id, null);
+    }
+    
+    /**
+     * Finds an entity by its ID, loading only the relationships listed in the
+     * expand expression.
+     *
+     * @param modelPath The path segment for the model
+     * @param id The entity ID
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @return Optional containing the entity if found
+     */
+    @Transactional(readOnly = true)
+    public Optional<Object> findById(String modelPath, Object id, String expand) {
         Class<?> modelClass = getModelClass(modelPath);
         
         // Convert id to the appropriate type if needed
         Object typedId = convertToAppropriateType(id, getIdType(modelClass));
         
+        return cached(modelClass, "id=" + typedId + "|expand=" + expand, () -> findOne(modelClass, typedId, expand));
+    }
+    
+    /**
+     * Reads one entity by its typed ID.
+     */
+    private Optional<Object> findOne(Class<?> modelClass, Object typedId, String expand) {
+        FetchPlan fetchPlan = getFetchPlan(modelClass, expand);
+        if (fetchPlan != null) {
+            Map<String, Object> hints = Map.of(FETCH_GRAPH_HINT, getEntityGraph(modelClass, fetchPlan));
+            Object entity = entityManager.find(modelClass, typedId, hints);
+            if (entity == null) {
+                return Optional.empty();
+            }
+            return Optional.of(loadRelationships(List.of(entity), fetchPlan).get(0));
+        }
+        
         Object entity = entityManager.find(modelClass, typedId);
         if (entity != null) {
             // For bidirectional relationships, we need to manually load collections
@@ -168,6 +330,184 @@ public class DynamicEntityService {
         return Optional.empty();
     }
     
+    /**
+     * Finds the entities of a model with the given IDs. The IDs are read with
+     * {@code WHERE id IN (...)} queries of at most 500 IDs each, and the
+     * relationships of all the entities are loaded together.
+     *
+     * @param modelPath The path segment for the model
+     * @param ids The entity IDs, converted to the type of the model's ID
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @return The entities in request order, with null and an entry in missing for each ID not found
+     */
+    @Transactional(readOnly = true)
+    public MultiGetResult findAllByIds(String modelPath, List<?> ids, String expand) {
+        Class<?> modelClass = getModelClass(modelPath);
+        Field idField = findIdField(modelClass);
+        if (idField == null) {
+            throw new IllegalArgumentException("Model " + modelClass.getSimpleName() + " has no @Id field");
+        }
+        FetchPlan fetchPlan = getFetchPlan(modelClass, expand);
+        
+        // Resolve the ID type once; repeated IDs are read once
+        Class<?> idType = idField.getType();
+        List<Object> typedIds = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("IDs cannot be null");
+            }
+            typedIds.add(convertToAppropriateType(id, idType));
+        }
+        List<Object> distinctIds = new ArrayList<>(new LinkedHashSet<>(typedIds));
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<Object> found = new ArrayList<>();
+        for (int start = 0; start < distinctIds.size(); start += ID_CHUNK_SIZE) {
+            List<Object> chunk = distinctIds.subList(start, Math.min(start + ID_CHUNK_SIZE, distinctIds.size()));
+            CriteriaQuery<Object> query = cb.createQuery((Class<Object>) modelClass);
+            Root<?> root = query.from(modelClass);
+            query.select(root).where(root.get(idField.getName()).in(chunk));
+            TypedQuery<Object> typedQuery = entityManager.createQuery(query);
+            applyFetchGraph(typedQuery, modelClass, fetchPlan);
+            found.addAll(typedQuery.getResultList());
+        }
+        
+        // Load relationships for all entities at once, keeping them by ID
+        List<Object> loaded = loadRelationships(found, fetchPlan);
+        Map<Object, Object> byId = new HashMap<>();
+        for (int i = 0; i < found.size(); i++) {
+            byId.put(getEntityId(found.get(i)), loaded.get(i));
+        }
+        
+        List<Object> results = new ArrayList<>(typedIds.size());
+        Set<Object> missing = new LinkedHashSet<>();
+        for (Object typedId : typedIds) {
+            Object entity = byId.get(typedId);
+            results.add(entity);
+            if (entity == null) {
+                missing.add(typedId);
+            }
+        }
+        return new MultiGetResult(results, new ArrayList<>(missing));
+    }
+    
+    /**
+     * Builds the entity tag of an entity's representation, read with a single
+     * scalar query that loads no relationship. Entities with a {@code @Version}
+     * field are tagged with their version, otherwise with the change counter of
+     * the model; either way, changes to reachable models are included unless the
+     * expand expression is empty. Meant for conditional requests, which are
+     * answered before the entity is loaded; other requests use
+     * {@link #findTaggedById}.
+     *
+     * @param modelPath The path segment for the model
+     * @param id The entity ID
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @return The entity tag, without quotes, or null if the entity does not exist
+     */
+    @Transactional(readOnly = true)
+    public String getEntityTag(String modelPath, Object id, String expand) {
+        Class<?> modelClass = getModelClass(modelPath);
+        Object typedId = convertToAppropriateType(id, getIdType(modelClass));
+        Field idField = findIdField(modelClass);
+        if (idField == null) {
+            return null;
+        }
+        Field versionField = findVersionField(modelClass);
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<?> root = query.from(modelClass);
+        query.select(root.get(versionField != null ? versionField.getName() : idField.getName()))
+             .where(cb.equal(root.get(idField.getName()), typedId));
+        List<Object> rows = entityManager.createQuery(query).getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        
+        return entityTagOf(modelClass, typedId, versionField != null ? rows.get(0) : null, expand,
+                           changeTracker.getVersion(modelClass), changeTracker.getRelatedVersion(modelClass));
+    }
+    
+    /**
+     * Finds an entity by ID together with the tag {@link #getEntityTag} would
+     * give it, without that method's query. The change counters are read before
+     * the entity, so the tag never describes a newer state than the entity, and
+     * the version of versioned models is read from the loaded entity.
+     *
+     * @param modelPath The path segment for the model
+     * @param id The entity ID
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @return The entity and its tag, or empty if the entity does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<TaggedEntity> findTaggedById(String modelPath, Object id, String expand) {
+        Class<?> modelClass = getModelClass(modelPath);
+        Object typedId = convertToAppropriateType(id, getIdType(modelClass));
+        long modelVersion = changeTracker.getVersion(modelClass);
+        long relatedVersion = changeTracker.getRelatedVersion(modelClass);
+        
+        Optional<Object> entity = findById(modelPath, id, expand);
+        if (entity.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        Field versionField = findVersionField(modelClass);
+        Object version = null;
+        if (versionField != null) {
+            // Already in the persistence context, unless the result came from the result cache
+            Object managed = entityManager.find(modelClass, typedId);
+            if (managed == null) {
+                return Optional.empty();
+            }
+            version = ModelDescriptor.of(modelClass).getAccessor(versionField.getName()).get(managed);
+        }
+        return Optional.of(new TaggedEntity(entity.get(),
+                                            entityTagOf(modelClass, typedId, version, expand, modelVersion, relatedVersion)));
+    }
+    
+    /**
+     * Builds the entity tag of an entity from its ID, its version (null if the
+     * model has no {@code @Version} field) and the change counters of its model.
+     */
+    private String entityTagOf(Class<?> modelClass, Object typedId, Object version, String expand,
+                               long modelVersion, long relatedVersion) {
+        boolean scalarsOnly = expand != null && expand.isBlank();
+        String epoch = Long.toString(changeTracker.getEpoch(), 36);
+        if (findVersionField(modelClass) == null) {
+            return epoch + "-" + modelVersion + "-" + typedId;
+        }
+        if (scalarsOnly) {
+            // The version alone describes the row, even across restarts
+            return typedId + "-v" + version;
+        }
+        return epoch + "-" + relatedVersion + "-" + typedId + "-v" + version;
+    }
+    
+    /**
+     * Builds the entity tag of a list of entities from the change counter of
+     * the model and the request signature, without reading the database.
+     *
+     * @param modelPath The path segment for the model
+     * @param signature The normalized request signature
+     * @return The entity tag, without quotes
+     */
+    public String getListTag(String modelPath, String signature) {
+        Class<?> modelClass = getModelClass(modelPath);
+        return Long.toString(changeTracker.getEpoch(), 36) + "-" + changeTracker.getVersion(modelClass) + "-" +
+               DigestUtils.md5DigestAsHex(signature.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Gets the time of the last change to a model or to the models it reaches.
+     *
+     * @param modelPath The path segment for the model
+     * @return The time in milliseconds, or the start of the application if there was none since
+     */
+    public long getLastModified(String modelPath) {
+        return changeTracker.getLastModified(getModelClass(modelPath));
+    }
+    
     /**
      * Loads collections that are mapped by the other side of a bidirectional relationship.
      * This is needed because JPA's lazy loading doesn't automatically populate these.
@@ -183,50 +523,31 @@ public class DynamicEntityService {
                 return;
             }
             
-            for (Field field : getAllFields(entityClass)) {
-                if (Collection.class.isAssignableFrom(field.getType())) {
-                    field.setAccessible(true);
+            for (RelationshipDescriptor relationship : ModelDescriptor.of(entityClass).getRelationships()) {
+                // Check if it's a @OneToMany with mappedBy attribute
+                if (relationship.getKind() != RelationshipDescriptor.Kind.ONE_TO_MANY || relationship.isOwningSide()) {
+                    continue;
+                }
+                
+                // Get the type of elements in the collection
+                Class<?> elementType = relationship.getTargetType();
+                if (elementType != null) {
+                    // Create a JPQL query to fetch the related entities
+                    String jpql = "SELECT e FROM " + elementType.getSimpleName() + 
+                           " e WHERE e." + relationship.getMappedBy() + ".id = :parentId";
+                    List<?> items = entityManager.createQuery(jpql)
+                                    .setParameter("parentId", entityId)
+                                    .getResultList();
                     
-                    // Check if it's a @OneToMany with mappedBy attribute
-                    if (field.isAnnotationPresent(jakarta.persistence.OneToMany.class)) {
-                        jakarta.persistence.OneToMany annotation = 
-                            field.getAnnotation(jakarta.persistence.OneToMany.class);
-                        
-                        String mappedByField = annotation.mappedBy();
-                        if (mappedByField != null && !mappedByField.isEmpty()) {
-                            // Get the type of elements in the collection
-                            Class<?> elementType = getCollectionElementType(field);
-                            if (elementType != null) {
-                                // Create a JPQL query to fetch the related entities
-                                String jpql = "SELECT e FROM " + elementType.getSimpleName() + 
-                                       " e WHERE e." + mappedByField + ".id = :parentId";
-                                List<?> items = entityManager.createQuery(jpql)
-                                                .setParameter("parentId", entityId)
-                                                .getResultList();
-                                
-                                // Replace or initialize the collection
-                                Collection<Object> collection = (Collection<Object>) field.get(entity);
-                                if (collection == null) {
-                                    // Create appropriate collection implementation
-                                    if (List.class.isAssignableFrom(field.getType())) {
-                                        collection = new ArrayList<>();
-                                    } else if (Set.class.isAssignableFrom(field.getType())) {
-                                        collection = new HashSet<>();
-                                    } else {
-                                        // Default to ArrayList for other collection types
-                                        collection = new ArrayList<>();
-                                    }
-                                    field.set(entity, collection);
-                                }
-                                
-                                // Clear and add all items
-                                collection.clear();
-                                for (Object item : items) {
-                                    collection.add(item);
-                                }
-                            }
-                        }
+                    // Replace or initialize the collection
+                    Collection<Object> collection = relationship.getOrCreateCollection(entity);
+                    if (collection == null) {
+                        continue;
                     }
+                    
+                    // Clear and add all items
+                    collection.clear();
+                    collection.addAll(items);
                 }
             }
         } catch (Exception e) {
@@ -234,40 +555,6 @@ public class DynamicEntityService {
         }
     }
     
-    /**
-     * Gets the element type of a collection field.
-     *
-     * @param field The collection field
-     * @return The element type class
-     */
-    private Class<?> getCollectionElementType(Field field) {
-        try {
-            if (field.getGenericType() instanceof java.lang.reflect.ParameterizedType) {
-                ParameterizedType paramType = (ParameterizedType) field.getGenericType();
-                Type[] typeArgs = paramType.getActualTypeArguments();
-                if (typeArgs.length > 0) {
-                    return (Class<?>) typeArgs[0];
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error getting collection element type: " + e.getMessage());
-        }
-        return null;
-    }
-    
-    /**
-     * Gets all fields from a class hierarchy.
-     */
-    private List<Field> getAllFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            fields.addAll(Arrays.asList(current.getDeclaredFields()));
-            current = current.getSuperclass();
-        }
-        return fields;
-    }
-    
     /**
      * Creates a new entity.
      *
@@ -311,10 +598,82 @@ public class DynamicEntityService {
         // Post-process entity
         entity = RelationshipUtil.loadRelationships(entity, entityManager, DEFAULT_RELATIONSHIP_DEPTH);
         eventPublisher.publishAfterCreate(modelClass, entity);
+        changeTracker.changedOnCompletion(modelClass);
         
         return entity;
     }
     
+    /**
+     * Creates a chunk of a bulk request in one transaction. Each item is
+     * converted, given its relationships and validated on its own; the valid
+     * ones are persisted and written with a single flush, which Hibernate sends
+     * in JDBC batches of {@code hibernate.jdbc.batch_size}. The persistence
+     * context is cleared afterwards, so memory does not grow with the request.
+     * The before and after create events are published once for the chunk.
+     *
+     * @param modelPath The path segment for the model
+     * @param items The entity data of the chunk
+     * @param offset The position of the first item of the chunk in the request
+     * @return The outcome of each item, in order
+     */
+    @Transactional
+    public List<BulkItemResult> createBatch(String modelPath, List<?> items, int offset) {
+        Class<?> modelClass = getModelClass(modelPath);
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        
+        // Convert each item, keeping the position of the valid ones
+        List<Object> entities = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Object requestData = items.get(i);
+            try {
+                Object entity = convertToEntityObject(requestData, modelClass);
+                entities.add(EntityRelationshipManager.processRelationshipIds(entity, requestData, entityManager));
+                positions.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BulkItemResult.invalid(offset + i, Map.of("error", e.getMessage()));
+            }
+        }
+        
+        // Pre-process entities
+        entities = eventPublisher.publishBeforeBulkCreate(modelClass, entities);
+        
+        // Validate if enabled, and persist the valid entities
+        boolean validate = validationEnabledMap.getOrDefault(modelClass, true);
+        List<Object> persisted = new ArrayList<>();
+        List<Integer> persistedPositions = new ArrayList<>();
+        for (int j = 0; j < entities.size(); j++) {
+            Object entity = entities.get(j);
+            int position = positions.get(j);
+            if (validate) {
+                Map<String, String> validationErrors = validationService.validate(entity);
+                if (!validationErrors.isEmpty()) {
+                    results[position] = BulkItemResult.invalid(offset + position, validationErrors);
+                    continue;
+                }
+            }
+            entityManager.persist(entity);
+            persisted.add(entity);
+            persistedPositions.add(position);
+        }
+        
+        // Write the whole chunk at once
+        entityManager.flush();
+        for (int j = 0; j < persisted.size(); j++) {
+            int position = persistedPositions.get(j);
+            results[position] = BulkItemResult.created(offset + position, getEntityId(persisted.get(j)));
+        }
+        
+        // Post-process entities
+        if (!persisted.isEmpty()) {
+            eventPublisher.publishAfterBulkCreate(modelClass, persisted);
+            changeTracker.changedOnCompletion(modelClass);
+        }
+        entityManager.clear();
+        
+        return Arrays.asList(results);
+    }
+    
     /**
      * Updates an existing entity.
      *
@@ -372,40 +731,387 @@ public class DynamicEntityService {
         // Post-process entity
         updatedEntity = RelationshipUtil.loadRelationships(updatedEntity, entityManager, DEFAULT_RELATIONSHIP_DEPTH);
         eventPublisher.publishAfterUpdate(modelClass, updatedEntity, typedId);
+        changeTracker.changedOnCompletion(modelClass);
         
         return updatedEntity;
     }
     
     /**
-     * Deletes an entity by its ID.
+     * Applies a JSON Merge Patch (RFC 7396) to an entity: only the properties
+     * present in the patch are set on the managed instance, and a null value
+     * clears a property. Relationships accept the same forms as on create
+     * (an object or a list of objects with an ID, {@code fieldId} and
+     * {@code fieldIds}). Only the patched properties are validated, and the
+     * flush writes only the columns that changed when the model is annotated
+     * with {@code @DynamicUpdate}.
      *
      * @param modelPath The path segment for the model
      * @param id The entity ID
+     * @param patch The properties to change
+     * @return The patched entity, or null if it does not exist
      */
     @Transactional
-    public void deleteById(String modelPath, Object id) {
+    public Object patch(String modelPath, Object id, Map<String, Object> patch) {
         Class<?> modelClass = getModelClass(modelPath);
+        Object typedId = TypeConverter.convertToAppropriateType(id, getIdType(modelClass));
+        Object entity = entityManager.find(modelClass, typedId);
+        if (entity == null) {
+            return null;
+        }
         
-        // Convert id to the appropriate type
-        Object typedId = convertToAppropriateType(id, getIdType(modelClass));
+        // Split the patch into field values and relationships, checking every name first
+        ManagedType<?> managedType = entityManager.getMetamodel().managedType(modelClass);
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, Object> relationships = new LinkedHashMap<>();
+        Map<String, Field> clearedRelationships = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> property : patch.entrySet()) {
+            String name = property.getKey();
+            Attribute<?, ?> attribute = findAttribute(managedType, name);
+            if (attribute == null || attribute.isAssociation()) {
+                String relationship = attribute != null ? name :
+                        name.endsWith("Ids") ? name.substring(0, name.length() - 3) :
+                        name.endsWith("Id") ? name.substring(0, name.length() - 2) : null;
+                Attribute<?, ?> relationshipAttribute = relationship == null ? null : findAttribute(managedType, relationship);
+                if (relationshipAttribute == null || !relationshipAttribute.isAssociation()) {
+                    throw new IllegalArgumentException("Unknown field '" + name + "' on " + modelClass.getSimpleName());
+                }
+                if (property.getValue() == null) {
+                    clearedRelationships.put(relationship, findField(modelClass, relationship));
+                } else {
+                    relationships.put(name, property.getValue());
+                }
+                continue;
+            }
+            
+            Object value = convertFieldValue(name, attribute.getJavaType(), property.getValue());
+            if (attribute instanceof SingularAttribute &&
+                (((SingularAttribute<?, ?>) attribute).isId() || ((SingularAttribute<?, ?>) attribute).isVersion())) {
+                // The ID and version can be repeated, but not changed
+                if (!Objects.equals(value, getFieldValue(findField(modelClass, name), entity))) {
+                    throw new IllegalArgumentException("Field '" + name + "' cannot be changed");
+                }
+                continue;
+            }
+            values.put(name, value);
+        }
         
-        // Find the entity
-        Object entity = entityManager.find(modelClass, typedId);
-        if (entity != null) {
-            entityManager.remove(entity);
+        // Validate the patched properties only, before touching the managed instance
+        if (validationEnabledMap.getOrDefault(modelClass, true)) {
+            Map<String, String> validationErrors = new HashMap<>();
+            for (Map.Entry<String, Object> value : values.entrySet()) {
+                validationErrors.putAll(validationService.validateValue(modelClass, value.getKey(), value.getValue()));
+            }
+            for (String relationship : clearedRelationships.keySet()) {
+                validationErrors.putAll(validationService.validateValue(modelClass, relationship, null));
+            }
+            if (!validationErrors.isEmpty()) {
+                throw new EntityValidationException("Validation failed for " + modelClass.getSimpleName(),
+                                                 validationErrors);
+            }
+        }
+        
+        // Apply the changes; dirty checking finds the columns to write
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            descriptor.getAccessor(value.getKey()).set(entity, value.getValue());
+        }
+        for (Field field : clearedRelationships.values()) {
+            PropertyAccessor accessor = descriptor.getAccessor(field.getName());
+            if (Collection.class.isAssignableFrom(field.getType())) {
+                Collection<?> collection = (Collection<?>) accessor.get(entity);
+                if (collection != null) {
+                    collection.clear();
+                }
+            } else {
+                accessor.set(entity, null);
+            }
+        }
+        EntityRelationshipManager.processRelationshipIds(entity, relationships, entityManager);
+        
+        // Pre-process entity; a listener may hand back a detached copy
+        Object patchedEntity = eventPublisher.publishBeforeUpdate(modelClass, entity, typedId);
+        if (patchedEntity != entity) {
+            patchedEntity = entityManager.merge(patchedEntity);
+        }
+        entityManager.flush();
+        
+        // Post-process entity
+        patchedEntity = RelationshipUtil.loadRelationships(patchedEntity, entityManager, DEFAULT_RELATIONSHIP_DEPTH);
+        eventPublisher.publishAfterUpdate(modelClass, patchedEntity, typedId);
+        changeTracker.changedOnCompletion(modelClass);
+        
+        return patchedEntity;
+    }
+    
+    /**
+     * Gets an attribute of a managed type, or null if there is none with that name.
+     */
+    private static Attribute<?, ?> findAttribute(ManagedType<?> managedType, String name) {
+        try {
+            return managedType.getAttribute(name);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
     
     /**
-     * Finds related entities for a specific relationship.
+     * Updates the entities matching a filter with a single {@code UPDATE}
+     * statement, without loading them. Each assigned value is converted to its
+     * field type and checked against the field's constraints; the version of
+     * versioned models is incremented. The per-entity events are not published,
+     * only an {@link com.onesteprest.onesteprest.events.AfterBulkUpdateEvent}.
      *
      * @param modelPath The path segment for the model
-     * @param id The entity ID
-     * @param relationship The relationship name
-     * @return Optional containing the related entity/entities
+     * @param filterSpec The filter selecting the entities, which must not be empty
+     * @param assignments The values to assign, by field name
+     * @return The number of updated entities
      */
-    @Transactional(readOnly = true)
-    public Optional<Object> findRelated(String modelPath, Object id, String relationship) {
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public int updateByFilter(String modelPath, FilterSpecification filterSpec, Map<String, Object> assignments) {
+        Class<?> modelClass = getModelClass(modelPath);
+        if (!bulkUpdateEnabledMap.getOrDefault(modelClass, false)) {
+            throw new IllegalArgumentException("Bulk update is not enabled for " + modelClass.getSimpleName());
+        }
+        if (filterSpec == null || !filterSpec.hasFilters()) {
+            throw new IllegalArgumentException("Bulk update requires a filter");
+        }
+        // A condition that would be skipped must not widen the updated rows
+        filterExecutor.getPlan(modelClass, filterSpec).requireAllConditions();
+        if (assignments == null || assignments.isEmpty()) {
+            throw new IllegalArgumentException("Bulk update requires at least one field to assign");
+        }
+        
+        Map<String, Object> values = convertAssignments(modelClass, assignments);
+        if (validationEnabledMap.getOrDefault(modelClass, true)) {
+            Map<String, String> validationErrors = new HashMap<>();
+            for (Map.Entry<String, Object> value : values.entrySet()) {
+                validationErrors.putAll(validationService.validateValue(modelClass, value.getKey(), value.getValue()));
+            }
+            if (!validationErrors.isEmpty()) {
+                throw new EntityValidationException("Validation failed for " + modelClass.getSimpleName(),
+                                                 validationErrors);
+            }
+        }
+        
+        Field idField = findIdField(modelClass);
+        if (idField == null) {
+            throw new IllegalArgumentException("Model " + modelClass.getSimpleName() + " has no @Id field");
+        }
+        
+        // Write pending changes first, since the statement bypasses the persistence context
+        entityManager.flush();
+        
+        // The search index needs the IDs of the rows whose searchable fields change
+        List<Object> ids = null;
+        for (String field : values.keySet()) {
+            if (searchIndex.get(modelClass, field) != null) {
+                ids = findIdsByFilter(modelClass, idField, filterSpec);
+                break;
+            }
+        }
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Object> update = cb.createCriteriaUpdate((Class<Object>) modelClass);
+        Root<Object> root = update.from((Class<Object>) modelClass);
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            update.set(value.getKey(), value.getValue());
+        }
+        Field versionField = findVersionField(modelClass);
+        if (versionField != null && Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(versionField.getType()))) {
+            Path<Number> version = root.get(versionField.getName());
+            update.set(version, cb.sum(version, 1));
+        }
+        
+        Predicate predicate = createStatementPredicate(modelClass, idField, root, update, filterSpec);
+        if (predicate == null) {
+            throw new IllegalArgumentException("Bulk update requires a filter");
+        }
+        update.where(predicate);
+        
+        Query query = entityManager.createQuery(update);
+        filterExecutor.bindParameters(query, modelClass, filterSpec);
+        int count = query.executeUpdate();
+        
+        // Managed entities no longer match their rows
+        entityManager.clear();
+        if (count > 0) {
+            eventPublisher.publishAfterBulkUpdate(modelClass, values, ids, count);
+            changeTracker.changedOnCompletion(modelClass);
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Deletes the entities matching a filter with set-based statements, without
+     * loading them. Models that nothing references and that cascade no removal
+     * are deleted with a single {@code DELETE}; otherwise the IDs are read first,
+     * and the join table rows and cascaded children are deleted before the
+     * entities. The per-entity events are not published, only an
+     * {@link com.onesteprest.onesteprest.events.AfterBulkDeleteEvent} per model.
+     *
+     * @param modelPath The path segment for the model
+     * @param filterSpec The filter selecting the entities, which must not be empty
+     * @return The number of deleted entities, without cascaded children
+     */
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public int deleteByFilter(String modelPath, FilterSpecification filterSpec) {
+        Class<?> modelClass = getModelClass(modelPath);
+        if (!bulkDeleteEnabledMap.getOrDefault(modelClass, false)) {
+            throw new IllegalArgumentException("Bulk delete is not enabled for " + modelClass.getSimpleName());
+        }
+        if (filterSpec == null || !filterSpec.hasFilters()) {
+            throw new IllegalArgumentException("Bulk delete requires a filter");
+        }
+        // A condition that would be skipped must not widen the deleted rows
+        filterExecutor.getPlan(modelClass, filterSpec).requireAllConditions();
+        Field idField = findIdField(modelClass);
+        if (idField == null) {
+            throw new IllegalArgumentException("Model " + modelClass.getSimpleName() + " has no @Id field");
+        }
+        
+        // Write pending changes first, since the statements bypass the persistence context
+        entityManager.flush();
+        
+        int count;
+        if (bulkDeleter.isStandalone(modelClass) && !searchIndex.isIndexed(modelClass)) {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaDelete<Object> delete = cb.createCriteriaDelete((Class<Object>) modelClass);
+            Root<Object> root = delete.from((Class<Object>) modelClass);
+            Predicate predicate = createStatementPredicate(modelClass, idField, root, delete, filterSpec);
+            if (predicate == null) {
+                throw new IllegalArgumentException("Bulk delete requires a filter");
+            }
+            delete.where(predicate);
+            
+            Query query = entityManager.createQuery(delete);
+            filterExecutor.bindParameters(query, modelClass, filterSpec);
+            count = query.executeUpdate();
+            if (count > 0) {
+                eventPublisher.publishAfterBulkDelete(modelClass, null);
+                changeTracker.changedOnCompletion(modelClass);
+            }
+        } else {
+            count = bulkDeleter.deleteByIds(modelClass, findIdsByFilter(modelClass, idField, filterSpec));
+        }
+        
+        // Managed entities may no longer exist
+        entityManager.clear();
+        return count;
+    }
+    
+    /**
+     * Creates the filter predicate of an {@code UPDATE} or {@code DELETE}
+     * statement. Statements admit no joins, so filters through relationships
+     * select the IDs in a subquery instead.
+     *
+     * @return The predicate, or null if no condition applies
+     */
+    private Predicate createStatementPredicate(Class<?> modelClass, Field idField, Root<Object> root,
+                                               CommonAbstractCriteria statement, FilterSpecification filterSpec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        if (!filterExecutor.getPlan(modelClass, filterSpec).requiresJoins()) {
+            return filterExecutor.createPredicate(root, statement, cb, filterSpec);
+        }
+        
+        Subquery<Object> subquery = statement.subquery(Object.class);
+        Root<?> candidate = subquery.from(modelClass);
+        Predicate condition = filterExecutor.createPredicate(candidate, subquery, cb, filterSpec);
+        if (condition == null) {
+            return null;
+        }
+        return root.get(idField.getName()).in(subquery.select(candidate.get(idField.getName())).where(condition));
+    }
+    
+    /**
+     * Converts the values of a bulk update to the types of their fields.
+     * Only basic fields can be assigned; IDs, versions and relationships cannot.
+     */
+    private Map<String, Object> convertAssignments(Class<?> modelClass, Map<String, Object> assignments) {
+        ManagedType<?> managedType = entityManager.getMetamodel().managedType(modelClass);
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> assignment : assignments.entrySet()) {
+            String field = assignment.getKey();
+            Attribute<?, ?> attribute;
+            try {
+                attribute = managedType.getAttribute(field);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown field '" + field + "' on " + modelClass.getSimpleName());
+            }
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC ||
+                ((SingularAttribute<?, ?>) attribute).isId() || ((SingularAttribute<?, ?>) attribute).isVersion()) {
+                throw new IllegalArgumentException("Field '" + field + "' cannot be assigned in a bulk update");
+            }
+            
+            values.put(field, convertFieldValue(field, attribute.getJavaType(), assignment.getValue()));
+        }
+        return values;
+    }
+    
+    /**
+     * Converts a request value to the type of a field.
+     *
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    private Object convertFieldValue(String field, Class<?> type, Object value) {
+        if (value == null && type.isPrimitive()) {
+            throw new IllegalArgumentException("Field '" + field + "' cannot be null");
+        }
+        try {
+            return objectMapper.convertValue(value, type);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for field '" + field + "'");
+        }
+    }
+    
+    /**
+     * Reads the IDs of the entities matching a filter.
+     */
+    private List<Object> findIdsByFilter(Class<?> modelClass, Field idField, FilterSpecification filterSpec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<?> root = query.from(modelClass);
+        query.select(root.get(idField.getName()));
+        filterExecutor.applyFilter(root, query, cb, filterSpec);
+        TypedQuery<Object> typedQuery = entityManager.createQuery(query);
+        filterExecutor.bindParameters(typedQuery, modelClass, filterSpec);
+        return typedQuery.getResultList();
+    }
+    
+    /**
+     * Deletes an entity by its ID.
+     *
+     * @param modelPath The path segment for the model
+     * @param id The entity ID
+     */
+    @Transactional
+    public void deleteById(String modelPath, Object id) {
+        Class<?> modelClass = getModelClass(modelPath);
+        
+        // Convert id to the appropriate type
+        Object typedId = convertToAppropriateType(id, getIdType(modelClass));
+        
+        // Find the entity
+        Object entity = entityManager.find(modelClass, typedId);
+        if (entity != null) {
+            entityManager.remove(entity);
+            eventPublisher.publishAfterDelete(modelClass, entity, typedId);
+            changeTracker.changedOnCompletion(modelClass);
+        }
+    }
+    
+    /**
+     * Finds related entities for a specific relationship.
+     *
+     * @param modelPath The path segment for the model
+     * @param id The entity ID
+     * @param relationship The relationship name
+     * @return Optional containing the related entity/entities
+     */
+    @Transactional(readOnly = true)
+    public Optional<Object> findRelated(String modelPath, Object id, String relationship) {
         Class<?> modelClass = getModelClass(modelPath);
         
         // Convert id to the appropriate type
@@ -423,9 +1129,9 @@ public class DynamicEntityService {
             if (field == null) {
                 return Optional.empty();
             }
+            PropertyAccessor accessor = ModelDescriptor.of(modelClass).getAccessor(relationship);
             
-            field.setAccessible(true);
-            Object relatedValue = field.get(entity);
+            Object relatedValue = accessor.get(entity);
             
             // Load relationships for the related entity/entities
             if (relatedValue != null) {
@@ -477,13 +1183,13 @@ public class DynamicEntityService {
             if (field == null) {
                 return Optional.empty();
             }
+            PropertyAccessor accessor = ModelDescriptor.of(modelClass).getAccessor(relationship);
             
-            field.setAccessible(true);
             
             // Handle based on field type
             if (Collection.class.isAssignableFrom(field.getType())) {
                 // Handle collection relationship
-                Collection<Object> collection = (Collection<Object>) field.get(entity);
+                Collection<Object> collection = (Collection<Object>) accessor.get(entity);
                 if (collection == null) {
                     // Create new collection if null
                     if (List.class.isAssignableFrom(field.getType())) {
@@ -491,7 +1197,7 @@ public class DynamicEntityService {
                     } else {
                         collection = new HashSet<>();
                     }
-                    field.set(entity, collection);
+                    accessor.set(entity, collection);
                 }
                 
                 // Convert related entity if needed
@@ -518,6 +1224,7 @@ public class DynamicEntityService {
                 // Update the entity
                 entityManager.merge(entity);
                 entityManager.flush();
+                changeTracker.changedOnCompletion(modelClass);
                 
                 return Optional.of(RelationshipUtil.loadRelationships(entity, entityManager, DEFAULT_RELATIONSHIP_DEPTH));
             } else {
@@ -541,11 +1248,12 @@ public class DynamicEntityService {
                 }
                 
                 // Set the related entity
-                field.set(entity, relatedObject);
+                accessor.set(entity, relatedObject);
                 
                 // Update the entity
                 entityManager.merge(entity);
                 entityManager.flush();
+                changeTracker.changedOnCompletion(modelClass);
                 
                 return Optional.of(RelationshipUtil.loadRelationships(entity, entityManager, DEFAULT_RELATIONSHIP_DEPTH));
             }
@@ -582,13 +1290,13 @@ public class DynamicEntityService {
             if (field == null) {
                 return false;
             }
+            PropertyAccessor accessor = ModelDescriptor.of(modelClass).getAccessor(relationship);
             
-            field.setAccessible(true);
             
             // Handle based on field type
             if (Collection.class.isAssignableFrom(field.getType())) {
                 // Handle collection relationship
-                Collection<Object> collection = (Collection<Object>) field.get(entity);
+                Collection<Object> collection = (Collection<Object>) accessor.get(entity);
                 if (collection == null || collection.isEmpty()) {
                     return false;
                 }
@@ -608,6 +1316,7 @@ public class DynamicEntityService {
                         // Update the entity
                         entityManager.merge(entity);
                         entityManager.flush();
+                        changeTracker.changedOnCompletion(modelClass);
                         return true;
                     }
                 }
@@ -615,7 +1324,7 @@ public class DynamicEntityService {
                 return false;
             } else {
                 // Handle single entity relationship
-                Object currentValue = field.get(entity);
+                Object currentValue = accessor.get(entity);
                 if (currentValue == null) {
                     return false;
                 }
@@ -625,11 +1334,12 @@ public class DynamicEntityService {
                 
                 if (currentId != null && currentId.equals(typedRelatedId)) {
                     // Set the field to null (remove the relationship)
-                    field.set(entity, null);
+                    accessor.set(entity, null);
                     
                     // Update the entity
                     entityManager.merge(entity);
                     entityManager.flush();
+                    changeTracker.changedOnCompletion(modelClass);
                     return true;
                 }
                 
@@ -640,6 +1350,79 @@ public class DynamicEntityService {
         }
     }
     
+    /**
+     * Compiles the expand expression of a request into a fetch plan.
+     *
+     * @param modelClass The model class
+     * @param expand The expand expression
+     * @return The fetch plan, or null when no expand was requested
+     */
+    private FetchPlan getFetchPlan(Class<?> modelClass, String expand) {
+        if (expand == null) {
+            return null;
+        }
+        return FetchPlan.compile(modelClass, expand, entityManager.getMetamodel(), config.getMaxExpandDepth(),
+                                 objectMapper);
+    }
+    
+    /**
+     * Gets the cached entity graph for a fetch plan.
+     * Only single-valued relationships are part of the graph, so the query can
+     * still be paginated in the database; collections are loaded afterwards
+     * in batches.
+     */
+    private EntityGraph<?> getEntityGraph(Class<?> modelClass, FetchPlan fetchPlan) {
+        String key = modelClass.getName() + "|" + fetchPlan.getExpression();
+        return entityGraphCache.computeIfAbsent(key, k -> {
+            EntityGraph<?> graph = entityManager.createEntityGraph(modelClass);
+            for (Map.Entry<String, FetchPlan> child : fetchPlan.getChildren().entrySet()) {
+                if (!child.getValue().isCollection()) {
+                    addSingularSubgraph(graph.addSubgraph(child.getKey()), child.getValue());
+                }
+            }
+            return graph;
+        });
+    }
+    
+    /**
+     * Adds the single-valued relationships of a plan node to a subgraph.
+     */
+    private void addSingularSubgraph(Subgraph<?> subgraph, FetchPlan fetchPlan) {
+        for (Map.Entry<String, FetchPlan> child : fetchPlan.getChildren().entrySet()) {
+            if (!child.getValue().isCollection()) {
+                addSingularSubgraph(subgraph.addSubgraph(child.getKey()), child.getValue());
+            }
+        }
+    }
+    
+    /**
+     * Applies the fetch graph of a plan to a query, if a plan was requested.
+     */
+    private void applyFetchGraph(TypedQuery<?> query, Class<?> modelClass, FetchPlan fetchPlan) {
+        if (fetchPlan != null) {
+            query.setHint(FETCH_GRAPH_HINT, getEntityGraph(modelClass, fetchPlan));
+        }
+    }
+    
+    /**
+     * Loads the relationships of a result list. Without a fetch plan every
+     * relationship is loaded up to the default depth; with a plan only the
+     * expanded relationships are loaded and the entities are bound to the plan
+     * so that only those relationships are serialized.
+     */
+    private List<Object> loadRelationships(List<?> resultList, FetchPlan fetchPlan) {
+        if (fetchPlan == null) {
+            return BatchRelationshipLoader.loadRelationships(resultList, entityManager, DEFAULT_RELATIONSHIP_DEPTH);
+        }
+        
+        List<Object> loaded = BatchRelationshipLoader.loadRelationships(resultList, entityManager, fetchPlan);
+        List<Object> bound = new ArrayList<>(loaded.size());
+        for (Object entity : loaded) {
+            bound.add(fetchPlan.bind(entity));
+        }
+        return bound;
+    }
+    
     /**
      * Gets the class for a given model path.
      *
@@ -647,7 +1430,7 @@ public class DynamicEntityService {
      * @return The class
      * @throws IllegalArgumentException if model not found
      */
-    private Class<?> getModelClass(String modelPath) {
+    public Class<?> getModelClass(String modelPath) {
         Class<?> modelClass = modelMap.get(modelPath);
         if (modelClass == null) {
             throw new IllegalArgumentException("Model not found for path: " + modelPath);
@@ -700,79 +1483,42 @@ public class DynamicEntityService {
      * Finds a field in a class by name.
      */
     private Field findField(Class<?> clazz, String fieldName) {
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            try {
-                return current.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException e) {
-                current = current.getSuperclass();
-            }
-        }
-        return null;
+        return ModelDescriptor.of(clazz).getField(fieldName);
     }
     
     /**
      * Gets the ID field type for a class.
      */
     private Class<?> getIdType(Class<?> clazz) {
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            for (Field field : current.getDeclaredFields()) {
-                if (field.isAnnotationPresent(jakarta.persistence.Id.class)) {
-                    return field.getType();
-                }
-            }
-            current = current.getSuperclass();
-        }
-        return Long.class; // Default to Long if not found
+        return ModelDescriptor.of(clazz).getIdType(); // Defaults to Long if not found
     }
     
     /**
      * Sets the ID field value for an entity.
      */
     private void setEntityId(Object entity, Object idValue) {
-        try {
-            Class<?> entityClass = entity.getClass();
-            Field idField = findIdField(entityClass);
-            if (idField != null) {
-                idField.setAccessible(true);
-                idField.set(entity, idValue);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to set entity ID: " + e.getMessage(), e);
-        }
+        ModelDescriptor.of(entity.getClass()).setId(entity, idValue);
     }
     
     /**
      * Finds the ID field for a class.
      */
     private Field findIdField(Class<?> clazz) {
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            for (Field field : current.getDeclaredFields()) {
-                if (field.isAnnotationPresent(jakarta.persistence.Id.class)) {
-                    return field;
-                }
-            }
-            current = current.getSuperclass();
-        }
-        return null;
+        return ModelDescriptor.of(clazz).getIdField();
+    }
+    
+    /**
+     * Finds the field annotated with {@code @Version}, or null if the model has none.
+     */
+    private Field findVersionField(Class<?> clazz) {
+        return ModelDescriptor.of(clazz).getVersionField();
     }
     
     /**
      * Gets the ID value from an entity.
      */
     private Object getEntityId(Object entity) {
-        try {
-            Field idField = findIdField(entity.getClass());
-            if (idField != null) {
-                idField.setAccessible(true);
-                return idField.get(entity);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to get entity ID: " + e.getMessage(), e);
-        }
-        return null;
+        return ModelDescriptor.of(entity.getClass()).getId(entity);
     }
     
     /**
@@ -783,10 +1529,106 @@ public class DynamicEntityService {
      * @param pageable Pagination information
      * @return Page of entities matching the filter criteria
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     @Transactional(readOnly = true)
     public Page<Object> findAllWithFilter(String modelPath, FilterSpecification filterSpec, Pageable pageable) {
+        return findAllWithFilter(modelPath, filterSpec, pageable, null);
+    }
+    
+    /**
+     * Finds all entities of a given model type with filtering and pagination,
+     * loading only the relationships listed in the expand expression.
+     *
+     * @param modelPath The path segment for the model
+     * @param filterSpec The filter specification to apply
+     * @param pageable Pagination information
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @return Page of entities matching the filter criteria
+     */
+    @Transactional(readOnly = true)
+    public Page<Object> findAllWithFilter(String modelPath, FilterSpecification filterSpec, Pageable pageable, String expand) {
+        return (Page<Object>) findAllWithFilter(modelPath, filterSpec, pageable, expand, CountStrategy.EXACT);
+    }
+    
+    /**
+     * Finds all entities of a given model type with filtering and pagination,
+     * obtaining the total count with the given strategy.
+     *
+     * @param modelPath The path segment for the model
+     * @param filterSpec The filter specification to apply
+     * @param pageable Pagination information
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @param count The count strategy, or null for the model default
+     * @return Page of entities matching the filter criteria, or a slice without totals for {@link CountStrategy#NONE}
+     */
+    @Transactional(readOnly = true)
+    public Slice<Object> findAllWithFilter(String modelPath, FilterSpecification filterSpec, Pageable pageable,
+                                           String expand, CountStrategy count) {
         Class<?> modelClass = getModelClass(modelPath);
+        return cached(modelClass, signatureOf("filter", filterSpec, pageable, expand, count),
+                () -> findSlice(modelClass, filterSpec, pageable, expand, count));
+    }
+    
+    /**
+     * Builds the result cache signature of a page query. Filters are normalized
+     * like count cache keys, so the same filters in a different order share results.
+     */
+    private static String signatureOf(String operation, FilterSpecification filterSpec, Pageable pageable,
+                                      String expand, CountStrategy count) {
+        return operation + "|page=" + pageable.getPageNumber() + "|size=" + pageable.getPageSize() +
+               "|sort=" + pageable.getSort() + "|count=" + count + "|expand=" + expand +
+               "|filter=" + CountCache.keyOf(filterSpec);
+    }
+    
+    /**
+     * Reads through the result cache when the model opted in with {@link RestModel#cache()}.
+     * Entities are converted into JSON snapshots inside the read transaction, so
+     * cached results never touch lazy relationships or a closed persistence context.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cached(Class<?> modelClass, String signature, Supplier<T> loader) {
+        if (!resultCacheEnabledMap.getOrDefault(modelClass, false)) {
+            return loader.get();
+        }
+        return resultCache.get(modelClass, signature, () -> (T) snapshot(loader.get()));
+    }
+    
+    /**
+     * Converts the entities of a read result into JSON trees, keeping the shape of the result.
+     */
+    private Object snapshot(Object result) {
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).map(objectMapper::valueToTree);
+        }
+        if (result instanceof List) {
+            return toTrees((List<?>) result);
+        }
+        if (result instanceof Page) {
+            Page<?> page = (Page<?>) result;
+            return new PageImpl<>(toTrees(page.getContent()), page.getPageable(), page.getTotalElements());
+        }
+        if (result instanceof Slice) {
+            Slice<?> slice = (Slice<?>) result;
+            return new SlicePage(toTrees(slice.getContent()), slice.getPageable(), slice.hasNext());
+        }
+        return objectMapper.valueToTree(result);
+    }
+    
+    private List<Object> toTrees(List<?> entities) {
+        List<Object> trees = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            trees.add(objectMapper.valueToTree(entity));
+        }
+        return trees;
+    }
+    
+    /**
+     * Reads one page of entities, with optional filtering, and pairs it with
+     * the total count obtained through the count strategy.
+     */
+    private Slice<Object> findSlice(Class<?> modelClass, FilterSpecification filterSpec, Pageable pageable,
+                                    String expand, CountStrategy count) {
+        FetchPlan fetchPlan = getFetchPlan(modelClass, expand);
+        CountStrategy strategy = count != null ? count : countStrategyMap.getOrDefault(modelClass, CountStrategy.EXACT);
         
         // Create criteria builder and query
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
@@ -801,19 +1643,59 @@ public class DynamicEntityService {
         
         // Apply sorting if specified
         if (pageable.getSort().isSorted()) {
-            // Apply sorting logic
-            List<jakarta.persistence.criteria.Order> orders = new ArrayList<>();
-            pageable.getSort().forEach(order -> {
-                if (order.isAscending()) {
-                    orders.add(cb.asc(root.get(order.getProperty())));
-                } else {
-                    orders.add(cb.desc(root.get(order.getProperty())));
-                }
-            });
-            query.orderBy(orders);
+            query.orderBy(toOrders(pageable.getSort(), root, cb));
+        }
+        
+        // Without a count, one extra row tells whether there is a next page
+        int maxResults = strategy == CountStrategy.NONE ? pageable.getPageSize() + 1 : pageable.getPageSize();
+        TypedQuery<?> typedQuery = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(maxResults);
+        filterExecutor.bindParameters(typedQuery, modelClass, filterSpec);
+        applyFetchGraph(typedQuery, modelClass, fetchPlan);
+        applyQueryCache(typedQuery, modelClass);
+        
+        List<?> resultList = typedQuery.getResultList();
+        
+        if (strategy == CountStrategy.NONE) {
+            boolean hasNext = resultList.size() > pageable.getPageSize();
+            List<?> pageResults = hasNext ? resultList.subList(0, pageable.getPageSize()) : resultList;
+            return new SlicePage(loadRelationships(pageResults, fetchPlan), pageable, hasNext);
+        }
+        
+        // Load relationships for the whole page at once
+        List<Object> enrichedResults = loadRelationships(resultList, fetchPlan);
+        
+        return new PageImpl<>(enrichedResults, pageable, countRows(modelClass, filterSpec, strategy));
+    }
+    
+    /**
+     * Gets the total number of rows of a model, with optional filtering,
+     * using the given count strategy.
+     */
+    private long countRows(Class<?> modelClass, FilterSpecification filterSpec, CountStrategy strategy) {
+        boolean filtered = filterSpec != null && filterSpec.hasFilters();
+        
+        if (strategy == CountStrategy.ESTIMATED && !filtered) {
+            // Database statistics only describe whole tables
+            Long estimate = rowCountEstimator.estimate(modelClass);
+            if (estimate != null) {
+                return estimate;
+            }
+        }
+        
+        if (strategy == CountStrategy.CACHED) {
+            return countCache.get(modelClass, CountCache.keyOf(filterSpec), () -> countExact(modelClass, filterSpec));
         }
         
-        // Create count query for pagination
+        return countExact(modelClass, filterSpec);
+    }
+    
+    /**
+     * Counts the rows of a model matching a filter with a COUNT query.
+     */
+    private long countExact(Class<?> modelClass, FilterSpecification filterSpec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
         Root<?> countRoot = countQuery.from(modelClass);
         countQuery.select(cb.count(countRoot));
@@ -823,22 +1705,381 @@ public class DynamicEntityService {
             countQuery = filterExecutor.applyFilter(countRoot, countQuery, cb, filterSpec);
         }
         
-        // Get total count
-        Long count = entityManager.createQuery(countQuery).getSingleResult();
+        TypedQuery<Long> typedCountQuery = entityManager.createQuery(countQuery);
+        filterExecutor.bindParameters(typedCountQuery, modelClass, filterSpec);
+        applyQueryCache(typedCountQuery, modelClass);
+        return typedCountQuery.getSingleResult();
+    }
+    
+    /**
+     * Marks a query as cacheable when its model has a second-level cache region.
+     * The query cache keeps the IDs of the results, which are then read from
+     * the entity region, and is invalidated whenever the model's table changes.
+     */
+    private void applyQueryCache(TypedQuery<?> query, Class<?> modelClass) {
+        if (queryCacheEnabledMap.getOrDefault(modelClass, false)) {
+            query.setHint(CACHEABLE_HINT, true);
+        }
+    }
+    
+    /**
+     * Finds the requested fields of all entities of a given model type with
+     * filtering and pagination. The fields are selected with a tuple query, so
+     * no entity is hydrated and no relationship is loaded.
+     *
+     * @param modelPath The path segment for the model
+     * @param fields The fields expression (comma separated, dotted for single-valued relationships)
+     * @param filterSpec The filter specification to apply, or null
+     * @param pageable Pagination information, or {@link Pageable#unpaged(Sort)} for all rows
+     * @return Page of maps containing only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public Page<Object> findAllProjected(String modelPath, String fields, FilterSpecification filterSpec, Pageable pageable) {
+        Class<?> modelClass = getModelClass(modelPath);
+        FieldProjection projection = FieldProjection.compile(modelClass, fields, entityManager.getMetamodel(), objectMapper);
+        boolean filtered = filterSpec != null && filterSpec.hasFilters();
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(modelClass);
+        query.multiselect(projection.select(root));
         
-        // Execute the main query with pagination
-        TypedQuery<?> typedQuery = entityManager.createQuery(query)
-                .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize());
+        if (filtered) {
+            query = filterExecutor.applyFilter(root, query, cb, filterSpec);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(toOrders(pageable.getSort(), root, cb));
+        }
+        
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        filterExecutor.bindParameters(typedQuery, modelClass, filterSpec);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        
+        List<Object> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            rows.add(projection.toMap(tuple));
+        }
+        
+        if (!pageable.isPaged()) {
+            return new PageImpl<>(rows);
+        }
+        
+        return new PageImpl<>(rows, pageable, countExact(modelClass, filterSpec));
+    }
+    
+    /**
+     * Aggregates the entities of a given model type with optional filtering.
+     * Grouping, metrics and having conditions run as a single tuple query, so
+     * only one row per group is read and no entity is hydrated.
+     *
+     * @param modelPath The path segment for the model
+     * @param groupBy The group columns (comma separated, dotted for single-valued relationships), or null
+     * @param metrics The metrics (for example {@code count,avg:precio}), or null for {@code count}
+     * @param having The having conditions (for example {@code count_gt_2}), or null
+     * @param filterSpec The filter specification to apply, or null
+     * @return The column names and one row per group
+     */
+    @Transactional(readOnly = true)
+    public AggregateResult aggregate(String modelPath, String groupBy, String metrics, String having,
+                                     FilterSpecification filterSpec) {
+        Class<?> modelClass = getModelClass(modelPath);
+        Aggregation aggregation = Aggregation.compile(modelClass, groupBy, metrics, having, entityManager.getMetamodel(),
+                                                      objectMapper);
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(modelClass);
+        aggregation.apply(query, root, cb);
+        
+        if (filterSpec != null && filterSpec.hasFilters()) {
+            query = filterExecutor.applyFilter(root, query, cb, filterSpec);
+        }
+        
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        filterExecutor.bindParameters(typedQuery, modelClass, filterSpec);
+        
+        List<List<Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            rows.add(aggregation.toRow(tuple));
+        }
+        return new AggregateResult(aggregation.getColumns(), rows);
+    }
+    
+    /**
+     * Computes facet counts and histograms of a given model type with optional
+     * filtering. All the grouped queries run in the same read-only transaction,
+     * so the counts are consistent with each other and with the total.
+     *
+     * @param modelPath The path segment for the model
+     * @param facets The facet fields (comma separated, dotted for relationships), or null
+     * @param histogram The histogram fields and intervals (for example {@code precio:100}), or null
+     * @param size Maximum number of values per facet
+     * @param filterSpec The filter specification to apply, or null
+     * @return The total, the value counts of each facet and the buckets of each histogram
+     */
+    @Transactional(readOnly = true)
+    public FacetResult facets(String modelPath, String facets, String histogram, int size,
+                              FilterSpecification filterSpec) {
+        Class<?> modelClass = getModelClass(modelPath);
+        Facets compiled = Facets.compile(modelClass, facets, histogram, entityManager.getMetamodel(), objectMapper);
+        if (size <= 0) {
+            throw new IllegalArgumentException("Facet size must be positive");
+        }
+        
+        FacetResult result = new FacetResult(countExact(modelClass, filterSpec));
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        
+        for (Facets.Facet facet : compiled.getFacets()) {
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<?> root = query.from(modelClass);
+            facet.apply(query, root, cb, filterExecutor.createPredicate(root, query, cb, filterSpec));
+            
+            TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+            filterExecutor.bindParameters(typedQuery, modelClass, filterSpec);
+            typedQuery.setMaxResults(size);
+            result.getFacets().put(facet.getName(), facet.toValues(typedQuery.getResultList()));
+        }
+        
+        for (Facets.Histogram histogramField : compiled.getHistograms()) {
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<?> root = query.from(modelClass);
+            histogramField.apply(query, root, cb, filterExecutor.createPredicate(root, query, cb, filterSpec));
+            
+            TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+            filterExecutor.bindParameters(typedQuery, modelClass, filterSpec);
+            result.getHistograms().put(histogramField.getName(), histogramField.toValues(typedQuery.getResultList()));
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Streams all entities of a given model type, with optional filtering and
+     * sorting, without loading the whole result into memory.
+     *
+     * Rows are read through a database cursor and handed to the consumer in
+     * chunks of {@value #STREAM_CHUNK_SIZE}; the relationships of each chunk
+     * are loaded in batch and the persistence context is cleared after every
+     * chunk, so memory use does not depend on the size of the table.
+     *
+     * @param modelPath The path segment for the model
+     * @param filterSpec The filter specification to apply, or null
+     * @param sort The sort to apply
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @param consumer Receives each chunk of loaded entities, in order
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(String modelPath, FilterSpecification filterSpec, Sort sort, String expand,
+                          Consumer<List<Object>> consumer) {
+        Class<?> modelClass = getModelClass(modelPath);
+        FetchPlan fetchPlan = getFetchPlan(modelClass, expand);
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery((Class<Object>) modelClass);
+        Root<?> root = query.from(modelClass);
+        query.select(root);
+        
+        if (filterSpec != null && filterSpec.hasFilters()) {
+            query = filterExecutor.applyFilter(root, query, cb, filterSpec);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(toOrders(sort, root, cb));
+        }
+        
+        TypedQuery<Object> typedQuery = entityManager.createQuery(query);
+        filterExecutor.bindParameters(typedQuery, modelClass, filterSpec);
+        typedQuery.setHint(FETCH_SIZE_HINT, STREAM_CHUNK_SIZE);
+        applyFetchGraph(typedQuery, modelClass, fetchPlan);
+        
+        try (Stream<Object> stream = typedQuery.getResultStream()) {
+            List<Object> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            Iterator<Object> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    consumer.accept(loadRelationships(chunk, fetchPlan));
+                    chunk.clear();
+                    // Detach what was already written so the context does not grow
+                    entityManager.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                consumer.accept(loadRelationships(chunk, fetchPlan));
+                entityManager.clear();
+            }
+        }
+    }
+    
+    /**
+     * Finds entities of a given model type with keyset (seek) pagination.
+     * Instead of skipping rows with an offset, the query continues right after
+     * the row described by the cursor, so every page costs the same whatever its
+     * position. No count query is executed.
+     *
+     * @param modelPath The path segment for the model
+     * @param filterSpec The filter specification to apply, or null
+     * @param sort The sort to read with (at most one property, the id by default)
+     * @param size The page size
+     * @param cursor The cursor returned with the previous page, or empty for the first page
+     * @param expand The relationships to expand, or null for the default relationship depth
+     * @return The page of entities with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage findAllByCursor(String modelPath, FilterSpecification filterSpec, Sort sort, int size,
+                                      String cursor, String expand) {
+        Class<?> modelClass = getModelClass(modelPath);
+        FetchPlan fetchPlan = getFetchPlan(modelClass, expand);
+        
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        
+        Field idField = findIdField(modelClass);
+        if (idField == null) {
+            throw new IllegalArgumentException("Keyset pagination requires an id on " + modelClass.getSimpleName());
+        }
         
+        // Resolve the sort key; the id always breaks ties
+        List<Sort.Order> sortOrders = sort.toList();
+        if (sortOrders.size() > 1) {
+            throw new IllegalArgumentException("Keyset pagination supports a single sort property");
+        }
+        Sort.Order sortOrder = sortOrders.isEmpty() ? Sort.Order.asc(idField.getName()) : sortOrders.get(0);
+        String sortProperty = sortOrder.getProperty();
+        boolean descending = sortOrder.isDescending();
+        Field sortField = findField(modelClass, sortProperty);
+        if (sortField == null) {
+            throw new IllegalArgumentException("Unknown sort field '" + sortProperty + "' on " + modelClass.getSimpleName());
+        }
+        if (isNullableSortKey(modelClass, sortField)) {
+            throw new IllegalArgumentException("Keyset pagination requires a non-nullable sort field, '" + sortProperty +
+                                               "' on " + modelClass.getSimpleName() + " is optional");
+        }
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery((Class<Object>) modelClass);
+        Root<?> root = query.from(modelClass);
+        query.select(root);
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (filterSpec != null && filterSpec.hasFilters()) {
+            Predicate filterPredicate = filterExecutor.createPredicate(root, query, cb, filterSpec);
+            if (filterPredicate != null) {
+                predicates.add(filterPredicate);
+            }
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            KeysetCursor position = KeysetCursor.decode(cursor, objectMapper);
+            if (!position.getSortProperty().equals(sortProperty) || position.isDescending() != descending) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            Object sortValue = convertToAppropriateType(position.getSortValue(), sortField.getType());
+            Object idValue = convertToAppropriateType(position.getId(), idField.getType());
+            predicates.add(seekPredicate(cb, root, sortProperty, sortValue, idField.getName(), idValue, descending));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        
+        Sort seekSort = Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, sortProperty);
+        if (!sortProperty.equals(idField.getName())) {
+            seekSort = seekSort.and(Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, idField.getName()));
+        }
+        query.orderBy(toOrders(seekSort, root, cb));
+        
+        // Read one extra row to know whether there is a next page
+        TypedQuery<?> typedQuery = entityManager.createQuery(query).setMaxResults(size + 1);
+        filterExecutor.bindParameters(typedQuery, modelClass, filterSpec);
+        applyFetchGraph(typedQuery, modelClass, fetchPlan);
         List<?> resultList = typedQuery.getResultList();
         
-        // Load relationships for each entity
-        List<Object> enrichedResults = new ArrayList<>();
-        for (Object entity : resultList) {
-            enrichedResults.add(RelationshipUtil.loadRelationships(entity, entityManager, DEFAULT_RELATIONSHIP_DEPTH));
+        boolean hasNext = resultList.size() > size;
+        List<Object> pageResults = new ArrayList<>(hasNext ? resultList.subList(0, size) : resultList);
+        
+        String nextCursor = null;
+        if (hasNext) {
+            Object last = pageResults.get(pageResults.size() - 1);
+            Object lastSortValue = getFieldValue(sortField, last);
+            if (lastSortValue == null) {
+                throw new IllegalArgumentException("Keyset pagination requires non-null values for sort field '" + sortProperty + "'");
+            }
+            nextCursor = new KeysetCursor(sortProperty, descending, lastSortValue, getEntityId(last)).encode(objectMapper);
+        }
+        
+        // Load relationships for the whole page at once
+        List<Object> enrichedResults = loadRelationships(pageResults, fetchPlan);
+        
+        return new CursorPage(enrichedResults, size, nextCursor);
+    }
+    
+    /**
+     * Whether a sort property may hold NULL. The seek predicate compares with
+     * {@code =}, {@code <} and {@code >}, which never match NULL, so rows with
+     * a NULL key would be skipped; such properties are rejected before reading.
+     * A property is non-nullable when it is primitive, {@code @NotNull} or not
+     * optional in the JPA mapping.
+     */
+    private boolean isNullableSortKey(Class<?> modelClass, Field sortField) {
+        if (sortField.getType().isPrimitive() || sortField.isAnnotationPresent(NotNull.class)) {
+            return false;
+        }
+        Attribute<?, ?> attribute;
+        try {
+            attribute = entityManager.getMetamodel().managedType(modelClass).getAttribute(sortField.getName());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("'" + sortField.getName() + "' on " + modelClass.getSimpleName() +
+                                               " is not a persistent field");
+        }
+        return !(attribute instanceof SingularAttribute) || ((SingularAttribute<?, ?>) attribute).isOptional();
+    }
+    
+    /**
+     * Builds the predicate that selects the rows after a keyset position:
+     * {@code sortKey > value OR (sortKey = value AND id > idValue)}, reversed
+     * for descending order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<?> root, String sortProperty, Object sortValue,
+                                    String idProperty, Object idValue, boolean descending) {
+        Expression<Comparable> idPath = root.get(idProperty);
+        Predicate afterId = descending
+                ? cb.lessThan(idPath, (Comparable) idValue)
+                : cb.greaterThan(idPath, (Comparable) idValue);
+        if (sortProperty.equals(idProperty)) {
+            return afterId;
         }
         
-        return new PageImpl<>(enrichedResults, pageable, count);
+        Expression<Comparable> sortPath = root.get(sortProperty);
+        Predicate afterKey = descending
+                ? cb.lessThan(sortPath, (Comparable) sortValue)
+                : cb.greaterThan(sortPath, (Comparable) sortValue);
+        return cb.or(afterKey, cb.and(cb.equal(sortPath, sortValue), afterId));
+    }
+    
+    /**
+     * Reads a field value from an entity.
+     */
+    private Object getFieldValue(Field field, Object entity) {
+        try {
+            return ModelDescriptor.of(field.getDeclaringClass()).getAccessor(field.getName()).get(entity);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read field " + field.getName() + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Converts a sort specification into criteria orders on a query root.
+     */
+    private List<Order> toOrders(Sort sort, Root<?> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        sort.forEach(order -> {
+            if (order.isAscending()) {
+                orders.add(cb.asc(root.get(order.getProperty())));
+            } else {
+                orders.add(cb.desc(root.get(order.getProperty())));
+            }
+        });
+        return orders;
     }
 }
\ No newline at end of file
@@ -5,6 +5,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Service for publishing entity lifecycle events.
  */
@@ -38,6 +41,43 @@ public class EventPublisher {
             new AfterCreateEventImpl(modelClass, entity));
     }
     
+    /**
+     * Publishes a before-create event for a batch of entities.
+     * 
+     * @param modelClass The model class
+     * @param entities The entities being created
+     * @return The potentially modified entities, one per position
+     */
+    public List<Object> publishBeforeBulkCreate(Class<?> modelClass, List<Object> entities) {
+        BeforeBulkCreateEventImpl event = new BeforeBulkCreateEventImpl(modelClass, entities);
+        applicationEventPublisher.publishEvent(event);
+        return event.getEntities();
+    }
+    
+    /**
+     * Publishes an after-create event for a batch of entities.
+     * 
+     * @param modelClass The model class
+     * @param entities The created entities
+     */
+    public void publishAfterBulkCreate(Class<?> modelClass, List<Object> entities) {
+        applicationEventPublisher.publishEvent(
+            new AfterBulkCreateEventImpl(modelClass, entities));
+    }
+    
+    /**
+     * Publishes an after-update event for a set-based update.
+     * 
+     * @param modelClass The model class
+     * @param assignments The values assigned to each field
+     * @param ids The IDs of the updated entities, or null if they were not read
+     * @param count The number of updated entities
+     */
+    public void publishAfterBulkUpdate(Class<?> modelClass, Map<String, Object> assignments, List<Object> ids, int count) {
+        applicationEventPublisher.publishEvent(
+            new AfterBulkUpdateEventImpl(modelClass, assignments, ids, count));
+    }
+    
     /**
      * Publishes a before-update event.
      * 
@@ -64,6 +104,29 @@ public class EventPublisher {
             new AfterUpdateEventImpl(modelClass, entity, id));
     }
     
+    /**
+     * Publishes an after-delete event.
+     * 
+     * @param modelClass The model class
+     * @param entity The deleted entity
+     * @param id The entity ID
+     */
+    public void publishAfterDelete(Class<?> modelClass, Object entity, Object id) {
+        applicationEventPublisher.publishEvent(
+            new AfterDeleteEventImpl(modelClass, entity, id));
+    }
+    
+    /**
+     * Publishes an after-delete event for a set-based delete.
+     * 
+     * @param modelClass The model class
+     * @param ids The IDs of the deleted entities, or null if they were not read
+     */
+    public void publishAfterBulkDelete(Class<?> modelClass, List<Object> ids) {
+        applicationEventPublisher.publishEvent(
+            new AfterBulkDeleteEventImpl(modelClass, ids));
+    }
+    
     // Internal implementations of the event interfaces
     
     public static class BeforeCreateEventImpl implements BeforeCreateEvent {
@@ -169,4 +232,125 @@ public class EventPublisher {
             return id;
         }
     }
-}
\ No newline at end of file
+    
+    public static class AfterDeleteEventImpl implements AfterDeleteEvent {
+        private final Class<?> modelClass;
+        private final Object entity;
+        private final Object id;
+        
+        public AfterDeleteEventImpl(Class<?> modelClass, Object entity, Object id) {
+            this.modelClass = modelClass;
+            this.entity = entity;
+            this.id = id;
+        }
+        
+        @Override
+        public Class<?> getModelClass() {
+            return modelClass;
+        }
+        
+        @Override
+        public Object getEntity() {
+            return entity;
+        }
+        
+        @Override
+        public Object getId() {
+            return id;
+        }
+    }
+    
+    public static class BeforeBulkCreateEventImpl implements BeforeBulkCreateEvent {
+        private final Class<?> modelClass;
+        private final List<Object> entities;
+        
+        public BeforeBulkCreateEventImpl(Class<?> modelClass, List<Object> entities) {
+            this.modelClass = modelClass;
+            this.entities = entities;
+        }
+        
+        @Override
+        public Class<?> getModelClass() {
+            return modelClass;
+        }
+        
+        @Override
+        public List<Object> getEntities() {
+            return entities;
+        }
+    }
+    
+    public static class AfterBulkCreateEventImpl implements AfterBulkCreateEvent {
+        private final Class<?> modelClass;
+        private final List<Object> entities;
+        
+        public AfterBulkCreateEventImpl(Class<?> modelClass, List<Object> entities) {
+            this.modelClass = modelClass;
+            this.entities = entities;
+        }
+        
+        @Override
+        public Class<?> getModelClass() {
+            return modelClass;
+        }
+        
+        @Override
+        public List<Object> getEntities() {
+            return entities;
+        }
+    }
+    
+    public static class AfterBulkUpdateEventImpl implements AfterBulkUpdateEvent {
+        private final Class<?> modelClass;
+        private final Map<String, Object> assignments;
+        private final List<Object> ids;
+        private final int count;
+        
+        public AfterBulkUpdateEventImpl(Class<?> modelClass, Map<String, Object> assignments, List<Object> ids, int count) {
+            this.modelClass = modelClass;
+            this.assignments = assignments;
+            this.ids = ids;
+            this.count = count;
+        }
+        
+        @Override
+        public Class<?> getModelClass() {
+            return modelClass;
+        }
+        
+        @Override
+        public Map<String, Object> getAssignments() {
+            return assignments;
+        }
+        
+        @Override
+        public List<Object> getIds() {
+            return ids;
+        }
+        
+        @Override
+        public int getCount() {
+            return count;
+        }
+    }
+    
+    public static class AfterBulkDeleteEventImpl implements AfterBulkDeleteEvent {
+        private final Class<?> modelClass;
+        private final List<Object> ids;
+        
+        public AfterBulkDeleteEventImpl(Class<?> modelClass, List<Object> ids) {
+            this.modelClass = modelClass;
+            this.ids = ids;
+        }
+        
+        @Override
+        public Class<?> getModelClass() {
+            return modelClass;
+        }
+        
+        @Override
+        public List<Object> getIds() {
+            return ids;
+        }
+    }
+}
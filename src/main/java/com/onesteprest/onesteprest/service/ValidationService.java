@@ -43,6 +43,27 @@ public class ValidationService {
         return errors;
     }
     
+    /**
+     * Validates a value against the constraints of one property of an entity
+     * class, without an instance.
+     *
+     * @param beanType The entity class
+     * @param propertyName The property name
+     * @param value The value to validate
+     * @param <T> The type of the entity
+     * @return A map containing validation errors, or empty if valid
+     */
+    public <T> Map<String, String> validateValue(Class<T> beanType, String propertyName, Object value) {
+        Set<ConstraintViolation<T>> violations = validator.validateValue(beanType, propertyName, value);
+        Map<String, String> errors = new HashMap<>();
+        
+        for (ConstraintViolation<T> violation : violations) {
+            errors.put(propertyName, violation.getMessage());
+        }
+        
+        return errors;
+    }
+    
     /**
      * Checks if an entity is valid according to its constraints.
      *
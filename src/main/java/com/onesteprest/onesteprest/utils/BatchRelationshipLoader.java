@@ -0,0 +1,309 @@
+package com.onesteprest.onesteprest.utils;
+
+import com.onesteprest.onesteprest.core.ModelDescriptor;
+import com.onesteprest.onesteprest.core.RelationshipDescriptor;
+import com.onesteprest.onesteprest.fetch.FetchPlan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.Hibernate;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * Loads the relationships of a whole result page at once.
+ *
+ * Instead of walking every entity on its own (as {@link RelationshipUtil} does),
+ * the page is processed level by level: each relationship of each level is
+ * resolved with a single {@code IN (...)} query and the results are stitched
+ * back onto their owners. The number of statements therefore depends on the
+ * model graph and the depth, not on the page size. IDs are bound in chunks of
+ * {@value #ID_CHUNK_SIZE}, so very large pages or levels stay within the
+ * parameter limits of the database, at one more query per chunk.
+ */
+public class BatchRelationshipLoader {
+
+    // Maximum number of IDs bound to a single IN list
+    private static final int ID_CHUNK_SIZE = 500;
+
+    /**
+     * Loads related entities for all the given entities.
+     *
+     * @param entities The entities to load relationships for
+     * @param entityManager The entity manager
+     * @param depth Maximum depth to load (to prevent infinite recursion)
+     * @return The entities with loaded relationships, in the same order
+     */
+    public static List<Object> loadRelationships(List<?> entities, EntityManager entityManager, int depth) {
+        List<Object> roots = new ArrayList<>();
+        for (Object entity : entities) {
+            roots.add(Hibernate.unproxy(entity));
+        }
+
+        if (roots.isEmpty() || depth <= 0) {
+            return roots;
+        }
+
+        try {
+            // Shared across the whole page to prevent circular loading
+            Set<Object> processed = new HashSet<>();
+            List<Object> level = new ArrayList<>();
+            for (Object root : roots) {
+                if (root != null && processed.add(root)) {
+                    level.add(root);
+                }
+            }
+
+            int remaining = depth;
+            while (!level.isEmpty() && remaining > 0) {
+                level = loadLevel(level, entityManager, remaining, processed);
+                remaining--;
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading relationships in batch: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return roots;
+    }
+
+    /**
+     * Loads only the relationships included in a fetch plan for all the given entities.
+     * Each node of the plan costs at most one query, whatever the number of entities.
+     *
+     * @param entities The entities to load relationships for
+     * @param entityManager The entity manager
+     * @param fetchPlan The relationships to load
+     * @return The entities with the planned relationships loaded, in the same order
+     */
+    public static List<Object> loadRelationships(List<?> entities, EntityManager entityManager, FetchPlan fetchPlan) {
+        List<Object> roots = new ArrayList<>();
+        for (Object entity : entities) {
+            roots.add(Hibernate.unproxy(entity));
+        }
+
+        try {
+            loadPlan(distinct(roots), fetchPlan, entityManager);
+        } catch (Exception e) {
+            System.err.println("Error loading planned relationships: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return roots;
+    }
+
+    /**
+     * Recursive helper that loads one plan node for all its owners.
+     */
+    private static void loadPlan(List<Object> owners, FetchPlan fetchPlan, EntityManager entityManager) throws Exception {
+        if (owners.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<String, FetchPlan> child : fetchPlan.getChildren().entrySet()) {
+            RelationshipDescriptor relationship =
+                    ModelDescriptor.of(fetchPlan.getEntityClass()).getRelationship(child.getKey());
+            if (relationship == null) {
+                continue;
+            }
+
+            List<Object> related;
+            if (relationship.isCollection()) {
+                related = loadCollection(fetchPlan.getEntityClass(), owners, relationship, entityManager);
+            } else {
+                related = loadReference(owners, relationship, entityManager);
+            }
+
+            loadPlan(distinct(related), child.getValue(), entityManager);
+        }
+    }
+
+    /**
+     * Loads every relationship of the entities of one level and returns
+     * the related entities that still have to be processed.
+     */
+    private static List<Object> loadLevel(List<Object> level, EntityManager entityManager, int remaining,
+                                          Set<Object> processed) throws Exception {
+        // Group by class so that each relationship is queried once per level
+        Map<Class<?>, List<Object>> byClass = new LinkedHashMap<>();
+        for (Object entity : level) {
+            byClass.computeIfAbsent(entity.getClass(), k -> new ArrayList<>()).add(entity);
+        }
+
+        List<Object> nextLevel = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<Object>> entry : byClass.entrySet()) {
+            for (RelationshipDescriptor relationship : ModelDescriptor.of(entry.getKey()).getRelationships()) {
+                List<Object> related;
+                if (relationship.isCollection()) {
+                    related = loadCollection(entry.getKey(), entry.getValue(), relationship, entityManager);
+                } else if (remaining > 1) {
+                    related = loadReference(entry.getValue(), relationship, entityManager);
+                } else {
+                    // A single reference at the last level would not be walked any further
+                    continue;
+                }
+
+                if (remaining > 1) {
+                    for (Object item : related) {
+                        if (processed.add(item)) {
+                            nextLevel.add(item);
+                        }
+                    }
+                }
+            }
+        }
+
+        return nextLevel;
+    }
+
+    /**
+     * Loads a collection relationship (@OneToMany or @ManyToMany, owning or inverse side)
+     * for all owners with one query and replaces each owner's collection.
+     */
+    private static List<Object> loadCollection(Class<?> ownerClass, List<Object> owners,
+                                               RelationshipDescriptor relationship,
+                                               EntityManager entityManager) throws Exception {
+        ModelDescriptor ownerDescriptor = ModelDescriptor.of(ownerClass);
+        Field idField = ownerDescriptor.getIdField();
+        if (idField == null) {
+            return Collections.emptyList();
+        }
+
+        Map<Object, Object> ownersById = new LinkedHashMap<>();
+        for (Object owner : owners) {
+            Object id = ownerDescriptor.getId(owner);
+            if (id != null) {
+                ownersById.put(id, owner);
+            }
+        }
+        if (ownersById.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Joining from the owner works for both sides of the relationship
+        String jpql = "SELECT o." + idField.getName() + ", e FROM " + getEntityName(ownerClass, entityManager) +
+                      " o JOIN o." + relationship.getName() + " e WHERE o." + idField.getName() + " IN :ids";
+        List<Object[]> rows = new ArrayList<>();
+        for (List<Object> chunk : chunks(new ArrayList<>(ownersById.keySet()))) {
+            rows.addAll(entityManager.createQuery(jpql, Object[].class)
+                    .setParameter("ids", chunk)
+                    .getResultList());
+        }
+
+        Map<Object, List<Object>> itemsByOwnerId = new HashMap<>();
+        List<Object> allItems = new ArrayList<>();
+        for (Object[] row : rows) {
+            Object item = Hibernate.unproxy(row[1]);
+            itemsByOwnerId.computeIfAbsent(row[0], k -> new ArrayList<>()).add(item);
+            allItems.add(item);
+        }
+
+        for (Map.Entry<Object, Object> entry : ownersById.entrySet()) {
+            List<Object> items = itemsByOwnerId.getOrDefault(entry.getKey(), Collections.emptyList());
+            replaceCollection(entry.getValue(), relationship, items);
+        }
+
+        return allItems;
+    }
+
+    /**
+     * Loads a single-valued relationship (@ManyToOne or @OneToOne) for all owners
+     * with one query and sets the loaded entity on each owner.
+     */
+    private static List<Object> loadReference(List<Object> owners, RelationshipDescriptor relationship,
+                                              EntityManager entityManager) throws Exception {
+        Class<?> targetClass = relationship.getTargetType();
+        ModelDescriptor targetDescriptor = ModelDescriptor.of(targetClass);
+        Field targetIdField = targetDescriptor.getIdField();
+        if (targetIdField == null) {
+            return Collections.emptyList();
+        }
+
+        // Read the referenced ids without initializing lazy proxies
+        PersistenceUnitUtil unitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        Map<Object, List<Object>> ownersByTargetId = new LinkedHashMap<>();
+        List<Object> loaded = new ArrayList<>();
+        for (Object owner : owners) {
+            Object reference = relationship.get(owner);
+            if (reference == null) {
+                continue;
+            }
+
+            // References that are already initialized (fetched by a join or
+            // present in the persistence context) do not need a query
+            if (unitUtil.isLoaded(reference)) {
+                Object target = Hibernate.unproxy(reference);
+                relationship.set(owner, target);
+                loaded.add(target);
+                continue;
+            }
+
+            Object targetId = unitUtil.getIdentifier(reference);
+            if (targetId != null) {
+                ownersByTargetId.computeIfAbsent(targetId, k -> new ArrayList<>()).add(owner);
+            }
+        }
+        if (ownersByTargetId.isEmpty()) {
+            return loaded;
+        }
+
+        String jpql = "SELECT e FROM " + getEntityName(targetClass, entityManager) +
+                      " e WHERE e." + targetIdField.getName() + " IN :ids";
+        List<Object> results = new ArrayList<>();
+        for (List<Object> chunk : chunks(new ArrayList<>(ownersByTargetId.keySet()))) {
+            results.addAll(entityManager.createQuery(jpql)
+                    .setParameter("ids", chunk)
+                    .getResultList());
+        }
+
+        for (Object result : results) {
+            Object target = Hibernate.unproxy(result);
+            Object targetId = targetDescriptor.getId(target);
+            for (Object owner : ownersByTargetId.getOrDefault(targetId, Collections.emptyList())) {
+                relationship.set(owner, target);
+            }
+            loaded.add(target);
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Replace a collection with loaded items
+     */
+    private static void replaceCollection(Object entity, RelationshipDescriptor relationship, Collection<Object> loadedItems) {
+        Collection<Object> collection = relationship.newCollection();
+        if (collection != null) {
+            collection.addAll(loadedItems);
+            relationship.set(entity, collection);
+        }
+    }
+
+    /**
+     * Removes nulls and duplicates while keeping the original order.
+     */
+    private static List<Object> distinct(List<Object> entities) {
+        Set<Object> seen = new LinkedHashSet<>();
+        for (Object entity : entities) {
+            if (entity != null) {
+                seen.add(entity);
+            }
+        }
+        return new ArrayList<>(seen);
+    }
+
+    private static List<List<Object>> chunks(List<Object> ids) {
+        List<List<Object>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += ID_CHUNK_SIZE) {
+            chunks.add(ids.subList(start, Math.min(start + ID_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Gets the JPA entity name for a class.
+     */
+    private static String getEntityName(Class<?> entityClass, EntityManager entityManager) {
+        return entityManager.getMetamodel().entity(entityClass).getName();
+    }
+}
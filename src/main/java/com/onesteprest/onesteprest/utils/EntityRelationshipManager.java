@@ -1,21 +1,13 @@
 package com.onesteprest.onesteprest.utils;
 
+import com.onesteprest.onesteprest.core.ModelDescriptor;
+import com.onesteprest.onesteprest.core.RelationshipDescriptor;
+import com.onesteprest.onesteprest.core.RelationshipDescriptor.Kind;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
-import jakarta.persistence.ManyToMany;
-import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Utility class that handles entity relationships automatically.
@@ -60,23 +52,47 @@ public class EntityRelationshipManager {
         }
     }
     
+    /**
+     * Sets the relationships given in the request data (related objects with an
+     * ID, {@code fieldId} and {@code fieldIds} keys). Unlike
+     * {@link #processRelationshipFields}, it skips the pass that keeps the inverse
+     * side of every bidirectional relationship in sync, and fails instead of
+     * ignoring errors. Meant for batches whose persistence context is cleared
+     * right after they are written, where that pass would load whole
+     * collections for nothing.
+     *
+     * @param entity The entity object
+     * @param requestData The raw request data
+     * @param entityManager The entity manager
+     * @param <T> Type of entity
+     * @return The processed entity
+     * @throws IllegalArgumentException if a relationship cannot be set
+     */
+    public static <T> T processRelationshipIds(T entity, Object requestData, EntityManager entityManager) {
+        if (entity == null || !(requestData instanceof Map)) {
+            return entity;
+        }
+
+        try {
+            processMapRelationships(entity, (Map<String, Object>) requestData, entityManager);
+            return entity;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Error processing relationship fields: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Processes relationship IDs from a request data map.
      * Looks for fields ending with "Id" and maps them to their relationship fields.
      */
     private static <T> void processMapRelationships(T entity, Map<String, Object> dataMap, EntityManager entityManager) throws Exception {
-        Class<?> entityClass = entity.getClass();
+        ModelDescriptor descriptor = ModelDescriptor.of(entity.getClass());
         
         // First pass: look for direct relationship objects
-        for (Field field : entityClass.getDeclaredFields()) {
-            field.setAccessible(true);
-            
-            // Skip non-entity relationship fields
-            if (!isEntityRelationship(field)) {
-                continue;
-            }
-            
-            String fieldName = field.getName();
+        for (RelationshipDescriptor relationship : descriptor.getRelationships()) {
+            String fieldName = relationship.getName();
             
             // Check if this relationship object is in the map
             if (dataMap.containsKey(fieldName) && dataMap.get(fieldName) != null) {
@@ -87,12 +103,12 @@ public class EntityRelationshipManager {
                     Map<String, Object> relMap = (Map<String, Object>) relationshipData;
                     if (relMap.containsKey("id")) {
                         Object relatedId = relMap.get("id");
-                        setRelationshipById(entity, field, relatedId, entityManager);
+                        setRelationshipById(entity, relationship, relatedId, entityManager);
                     }
                 }
                 // If it's a List (for ManyToMany or OneToMany)
-                else if (relationshipData instanceof List && Collection.class.isAssignableFrom(field.getType())) {
-                    processCollectionRelationship(entity, field, (List<?>) relationshipData, entityManager);
+                else if (relationshipData instanceof List && relationship.isCollection()) {
+                    processCollectionRelationship(entity, relationship, (List<?>) relationshipData, entityManager);
                 }
             }
         }
@@ -101,34 +117,20 @@ public class EntityRelationshipManager {
         for (String key : dataMap.keySet()) {
             // Check if this is a relationship ID field (ends with "Id")
             if (key.endsWith("Id") && dataMap.get(key) != null) {
-                String relationshipFieldName = key.substring(0, key.length() - 2); // Remove "Id"
-                
-                // Try to find the actual relationship field
-                try {
-                    Field relationshipField = entityClass.getDeclaredField(relationshipFieldName);
-                    if (isEntityRelationship(relationshipField)) {
-                        Object relatedId = dataMap.get(key);
-                        setRelationshipById(entity, relationshipField, relatedId, entityManager);
-                    }
-                } catch (NoSuchFieldException e) {
-                    // Field doesn't exist, skip
-                    continue;
+                // Find the actual relationship field (remove "Id"); skip keys that name none
+                RelationshipDescriptor relationship = descriptor.getRelationship(key.substring(0, key.length() - 2));
+                if (relationship != null) {
+                    Object relatedId = dataMap.get(key);
+                    setRelationshipById(entity, relationship, relatedId, entityManager);
                 }
             }
             // Check if this is a relationship IDs field (ends with "Ids")
             else if (key.endsWith("Ids") && dataMap.get(key) != null && dataMap.get(key) instanceof List) {
-                String relationshipFieldName = key.substring(0, key.length() - 3); // Remove "Ids"
-                
-                // Try to find the actual relationship field
-                try {
-                    Field relationshipField = entityClass.getDeclaredField(relationshipFieldName);
-                    if (isCollectionRelationship(relationshipField)) {
-                        List<?> relatedIds = (List<?>) dataMap.get(key);
-                        setCollectionRelationshipByIds(entity, relationshipField, relatedIds, entityManager);
-                    }
-                } catch (NoSuchFieldException e) {
-                    // Field doesn't exist, skip
-                    continue;
+                // Find the actual relationship field (remove "Ids"); skip keys that name none
+                RelationshipDescriptor relationship = descriptor.getRelationship(key.substring(0, key.length() - 3));
+                if (relationship != null && relationship.isCollection()) {
+                    List<?> relatedIds = (List<?>) dataMap.get(key);
+                    setCollectionRelationshipByIds(entity, relationship, relatedIds, entityManager);
                 }
             }
         }
@@ -137,42 +139,32 @@ public class EntityRelationshipManager {
     /**
      * Processes a collection relationship value from request data.
      */
-    private static <T> void processCollectionRelationship(T entity, Field field, List<?> items, EntityManager entityManager) throws Exception {
-        Class<?> elementType = RelationshipUtil.getCollectionGenericType(field);
+    private static <T> void processCollectionRelationship(T entity, RelationshipDescriptor relationship, List<?> items, EntityManager entityManager) throws Exception {
+        Class<?> elementType = relationship.getTargetType();
         if (elementType == null) {
             return;
         }
         
-        // Create new collection if needed
-        Collection<Object> collection;
-        if (field.get(entity) == null) {
-            if (List.class.isAssignableFrom(field.getType())) {
-                collection = new ArrayList<>();
-            } else if (Set.class.isAssignableFrom(field.getType())) {
-                collection = new HashSet<>();
-            } else {
-                return; // Unsupported collection type
-            }
-            field.set(entity, collection);
-        } else {
-            collection = (Collection<Object>) field.get(entity);
-            collection.clear();  // Clear existing items
+        Collection<Object> collection = getEmptyCollection(entity, relationship);
+        if (collection == null) {
+            return; // Unsupported collection type
         }
         
         // Process each item in the list
+        Class<?> idType = ModelDescriptor.of(elementType).getIdType();
         for (Object item : items) {
             if (item instanceof Map) {
                 Map<String, Object> itemMap = (Map<String, Object>) item;
                 if (itemMap.containsKey("id")) {
                     Object id = itemMap.get("id");
-                    Object relatedEntity = entityManager.find(elementType, TypeConverter.convertToAppropriateType(id, getIdType(elementType)));
+                    Object relatedEntity = entityManager.find(elementType, TypeConverter.convertToAppropriateType(id, idType));
                     if (relatedEntity != null) {
                         collection.add(relatedEntity);
                     }
                 }
             } else if (item instanceof Number) {
                 // If it's just an ID
-                Object relatedEntity = entityManager.find(elementType, TypeConverter.convertToAppropriateType(item, getIdType(elementType)));
+                Object relatedEntity = entityManager.find(elementType, TypeConverter.convertToAppropriateType(item, idType));
                 if (relatedEntity != null) {
                     collection.add(relatedEntity);
                 }
@@ -180,14 +172,11 @@ public class EntityRelationshipManager {
         }
 
         // Add code to maintain bidirectional integrity
-        if (field.isAnnotationPresent(ManyToMany.class)) {
-            ManyToMany manyToMany = field.getAnnotation(ManyToMany.class);
-            // If this is the owning side (no mappedBy)
-            if (manyToMany.mappedBy().isEmpty()) {
-                for (Object relatedEntity : collection) {
-                    // Find the inverse side field in the related entity
-                    updateManyToManyInverseReference(entity, relatedEntity, field);
-                }
+        // If this is the owning side of a ManyToMany (no mappedBy)
+        if (relationship.getKind() == Kind.MANY_TO_MANY && relationship.isOwningSide()) {
+            for (Object relatedEntity : collection) {
+                // Find the inverse side field in the related entity
+                updateManyToManyInverseReference(entity, relatedEntity, relationship);
             }
         }
     }
@@ -195,18 +184,16 @@ public class EntityRelationshipManager {
     /**
      * Sets a relationship field using an ID value.
      */
-    private static <T> void setRelationshipById(T entity, Field relationshipField, Object idValue, EntityManager entityManager) throws Exception {
-        relationshipField.setAccessible(true);
-        
+    private static <T> void setRelationshipById(T entity, RelationshipDescriptor relationship, Object idValue, EntityManager entityManager) throws Exception {
         // Get the type of related entity
-        Class<?> relatedType = relationshipField.getType();
+        Class<?> relatedType = relationship.getField().getType();
         
         // Convert ID to appropriate type if needed
-        idValue = TypeConverter.convertToAppropriateType(idValue, getIdType(relatedType));
+        idValue = TypeConverter.convertToAppropriateType(idValue, ModelDescriptor.of(relatedType).getIdType());
         
         // Skip if ID is null
         if (idValue == null) {
-            relationshipField.set(entity, null);
+            relationship.set(entity, null);
             return;
         }
         
@@ -215,45 +202,27 @@ public class EntityRelationshipManager {
         
         // Set the relationship
         if (relatedEntity != null) {
-            relationshipField.set(entity, relatedEntity);
+            relationship.set(entity, relatedEntity);
         }
     }
     
     /**
      * Sets a collection relationship field using a list of IDs.
      */
-    private static <T> void setCollectionRelationshipByIds(T entity, Field relationshipField, List<?> idValues, EntityManager entityManager) throws Exception {
-        relationshipField.setAccessible(true);
-        
-        // Skip if not a collection
-        if (!Collection.class.isAssignableFrom(relationshipField.getType())) {
-            return;
-        }
-        
+    private static <T> void setCollectionRelationshipByIds(T entity, RelationshipDescriptor relationship, List<?> idValues, EntityManager entityManager) throws Exception {
         // Get element type
-        Class<?> elementType = RelationshipUtil.getCollectionGenericType(relationshipField);
+        Class<?> elementType = relationship.getTargetType();
         if (elementType == null) {
             return;
         }
         
-        // Create new collection if needed
-        Collection<Object> collection;
-        if (relationshipField.get(entity) == null) {
-            if (List.class.isAssignableFrom(relationshipField.getType())) {
-                collection = new ArrayList<>();
-            } else if (Set.class.isAssignableFrom(relationshipField.getType())) {
-                collection = new HashSet<>();
-            } else {
-                return; // Unsupported collection type
-            }
-            relationshipField.set(entity, collection);
-        } else {
-            collection = (Collection<Object>) relationshipField.get(entity);
-            collection.clear();  // Clear existing items
+        Collection<Object> collection = getEmptyCollection(entity, relationship);
+        if (collection == null) {
+            return; // Unsupported collection type
         }
         
         // Get ID type for the element
-        Class<?> idType = getIdType(elementType);
+        Class<?> idType = ModelDescriptor.of(elementType).getIdType();
         
         // Find and add each related entity by ID
         for (Object idValue : idValues) {
@@ -267,74 +236,62 @@ public class EntityRelationshipManager {
         }
     }
     
+    /**
+     * Gets the collection of an entity's relationship emptied, creating it if needed.
+     */
+    private static Collection<Object> getEmptyCollection(Object entity, RelationshipDescriptor relationship) {
+        Collection<Object> collection = (Collection<Object>) relationship.get(entity);
+        if (collection == null) {
+            return relationship.getOrCreateCollection(entity);
+        }
+        collection.clear();  // Clear existing items
+        return collection;
+    }
+    
     /**
      * Ensures that bidirectional relationships are properly maintained.
      */
     private static <T> void ensureBidirectionalRelationships(T entity, EntityManager entityManager) throws Exception {
-        Class<?> entityClass = entity.getClass();
-        
-        for (Field field : entityClass.getDeclaredFields()) {
-            field.setAccessible(true);
-            
-            // Skip non-entity relationship fields or null values
-            if (!isEntityRelationship(field)) {
-                continue;
-            }
-            
-            Object relatedValue = field.get(entity);
+        for (RelationshipDescriptor relationship : ModelDescriptor.of(entity.getClass()).getRelationships()) {
+            // Skip null values
+            Object relatedValue = relationship.get(entity);
             if (relatedValue == null) {
                 continue;
             }
             
-            // Handle ManyToOne relationship
-            if (field.isAnnotationPresent(ManyToOne.class)) {
-                updateOneToManyBackReference(entity, relatedValue, field);
-            }
-            
-            // Handle OneToMany relationship
-            else if (field.isAnnotationPresent(OneToMany.class)) {
-                OneToMany oneToMany = field.getAnnotation(OneToMany.class);
-                String mappedBy = oneToMany.mappedBy();
-                
-                if (!mappedBy.isEmpty() && field.get(entity) instanceof Collection) {
-                    Collection<?> collection = (Collection<?>) field.get(entity);
-                    for (Object item : collection) {
-                        setBackReference(item, mappedBy, entity);
+            String mappedBy = relationship.getMappedBy();
+            switch (relationship.getKind()) {
+                case MANY_TO_ONE:
+                    updateOneToManyBackReference(entity, relatedValue, relationship);
+                    break;
+                case ONE_TO_MANY:
+                    if (!mappedBy.isEmpty() && relatedValue instanceof Collection) {
+                        for (Object item : (Collection<?>) relatedValue) {
+                            setBackReference(item, mappedBy, entity);
+                        }
                     }
-                }
-            }
-            
-            // Handle ManyToMany relationship
-            else if (field.isAnnotationPresent(ManyToMany.class)) {
-                ManyToMany manyToMany = field.getAnnotation(ManyToMany.class);
-                String mappedBy = manyToMany.mappedBy();
-                
-                if (!mappedBy.isEmpty() && field.get(entity) instanceof Collection) {
-                    // This is the inverse side, update the owning side
-                    Collection<?> collection = (Collection<?>) field.get(entity);
-                    for (Object item : collection) {
-                        updateManyToManyOwningReference(entity, item, mappedBy);
+                    break;
+                case MANY_TO_MANY:
+                    if (!mappedBy.isEmpty() && relatedValue instanceof Collection) {
+                        // This is the inverse side, update the owning side
+                        for (Object item : (Collection<?>) relatedValue) {
+                            updateManyToManyOwningReference(entity, item, mappedBy);
+                        }
+                    } else if (relatedValue instanceof Collection) {
+                        // This is the owning side, update the inverse side if it exists
+                        for (Object item : (Collection<?>) relatedValue) {
+                            updateManyToManyInverseReference(entity, item, relationship);
+                        }
                     }
-                } else if (field.get(entity) instanceof Collection) {
-                    // This is the owning side, update the inverse side if it exists
-                    Collection<?> collection = (Collection<?>) field.get(entity);
-                    for (Object item : collection) {
-                        updateManyToManyInverseReference(entity, item, field);
+                    break;
+                case ONE_TO_ONE:
+                    if (!mappedBy.isEmpty()) {
+                        setBackReference(relatedValue, mappedBy, entity);
+                    } else if (relationship.hasJoinColumn()) {
+                        // This is the owning side, try to find mapped by on the other side
+                        updateOneToOneBackReference(entity, relatedValue, relationship);
                     }
-                }
-            }
-            
-            // Handle OneToOne relationship
-            else if (field.isAnnotationPresent(OneToOne.class)) {
-                OneToOne oneToOne = field.getAnnotation(OneToOne.class);
-                String mappedBy = oneToOne.mappedBy();
-                
-                if (!mappedBy.isEmpty()) {
-                    setBackReference(relatedValue, mappedBy, entity);
-                } else if (field.isAnnotationPresent(JoinColumn.class)) {
-                    // This is the owning side, try to find mapped by on the other side
-                    updateOneToOneBackReference(entity, relatedValue, field);
-                }
+                    break;
             }
         }
     }
@@ -343,16 +300,15 @@ public class EntityRelationshipManager {
      * Updates the owning side of a ManyToMany relationship.
      */
     private static void updateManyToManyOwningReference(Object inverseEntity, Object owningEntity, String mappedByField) throws Exception {
-        Field field = findField(owningEntity.getClass(), mappedByField);
-        if (field == null || !field.isAnnotationPresent(ManyToMany.class)) {
+        RelationshipDescriptor owning = ModelDescriptor.of(owningEntity.getClass()).getRelationship(mappedByField);
+        if (owning == null || owning.getKind() != Kind.MANY_TO_MANY) {
             return;
         }
         
-        field.setAccessible(true);
-        Collection<Object> owningCollection = getOrCreateCollection(owningEntity, field);
+        Collection<Object> owningCollection = owning.getOrCreateCollection(owningEntity);
         
         // Add the inverse entity if it doesn't already exist
-        if (!owningCollection.contains(inverseEntity)) {
+        if (owningCollection != null && !owningCollection.contains(inverseEntity)) {
             owningCollection.add(inverseEntity);
         }
     }
@@ -360,96 +316,50 @@ public class EntityRelationshipManager {
     /**
      * Updates the inverse side of a ManyToMany relationship.
      */
-    private static void updateManyToManyInverseReference(Object owningEntity, Object inverseEntity, Field owningField) throws Exception {
+    private static void updateManyToManyInverseReference(Object owningEntity, Object inverseEntity, RelationshipDescriptor owningRelationship) throws Exception {
         // Find the inverse field (with mappedBy pointing to this field)
-        for (Field field : inverseEntity.getClass().getDeclaredFields()) {
-            if (!field.isAnnotationPresent(ManyToMany.class)) {
-                continue;
-            }
-            
-            ManyToMany manyToMany = field.getAnnotation(ManyToMany.class);
-            String mappedBy = manyToMany.mappedBy();
-            
-            if (!mappedBy.isEmpty() && mappedBy.equals(owningField.getName())) {
-                field.setAccessible(true);
-                Collection<Object> inverseCollection = getOrCreateCollection(inverseEntity, field);
-                
-                // Add the owning entity if it doesn't already exist
-                if (!inverseCollection.contains(owningEntity)) {
-                    inverseCollection.add(owningEntity);
-                }
-                
-                break;
-            }
+        RelationshipDescriptor inverse = ModelDescriptor.of(inverseEntity.getClass())
+                .getInverse(Kind.MANY_TO_MANY, owningRelationship.getName());
+        if (inverse == null) {
+            return;
         }
-    }
-    
-    /**
-     * Gets or creates a collection for an entity's field.
-     */
-    private static Collection<Object> getOrCreateCollection(Object entity, Field field) throws Exception {
-        field.setAccessible(true);
-        Collection<Object> collection = (Collection<Object>) field.get(entity);
         
-        if (collection == null) {
-            if (List.class.isAssignableFrom(field.getType())) {
-                collection = new ArrayList<>();
-            } else {
-                collection = new HashSet<>();
-            }
-            field.set(entity, collection);
-        }
+        Collection<Object> inverseCollection = inverse.getOrCreateCollection(inverseEntity);
         
-        return collection;
+        // Add the owning entity if it doesn't already exist
+        if (inverseCollection != null && !inverseCollection.contains(owningEntity)) {
+            inverseCollection.add(owningEntity);
+        }
     }
     
     /**
      * Updates the back-reference for a ManyToOne relationship.
      */
-    private static void updateOneToManyBackReference(Object entity, Object relatedEntity, Field manyToOneField) throws Exception {
+    private static void updateOneToManyBackReference(Object entity, Object relatedEntity, RelationshipDescriptor manyToOne) throws Exception {
         // Find OneToMany field in the related entity that points back to this entity
-        for (Field field : relatedEntity.getClass().getDeclaredFields()) {
-            if (!field.isAnnotationPresent(OneToMany.class)) {
-                continue;
-            }
-            
-            OneToMany oneToMany = field.getAnnotation(OneToMany.class);
-            String mappedBy = oneToMany.mappedBy();
-            
-            // Check if this OneToMany maps back to our ManyToOne
-            if (!mappedBy.isEmpty() && mappedBy.equals(manyToOneField.getName())) {
-                field.setAccessible(true);
-                Collection collection = (Collection) field.get(relatedEntity);
-                
-                // Add to collection if not already there
-                if (collection != null && !collection.contains(entity)) {
-                    collection.add(entity);
-                }
-                
-                break;
-            }
+        RelationshipDescriptor oneToMany = ModelDescriptor.of(relatedEntity.getClass())
+                .getInverse(Kind.ONE_TO_MANY, manyToOne.getName());
+        if (oneToMany == null) {
+            return;
+        }
+        
+        Collection<Object> collection = (Collection<Object>) oneToMany.get(relatedEntity);
+        
+        // Add to collection if not already there
+        if (collection != null && !collection.contains(entity)) {
+            collection.add(entity);
         }
     }
     
     /**
      * Updates the back-reference for a OneToOne relationship.
      */
-    private static void updateOneToOneBackReference(Object entity, Object relatedEntity, Field oneToOneField) throws Exception {
+    private static void updateOneToOneBackReference(Object entity, Object relatedEntity, RelationshipDescriptor oneToOne) throws Exception {
         // Find OneToOne field in the related entity that points back to this entity
-        for (Field field : relatedEntity.getClass().getDeclaredFields()) {
-            if (!field.isAnnotationPresent(OneToOne.class)) {
-                continue;
-            }
-            
-            OneToOne oneToOne = field.getAnnotation(OneToOne.class);
-            String mappedBy = oneToOne.mappedBy();
-            
-            // Check if this OneToOne maps back to our OneToOne
-            if (!mappedBy.isEmpty() && mappedBy.equals(oneToOneField.getName())) {
-                field.setAccessible(true);
-                field.set(relatedEntity, entity);
-                break;
-            }
+        RelationshipDescriptor inverse = ModelDescriptor.of(relatedEntity.getClass())
+                .getInverse(Kind.ONE_TO_ONE, oneToOne.getName());
+        if (inverse != null) {
+            inverse.set(relatedEntity, entity);
         }
     }
     
@@ -457,68 +367,9 @@ public class EntityRelationshipManager {
      * Sets a back reference on a related entity.
      */
     private static void setBackReference(Object relatedEntity, String fieldName, Object entity) throws Exception {
-        Field field = findField(relatedEntity.getClass(), fieldName);
-        if (field != null) {
-            field.setAccessible(true);
-            field.set(relatedEntity, entity);
-        }
-    }
-    
-    /**
-     * Checks if a field is an entity relationship field.
-     */
-    private static boolean isEntityRelationship(Field field) {
-        return field.isAnnotationPresent(ManyToOne.class) ||
-               field.isAnnotationPresent(OneToMany.class) ||
-               field.isAnnotationPresent(ManyToMany.class) ||
-               field.isAnnotationPresent(OneToOne.class);
-    }
-    
-    /**
-     * Checks if a field is a collection relationship field.
-     */
-    private static boolean isCollectionRelationship(Field field) {
-        return Collection.class.isAssignableFrom(field.getType()) && 
-              (field.isAnnotationPresent(OneToMany.class) || 
-               field.isAnnotationPresent(ManyToMany.class));
-    }
-    
-    /**
-     * Gets the ID field type for a class.
-     */
-    private static Class<?> getIdType(Class<?> clazz) {
-        Field idField = findIdField(clazz);
-        return idField != null ? idField.getType() : Long.class; // Default to Long
-    }
-    
-    /**
-     * Finds the ID field for a class.
-     */
-    private static Field findIdField(Class<?> clazz) {
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            for (Field field : current.getDeclaredFields()) {
-                if (field.isAnnotationPresent(Id.class)) {
-                    return field;
-                }
-            }
-            current = current.getSuperclass();
-        }
-        return null;
-    }
-    
-    /**
-     * Finds a field in a class or its superclasses.
-     */
-    private static Field findField(Class<?> clazz, String fieldName) {
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            try {
-                return current.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException e) {
-                current = current.getSuperclass();
-            }
+        RelationshipDescriptor relationship = ModelDescriptor.of(relatedEntity.getClass()).getRelationship(fieldName);
+        if (relationship != null) {
+            relationship.set(relatedEntity, entity);
         }
-        return null;
     }
-}
\ No newline at end of file
+}
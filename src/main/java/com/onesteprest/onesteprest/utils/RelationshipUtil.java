@@ -1,7 +1,8 @@
 package com.onesteprest.onesteprest.utils;
 
+import com.onesteprest.onesteprest.core.ModelDescriptor;
+import com.onesteprest.onesteprest.core.RelationshipDescriptor;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.Id;
 import jakarta.persistence.Query;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
@@ -59,90 +60,48 @@ public class RelationshipUtil {
                 }
             }
             
-            for (Field field : getAllFields(entityClass)) {
-                field.setAccessible(true);
-                
-                // Skip primitive types and simple types
-                if (field.getType().isPrimitive() || 
-                    field.getType().equals(String.class) ||
-                    Number.class.isAssignableFrom(field.getType()) ||
-                    field.getType().equals(Boolean.class) ||
-                    field.getType().equals(Character.class)) {
-                    continue;
-                }
-                
+            for (RelationshipDescriptor relationship : ModelDescriptor.of(entityClass).getRelationships()) {
                 // Handle collections
-                if (Collection.class.isAssignableFrom(field.getType())) {
-                    Collection<?> collection = (Collection<?>) field.get(entity);
-                    if (collection != null && !collection.isEmpty()) {
-                        // For collections, we need to eagerly load them if they're lazy
-                        Class<?> elementType = getCollectionGenericType(field);
-                        if (elementType != null) {
-                            // If it's a JPA managed relationship, load the collection properly
-                            Object id = getEntityId(entity);
-                            if (id != null) {
-                                // Handle @ManyToMany relationships
-                                if (field.isAnnotationPresent(jakarta.persistence.ManyToMany.class)) {
-                                    jakarta.persistence.ManyToMany manyToMany = field.getAnnotation(jakarta.persistence.ManyToMany.class);
-                                    String mappedBy = manyToMany.mappedBy();
-                                    
-                                    // If it's the inverse side (has mappedBy)
-                                    if (!mappedBy.isEmpty()) {
-                                        // Use a query to fetch related entities
-                                        String jpql = "SELECT e FROM " + elementType.getSimpleName() + 
-                                               " e JOIN e." + mappedBy + " r WHERE r.id = :parentId";
-                                        Query query = entityManager.createQuery(jpql);
-                                        query.setParameter("parentId", id);
-                                        List<?> items = query.getResultList();
-                                        
-                                        // Replace the collection with loaded items
-                                        Collection<Object> loadedItems = new ArrayList<>();
-                                        for (Object item : items) {
-                                            loadedItems.add(loadRelationshipsRecursive(item, entityManager, depth - 1, processed));
-                                        }
-                                        
-                                        replaceCollection(entity, field, loadedItems);
-                                    }
-                                    // If it's the owning side (does not have mappedBy)
-                                    else {
-                                        // In this case JPA already loads the collection, but we need to process the items recursively
-                                        Collection<?> collectionItems = (Collection<?>) field.get(entity);
-                                        if (collectionItems != null && !collectionItems.isEmpty()) {
-                                            Collection<Object> processedItems = new ArrayList<>();
-                                            for (Object item : collectionItems) {
-                                                processedItems.add(loadRelationshipsRecursive(item, entityManager, depth - 1, processed));
-                                            }
-                                            replaceCollection(entity, field, processedItems);
-                                        }
-                                    }
-                                } else {
-                                    // Try to load the entire collection in one go if possible
-                                    String mappedByField = getMappedByField(entityClass, field);
-                                    if (mappedByField != null) {
-                                        String jpql = "SELECT e FROM " + elementType.getSimpleName() + 
-                                               " e WHERE e." + mappedByField + ".id = :parentId";
-                                        Query query = entityManager.createQuery(jpql);
-                                        query.setParameter("parentId", id);
-                                        List<?> items = query.getResultList();
-                                        
-                                        // Replace the collection with loaded items
-                                        Collection<Object> loadedItems = new ArrayList<>();
-                                        for (Object item : items) {
-                                            loadedItems.add(loadRelationshipsRecursive(item, entityManager, depth - 1, processed));
-                                        }
-                                        
-                                        replaceCollection(entity, field, loadedItems);
-                                    }
-                                }
-                            }
+                if (relationship.isCollection()) {
+                    Collection<?> collection = (Collection<?>) relationship.get(entity);
+                    Class<?> elementType = relationship.getTargetType();
+                    // For collections, we need to eagerly load them if they're lazy
+                    if (collection == null || collection.isEmpty() || elementType == null || entityId == null) {
+                        continue;
+                    }
+
+                    String mappedBy = relationship.getMappedBy();
+                    if (relationship.getKind() == RelationshipDescriptor.Kind.MANY_TO_MANY) {
+                        // If it's the inverse side (has mappedBy)
+                        if (!mappedBy.isEmpty()) {
+                            // Use a query to fetch related entities
+                            String jpql = "SELECT e FROM " + elementType.getSimpleName() +
+                                   " e JOIN e." + mappedBy + " r WHERE r.id = :parentId";
+                            Query query = entityManager.createQuery(jpql);
+                            query.setParameter("parentId", entityId);
+                            replaceCollection(entity, relationship,
+                                              loadAll(query.getResultList(), entityManager, depth, processed));
+                        }
+                        // If it's the owning side (does not have mappedBy)
+                        else {
+                            // In this case JPA already loads the collection, but we need to process the items recursively
+                            replaceCollection(entity, relationship, loadAll(collection, entityManager, depth, processed));
                         }
+                    } else if (!mappedBy.isEmpty()) {
+                        // Load the entire collection in one go
+                        String jpql = "SELECT e FROM " + elementType.getSimpleName() +
+                               " e WHERE e." + mappedBy + ".id = :parentId";
+                        Query query = entityManager.createQuery(jpql);
+                        query.setParameter("parentId", entityId);
+                        replaceCollection(entity, relationship,
+                                          loadAll(query.getResultList(), entityManager, depth, processed));
                     }
                 }
                 // Handle entity reference (non-collection)
-                else if (!Collection.class.isAssignableFrom(field.getType())) {
-                    Object relatedEntity = field.get(entity);
+                else {
+                    Object relatedEntity = relationship.get(entity);
                     if (relatedEntity != null) {
-                        field.set(entity, loadRelationshipsRecursive(relatedEntity, entityManager, depth - 1, processed));
+                        relationship.set(entity, loadRelationshipsRecursive(relatedEntity, entityManager, depth - 1, processed));
                     }
                 }
             }
@@ -155,48 +114,27 @@ public class RelationshipUtil {
     }
     
     /**
-     * Replace a collection with loaded items
+     * Loads the relationships of each item of a collection, one level deeper.
      */
-    private static void replaceCollection(Object entity, Field field, Collection<Object> loadedItems) throws Exception {
-        if (field.getType().isAssignableFrom(ArrayList.class)) {
-            field.set(entity, new ArrayList<>(loadedItems));
-        } else if (field.getType().isAssignableFrom(HashSet.class)) {
-            field.set(entity, new HashSet<>(loadedItems));
-        } else if (field.getType().isAssignableFrom(List.class)) {
-            field.set(entity, new ArrayList<>(loadedItems));
-        } else if (field.getType().isAssignableFrom(Set.class)) {
-            field.set(entity, new HashSet<>(loadedItems));
+    private static Collection<Object> loadAll(Collection<?> items, EntityManager entityManager, int depth, Set<Object> processed) {
+        Collection<Object> loadedItems = new ArrayList<>();
+        for (Object item : items) {
+            loadedItems.add(loadRelationshipsRecursive(item, entityManager, depth - 1, processed));
         }
+        return loadedItems;
     }
-    
-    /**
-     * Gets the mappedBy attribute from @OneToMany annotation if present
-     */
-    private static String getMappedByField(Class<?> entityClass, Field field) {
-        try {
-            if (field.isAnnotationPresent(jakarta.persistence.OneToMany.class)) {
-                jakarta.persistence.OneToMany annotation = field.getAnnotation(jakarta.persistence.OneToMany.class);
-                return annotation.mappedBy();
-            }
-        } catch (Exception e) {
-            System.err.println("Error getting mappedBy: " + e.getMessage());
-        }
-        return null;
-    }
-    
+
     /**
-     * Gets all fields from a class hierarchy.
+     * Replace a collection with loaded items
      */
-    private static List<Field> getAllFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            fields.addAll(Arrays.asList(current.getDeclaredFields()));
-            current = current.getSuperclass();
+    private static void replaceCollection(Object entity, RelationshipDescriptor relationship, Collection<Object> loadedItems) {
+        Collection<Object> collection = relationship.newCollection();
+        if (collection != null) {
+            collection.addAll(loadedItems);
+            relationship.set(entity, collection);
         }
-        return fields;
     }
-    
+
     /**
      * Gets the ID of an entity using reflection.
      * 
@@ -204,26 +142,10 @@ public class RelationshipUtil {
      * @return The ID value
      */
     public static Object getEntityId(Object entity) {
-        try {
-            if (entity == null) {
-                return null;
-            }
-            
-            Class<?> entityClass = entity.getClass();
-            while (entityClass != null && entityClass != Object.class) {
-                for (Field field : entityClass.getDeclaredFields()) {
-                    field.setAccessible(true);
-                    if (field.isAnnotationPresent(Id.class)) {
-                        return field.get(entity);
-                    }
-                }
-                entityClass = entityClass.getSuperclass();
-            }
-        } catch (Exception e) {
-            System.err.println("Error getting entity ID: " + e.getMessage());
-            e.printStackTrace();
+        if (entity == null) {
+            return null;
         }
-        return null;
+        return ModelDescriptor.of(entity.getClass()).getId(entity);
     }
     
     /**
@@ -0,0 +1,108 @@
+package com.onesteprest.onesteprest;
+
+import com.onesteprest.onesteprest.core.RestModelRegistry;
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.examples.Etiqueta;
+import com.onesteprest.onesteprest.examples.Producto;
+import com.onesteprest.onesteprest.service.DynamicEntityService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BatchRelationshipLoaderTest {
+
+    @Autowired
+    private DynamicEntityService entityService;
+
+    @Autowired
+    private RestModelRegistry restModelRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    public void testStatementCountDoesNotGrowWithPageSize() {
+        restModelRegistry.registerModels();
+
+        // 1. Crear categorías, etiquetas y 30 productos relacionados
+        Categoria categoria1 = createCategoria("Electrónicos");
+        Categoria categoria2 = createCategoria("Hogar");
+        Etiqueta oferta = createEtiqueta("Oferta");
+        Etiqueta nuevo = createEtiqueta("Nuevo");
+
+        for (int i = 1; i <= 30; i++) {
+            Producto producto = new Producto();
+            producto.setNombre("Producto " + i);
+            producto.setPrecio(10.0 * i);
+            producto.setCategoria(i % 2 == 0 ? categoria1 : categoria2);
+            producto.getEtiquetas().add(oferta);
+            producto.getEtiquetas().add(nuevo);
+            entityManager.persist(producto);
+        }
+
+        // Empezar con un contexto de persistencia vacío para que todo salga de la base de datos
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        boolean wasEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+
+        try {
+            // 2. Contar sentencias para una página pequeña
+            statistics.clear();
+            Page<Object> smallPage = entityService.findAll("productos", PageRequest.of(0, 5));
+            long smallPageStatements = statistics.getPrepareStatementCount();
+            entityManager.clear();
+
+            // 3. Contar sentencias para una página seis veces mayor
+            statistics.clear();
+            Page<Object> largePage = entityService.findAll("productos", PageRequest.of(0, 30));
+            long largePageStatements = statistics.getPrepareStatementCount();
+
+            assertEquals(5, smallPage.getContent().size());
+            assertEquals(30, largePage.getContent().size());
+            assertEquals(smallPageStatements, largePageStatements,
+                    "Relationship loading should issue the same statements regardless of page size");
+
+            // 4. Verificar que las relaciones quedaron cargadas
+            for (Object item : largePage.getContent()) {
+                Producto producto = (Producto) item;
+                assertNotNull(producto.getCategoria());
+                assertNotNull(producto.getCategoria().getNombre());
+                assertEquals(2, producto.getEtiquetas().size());
+            }
+        } finally {
+            statistics.setStatisticsEnabled(wasEnabled);
+        }
+    }
+
+    // Helpers
+
+    private Categoria createCategoria(String nombre) {
+        Categoria categoria = new Categoria();
+        categoria.setNombre(nombre);
+        entityManager.persist(categoria);
+        return categoria;
+    }
+
+    private Etiqueta createEtiqueta(String nombre) {
+        Etiqueta etiqueta = new Etiqueta();
+        etiqueta.setNombre(nombre);
+        entityManager.persist(etiqueta);
+        return etiqueta;
+    }
+}
@@ -0,0 +1,44 @@
+package com.onesteprest.onesteprest;
+
+import com.onesteprest.onesteprest.cache.ModelChangeTracker;
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.examples.Producto;
+import com.onesteprest.onesteprest.pagination.CountCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class CountCacheTest {
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ModelChangeTracker changeTracker;
+
+    @Test
+    public void testCachedCountsFollowModelVersions() {
+        AtomicLong counted = new AtomicLong();
+        LongSupplier counter = counted::incrementAndGet;
+        String key = "testCachedCountsFollowModelVersions";
+
+        // 1. La segunda lectura sale de la caché
+        assertEquals(1, countCache.get(Producto.class, key, counter));
+        assertEquals(1, countCache.get(Producto.class, key, counter));
+
+        // 2. Un cambio del propio modelo deja el conteo obsoleto
+        changeTracker.changed(Producto.class);
+        assertEquals(2, countCache.get(Producto.class, key, counter));
+
+        // 3. También un cambio de un modelo relacionado, como los productos creados en cascada desde una categoría
+        changeTracker.changed(Categoria.class);
+        assertEquals(3, countCache.get(Producto.class, key, counter));
+        assertEquals(3, countCache.get(Producto.class, key, counter));
+    }
+}
@@ -1,7 +1,16 @@
 package com.onesteprest.onesteprest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.cache.ResultCache;
+import com.onesteprest.onesteprest.cache.SecondLevelCacheMetrics;
 import com.onesteprest.onesteprest.core.RestModelRegistry;
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.examples.Producto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -15,11 +24,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Arrays;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.not;
@@ -39,6 +54,15 @@ public class DynamicRestControllerIntegrationTest {
 
     @Autowired
     private RestModelRegistry restModelRegistry;
+    
+    @Autowired
+    private ResultCache resultCache;
+    
+    @Autowired
+    private SecondLevelCacheMetrics secondLevelCacheMetrics;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @BeforeEach
     public void setup() {
@@ -390,4 +414,898 @@ public class DynamicRestControllerIntegrationTest {
                 .andExpect(jsonPath("$.etiquetas[*].nombre", hasItems("Nuevo", "Destacado")))
                 .andExpect(jsonPath("$.etiquetas[*].nombre", not(hasItem("Oferta"))));
     }
-}
\ No newline at end of file
+    
+    @Test
+    @Order(7)
+    @Transactional
+    public void testExpandRelationships() throws Exception {
+        // 1. Crear una categoría y un producto asociado
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Audio");
+        categoriaData.put("descripcion", "Equipos de audio");
+        
+        MvcResult categoriaResult = mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(categoriaData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        
+        Map<String, Object> createdCategoria = objectMapper.readValue(
+                categoriaResult.getResponse().getContentAsString(), Map.class);
+        Number categoriaId = (Number) createdCategoria.get("id");
+        
+        Map<String, Object> productoData = new HashMap<>();
+        productoData.put("nombre", "Parlante");
+        productoData.put("precio", 59.99);
+        productoData.put("categoriaId", categoriaId);
+        
+        MvcResult productoResult = mockMvc.perform(post("/api/productos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productoData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        
+        Map<String, Object> createdProducto = objectMapper.readValue(
+                productoResult.getResponse().getContentAsString(), Map.class);
+        Number productoId = (Number) createdProducto.get("id");
+        
+        // 2. Sin relaciones: solo los campos escalares
+        mockMvc.perform(get("/api/productos/{id}", productoId)
+                .param("expand", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Parlante"))
+                .andExpect(jsonPath("$.categoria").doesNotExist())
+                .andExpect(jsonPath("$.etiquetas").doesNotExist());
+        
+        // 3. Expandir solo la categoría
+        mockMvc.perform(get("/api/productos/{id}", productoId)
+                .param("expand", "categoria"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoria.nombre").value("Audio"))
+                .andExpect(jsonPath("$.categoria.productos").doesNotExist())
+                .andExpect(jsonPath("$.etiquetas").doesNotExist());
+        
+        // 4. Expansión anidada en el listado
+        mockMvc.perform(get("/api/categorias")
+                .param("expand", "productos.etiquetas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[?(@.nombre == 'Audio')].productos[0].nombre").value("Parlante"))
+                .andExpect(jsonPath("$[?(@.nombre == 'Audio')].productos[0].etiquetas").exists())
+                .andExpect(jsonPath("$[?(@.nombre == 'Audio')].productos[0].categoria").doesNotExist());
+        
+        // 5. Una relación desconocida es un error del cliente, igual que una que Jackson no serializa
+        //    (Producto.categoria ignora sus productos con @JsonIgnoreProperties)
+        mockMvc.perform(get("/api/productos")
+                .param("expand", "inexistente"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/productos")
+                .param("expand", "categoria.productos"))
+                .andExpect(status().isBadRequest());
+        
+        // 6. Los caminos más largos que onesteprest.max-expand-depth también (relaciones cíclicas)
+        mockMvc.perform(get("/api/productos")
+                .param("expand", "categoria.productos.categoria.productos"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("deeper")));
+    }
+    
+    @Test
+    @Order(8)
+    @Transactional
+    public void testSparseFieldsets() throws Exception {
+        // 1. Crear una categoría y un producto asociado
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Fotografía");
+        categoriaData.put("descripcion", "Cámaras y accesorios");
+        
+        MvcResult categoriaResult = mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(categoriaData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        
+        Map<String, Object> createdCategoria = objectMapper.readValue(
+                categoriaResult.getResponse().getContentAsString(), Map.class);
+        Number categoriaId = (Number) createdCategoria.get("id");
+        
+        Map<String, Object> productoData = new HashMap<>();
+        productoData.put("nombre", "Cámara");
+        productoData.put("precio", 450.0);
+        productoData.put("categoriaId", categoriaId);
+        
+        mockMvc.perform(post("/api/productos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productoData)))
+                .andExpect(status().isOk());
+        
+        // 2. Solo los campos pedidos, con la categoría anidada
+        mockMvc.perform(get("/api/productos")
+                .param("fields", "id,nombre,categoria.nombre")
+                .param("filter_nombre_eq", "Cámara"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].nombre").value("Cámara"))
+                .andExpect(jsonPath("$[0].categoria.nombre").value("Fotografía"))
+                .andExpect(jsonPath("$[0].precio").doesNotExist())
+                .andExpect(jsonPath("$[0].etiquetas").doesNotExist());
+        
+        // 3. Con paginación se mantiene la estructura de página
+        mockMvc.perform(get("/api/productos")
+                .param("fields", "nombre")
+                .param("page", "0")
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].nombre").exists())
+                .andExpect(jsonPath("$.content[0].id").doesNotExist());
+        
+        // 4. Las colecciones y los campos desconocidos son errores del cliente
+        mockMvc.perform(get("/api/productos")
+                .param("fields", "etiquetas.nombre"))
+                .andExpect(status().isBadRequest());
+        
+        mockMvc.perform(get("/api/productos")
+                .param("fields", "inexistente"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Order(9)
+    @Transactional
+    public void testKeysetPagination() throws Exception {
+        // 1. Crear productos con precios repetidos para probar el desempate por id
+        double[] precios = {30.0, 10.0, 20.0, 10.0, 30.0};
+        for (int i = 0; i < precios.length; i++) {
+            Map<String, Object> productoData = new HashMap<>();
+            productoData.put("nombre", "Lote " + i);
+            productoData.put("precio", precios[i]);
+            
+            mockMvc.perform(post("/api/productos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(productoData)))
+                    .andExpect(status().isOk());
+        }
+        
+        // 2. Recorrer todas las páginas siguiendo nextCursor
+        List<Double> preciosLeidos = new ArrayList<>();
+        String cursor = "";
+        int paginas = 0;
+        do {
+            MvcResult result = mockMvc.perform(get("/api/productos")
+                    .param("filter_nombre_like", "Lote")
+                    .param("sortBy", "precio")
+                    .param("size", "2")
+                    .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn();
+            
+            Map<String, Object> pagina = objectMapper.readValue(
+                    result.getResponse().getContentAsString(), Map.class);
+            for (Object item : (List<?>) pagina.get("content")) {
+                preciosLeidos.add(((Number) ((Map<?, ?>) item).get("precio")).doubleValue());
+            }
+            cursor = (String) pagina.get("nextCursor");
+            paginas++;
+        } while (cursor != null);
+        
+        // 3. Todas las filas aparecen una sola vez y en orden
+        assertEquals(3, paginas);
+        assertEquals(Arrays.asList(10.0, 10.0, 20.0, 30.0, 30.0), preciosLeidos);
+        
+        // 4. Un cursor inválido es un error del cliente
+        mockMvc.perform(get("/api/productos")
+                .param("cursor", "no-es-un-cursor"))
+                .andExpect(status().isBadRequest());
+        
+        // 5. Un campo de orden que admite NULL se rechaza antes de leer: esas filas se saltarían
+        mockMvc.perform(get("/api/categorias")
+                .param("sortBy", "descripcion")
+                .param("size", "2")
+                .param("cursor", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("descripcion")));
+    }
+    
+    @Test
+    @Order(10)
+    public void testStreaming() throws Exception {
+        // 1. Crear productos (sin transacción de prueba: el streaming usa su propia transacción)
+        List<Number> ids = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Map<String, Object> productoData = new HashMap<>();
+            productoData.put("nombre", "Flujo " + i);
+            productoData.put("precio", 5.0 * i);
+            
+            MvcResult result = mockMvc.perform(post("/api/productos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(productoData)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ids.add((Number) objectMapper.readValue(result.getResponse().getContentAsString(), Map.class).get("id"));
+        }
+        
+        try {
+            // 2. Arreglo JSON con filtro y orden
+            MvcResult arrayResult = mockMvc.perform(get("/api/productos")
+                    .param("stream", "true")
+                    .param("filter_nombre_like", "Flujo")
+                    .param("sortBy", "precio")
+                    .param("direction", "desc"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            
+            // El streaming tiene su propio límite de tiempo, más largo que el del resto de peticiones asíncronas
+            assertEquals(3600 * 1000L, arrayResult.getRequest().getAsyncContext().getTimeout());
+            
+            mockMvc.perform(asyncDispatch(arrayResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(3)))
+                    .andExpect(jsonPath("$[0].nombre").value("Flujo 3"))
+                    .andExpect(jsonPath("$[2].nombre").value("Flujo 1"));
+            
+            // 3. NDJSON: un objeto por línea
+            MvcResult ndjsonResult = mockMvc.perform(get("/api/productos")
+                    .accept("application/x-ndjson")
+                    .param("filter_nombre_like", "Flujo")
+                    .param("sortBy", "precio"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            
+            mockMvc.perform(asyncDispatch(ndjsonResult))
+                    .andExpect(status().isOk());
+            
+            String[] lines = ndjsonResult.getResponse().getContentAsString().trim().split("\n");
+            assertEquals(3, lines.length);
+            assertEquals("Flujo 1", objectMapper.readValue(lines[0], Map.class).get("nombre"));
+        } finally {
+            // Limpiar para no afectar a otras pruebas que comparten la base de datos
+            for (Number id : ids) {
+                mockMvc.perform(delete("/api/productos/{id}", id));
+            }
+        }
+    }
+    
+    @Test
+    @Order(11)
+    @Transactional
+    public void testCountStrategies() throws Exception {
+        // 1. Crear productos para tener más de una página
+        for (int i = 1; i <= 3; i++) {
+            Map<String, Object> productoData = new HashMap<>();
+            productoData.put("nombre", "Conteo " + i);
+            productoData.put("precio", 1.0 * i);
+            
+            mockMvc.perform(post("/api/productos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(productoData)))
+                    .andExpect(status().isOk());
+        }
+        
+        // 2. Sin conteo: no hay totales, solo hasNext
+        mockMvc.perform(get("/api/productos")
+                .param("filter_nombre_like", "Conteo")
+                .param("page", "0")
+                .param("size", "2")
+                .param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        
+        // 3. Conteo en caché: se invalida al crear un producto
+        mockMvc.perform(get("/api/productos")
+                .param("filter_nombre_like", "Conteo")
+                .param("page", "0")
+                .param("size", "2")
+                .param("count", "cached"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3));
+        
+        Map<String, Object> productoData = new HashMap<>();
+        productoData.put("nombre", "Conteo 4");
+        productoData.put("precio", 4.0);
+        mockMvc.perform(post("/api/productos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productoData)))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/api/productos")
+                .param("filter_nombre_like", "Conteo")
+                .param("page", "0")
+                .param("size", "2")
+                .param("count", "cached"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(4));
+        
+        // 4. Conteo estimado: mantiene la forma de página
+        mockMvc.perform(get("/api/productos")
+                .param("page", "0")
+                .param("size", "2")
+                .param("count", "estimated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").isNumber());
+        
+        // 5. Una estrategia desconocida es un error del cliente
+        mockMvc.perform(get("/api/productos")
+                .param("page", "0")
+                .param("count", "aproximado"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Order(12)
+    @Transactional
+    public void testAggregation() throws Exception {
+        // 1. Crear una categoría y productos con y sin categoría
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Agregados");
+        
+        MvcResult categoriaResult = mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(categoriaData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Map<String, Object> createdCategoria = objectMapper.readValue(categoriaResult.getResponse().getContentAsString(), Map.class);
+        Number categoriaId = (Number) createdCategoria.get("id");
+        
+        Object[][] productos = {{"Agregado A", 100.0, categoriaId}, {"Agregado B", 300.0, categoriaId}, {"Agregado C", 50.0, null}};
+        for (Object[] producto : productos) {
+            Map<String, Object> productoData = new HashMap<>();
+            productoData.put("nombre", producto[0]);
+            productoData.put("precio", producto[1]);
+            if (producto[2] != null) {
+                productoData.put("categoriaId", producto[2]);
+            }
+            
+            mockMvc.perform(post("/api/productos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(productoData)))
+                    .andExpect(status().isOk());
+        }
+        
+        // 2. Agrupar por categoría: una fila por grupo, incluido el grupo sin categoría
+        mockMvc.perform(get("/api/productos/_aggregate")
+                .param("filter_nombre_like", "Agregado")
+                .param("groupBy", "categoria.id")
+                .param("metrics", "count,avg:precio,max:precio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns", contains("categoria.id", "count", "avg:precio", "max:precio")))
+                .andExpect(jsonPath("$.rows", hasSize(2)));
+        
+        // 3. having se aplica sobre las métricas de cada grupo
+        mockMvc.perform(get("/api/productos/_aggregate")
+                .param("filter_nombre_like", "Agregado")
+                .param("groupBy", "categoria.id")
+                .param("metrics", "count,avg:precio,max:precio")
+                .param("having", "count_gt_1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows", hasSize(1)))
+                .andExpect(jsonPath("$.rows[0][0]").value(categoriaId))
+                .andExpect(jsonPath("$.rows[0][1]").value(2))
+                .andExpect(jsonPath("$.rows[0][2]").value(200.0))
+                .andExpect(jsonPath("$.rows[0][3]").value(300.0));
+        
+        // 4. Sin groupBy se obtiene una sola fila con el total
+        mockMvc.perform(get("/api/productos/_aggregate")
+                .param("filter_nombre_like", "Agregado")
+                .param("metrics", "count,sum:precio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows", hasSize(1)))
+                .andExpect(jsonPath("$.rows[0][0]").value(3))
+                .andExpect(jsonPath("$.rows[0][1]").value(450.0));
+        
+        // 5. Métricas incompatibles con el tipo del campo son un error del cliente
+        mockMvc.perform(get("/api/productos/_aggregate")
+                .param("metrics", "sum:nombre"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Order(13)
+    @Transactional
+    public void testResultCache() throws Exception {
+        // 1. La segunda lectura de etiquetas (modelo con cache = true) sale de la caché
+        long hits = resultCache.getHits();
+        mockMvc.perform(get("/api/etiquetas"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/etiquetas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nombre", not(hasItem("Cacheada"))));
+        assertEquals(hits + 1, resultCache.getHits());
+        
+        // 2. Los productos no activan la caché
+        long misses = resultCache.getMisses();
+        mockMvc.perform(get("/api/productos"))
+                .andExpect(status().isOk());
+        assertEquals(misses, resultCache.getMisses());
+        
+        // 3. Crear una etiqueta invalida los resultados guardados
+        Map<String, Object> etiquetaData = new HashMap<>();
+        etiquetaData.put("nombre", "Cacheada");
+        etiquetaData.put("color", "gris");
+        mockMvc.perform(post("/api/etiquetas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(etiquetaData)))
+                .andExpect(status().isOk());
+        
+        // 4. La siguiente lectura no usa el resultado guardado y ve la etiqueta nueva
+        hits = resultCache.getHits();
+        mockMvc.perform(get("/api/etiquetas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nombre", hasItem("Cacheada")));
+        assertEquals(hits, resultCache.getHits());
+    }
+    
+    @Test
+    @Order(14)
+    @Transactional
+    public void testSecondLevelCache() throws Exception {
+        // Las estadísticas están desactivadas por defecto; se activan solo durante la prueba
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean wasEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            checkSecondLevelCache();
+        } finally {
+            statistics.setStatisticsEnabled(wasEnabled);
+        }
+    }
+    
+    private void checkSecondLevelCache() throws Exception {
+        // 1. Las regiones se declaran a partir de @RestModel(secondLevelCache = ...)
+        assertNotNull(secondLevelCacheMetrics.getRegionStatistics(Categoria.class.getName()));
+        assertNull(secondLevelCacheMetrics.getRegionStatistics(Producto.class.getName()));
+        
+        // 2. Crear una categoría
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Cacheable");
+        
+        MvcResult categoriaResult = mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(categoriaData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Map<String, Object> createdCategoria = objectMapper.readValue(categoriaResult.getResponse().getContentAsString(), Map.class);
+        Number categoriaId = (Number) createdCategoria.get("id");
+        
+        // 3. Con el contexto de persistencia vacío, la segunda lectura sale de la región
+        entityManager.flush();
+        entityManager.clear();
+        mockMvc.perform(get("/api/categorias/" + categoriaId))
+                .andExpect(status().isOk());
+        
+        CacheRegionStatistics region = secondLevelCacheMetrics.getRegionStatistics(Categoria.class.getName());
+        long hits = region.getHitCount();
+        entityManager.clear();
+        mockMvc.perform(get("/api/categorias/" + categoriaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Cacheable"));
+        assertTrue(secondLevelCacheMetrics.getRegionStatistics(Categoria.class.getName()).getHitCount() > hits);
+    }
+    
+    @Test
+    @Order(15)
+    @Transactional
+    public void testConditionalRequests() throws Exception {
+        // 1. Crear una categoría
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Condicional");
+        
+        MvcResult categoriaResult = mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(categoriaData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Map<String, Object> createdCategoria = objectMapper.readValue(categoriaResult.getResponse().getContentAsString(), Map.class);
+        Number categoriaId = (Number) createdCategoria.get("id");
+        
+        // 2. La respuesta incluye un ETag fuerte; repetirlo con If-None-Match devuelve 304 sin cuerpo
+        String etag = mockMvc.perform(get("/api/categorias/{id}", categoriaId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/api/categorias/{id}", categoriaId)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        
+        // 3. Un producto nuevo en la categoría cambia su representación y su ETag
+        Map<String, Object> productoData = new HashMap<>();
+        productoData.put("nombre", "Producto condicional");
+        productoData.put("precio", 10.0);
+        productoData.put("categoriaId", categoriaId);
+        mockMvc.perform(post("/api/productos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productoData)))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/api/categorias/{id}", categoriaId)
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+        
+        // 4. Los listados usan un ETag débil que depende de los parámetros
+        String listEtag = mockMvc.perform(get("/api/categorias").param("page", "0"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/")))
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/api/categorias").param("page", "0")
+                .header("If-None-Match", listEtag))
+                .andExpect(status().isNotModified());
+        
+        mockMvc.perform(get("/api/categorias").param("page", "1")
+                .header("If-None-Match", listEtag))
+                .andExpect(status().isOk());
+        
+        // 5. Una entidad inexistente no tiene ETag
+        mockMvc.perform(get("/api/categorias/{id}", 999999))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"));
+        
+        // 6. Sin cabeceras condicionales el ETag sale de la entidad cargada y coincide con el de la consulta
+        String currentEtag = mockMvc.perform(get("/api/categorias/{id}", categoriaId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/categorias/{id}", categoriaId)
+                .header("If-None-Match", "\"otro\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", currentEtag));
+    }
+    
+    @Test
+    @Order(16)
+    @Transactional
+    public void testMultiGet() throws Exception {
+        // 1. Crear dos categorías
+        List<Number> categoriaIds = new ArrayList<>();
+        for (String nombre : Arrays.asList("Multi A", "Multi B")) {
+            Map<String, Object> categoriaData = new HashMap<>();
+            categoriaData.put("nombre", nombre);
+            
+            MvcResult categoriaResult = mockMvc.perform(post("/api/categorias")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(categoriaData)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            Map<String, Object> createdCategoria = objectMapper.readValue(categoriaResult.getResponse().getContentAsString(), Map.class);
+            categoriaIds.add((Number) createdCategoria.get("id"));
+        }
+        
+        // 2. ids= devuelve las entidades en el orden pedido, con null y missing para los IDs inexistentes
+        mockMvc.perform(get("/api/categorias")
+                .param("ids", categoriaIds.get(1) + ",999999," + categoriaIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(3)))
+                .andExpect(jsonPath("$.results[0].nombre").value("Multi B"))
+                .andExpect(jsonPath("$.results[1]").value(nullValue()))
+                .andExpect(jsonPath("$.results[2].nombre").value("Multi A"))
+                .andExpect(jsonPath("$.missing", contains(999999)));
+        
+        // 3. _mget acepta los IDs en el cuerpo, también repetidos
+        Map<String, Object> body = new HashMap<>();
+        body.put("ids", Arrays.asList(categoriaIds.get(0), categoriaIds.get(0)));
+        mockMvc.perform(post("/api/categorias/_mget")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[1].nombre").value("Multi A"))
+                .andExpect(jsonPath("$.missing", hasSize(0)));
+        
+        // 4. IDs que no se pueden convertir al tipo del @Id son un error del cliente
+        mockMvc.perform(get("/api/categorias").param("ids", "uno,dos"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Order(17)
+    @Transactional
+    public void testBulkCreate() throws Exception {
+        // 1. Dos productos válidos y uno sin nombre y con precio negativo
+        List<Map<String, Object>> productos = new ArrayList<>();
+        for (Object[] datos : new Object[][] {{"Masivo A", 10.0}, {"", -1.0}, {"Masivo B", 20.0}}) {
+            Map<String, Object> productoData = new HashMap<>();
+            productoData.put("nombre", datos[0]);
+            productoData.put("precio", datos[1]);
+            productos.add(productoData);
+        }
+        
+        // 2. Cada elemento tiene su propio estado y los válidos se crean igualmente
+        MvcResult bulkResult = mockMvc.perform(post("/api/productos/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[0].status").value(201))
+                .andExpect(jsonPath("$.items[1].index").value(1))
+                .andExpect(jsonPath("$.items[1].status").value(400))
+                .andExpect(jsonPath("$.items[1].errors.nombre").exists())
+                .andExpect(jsonPath("$.items[1].errors.precio").exists())
+                .andExpect(jsonPath("$.items[2].status").value(201))
+                .andReturn();
+        
+        // 3. Los IDs devueltos corresponden a entidades guardadas
+        Map<String, Object> result = objectMapper.readValue(bulkResult.getResponse().getContentAsString(), Map.class);
+        Map<String, Object> ultimo = ((List<Map<String, Object>>) result.get("items")).get(2);
+        mockMvc.perform(get("/api/productos/" + ultimo.get("id")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Masivo B"));
+        
+        // 4. Un cuerpo que no es un array es un error del cliente
+        mockMvc.perform(post("/api/productos/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nombre\": \"Suelto\"}"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Order(18)
+    @Transactional
+    public void testBulkUpdate() throws Exception {
+        // 1. Crear una categoría con dos productos y un producto fuera de ella
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Reprecio");
+        MvcResult categoriaResult = mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(categoriaData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Number categoriaId = (Number) objectMapper.readValue(categoriaResult.getResponse().getContentAsString(), Map.class).get("id");
+        
+        List<Number> productoIds = new ArrayList<>();
+        for (String nombre : Arrays.asList("Reprecio A", "Reprecio B", "Reprecio C")) {
+            Map<String, Object> productoData = new HashMap<>();
+            productoData.put("nombre", nombre);
+            productoData.put("precio", 10.0);
+            if (!nombre.endsWith("C")) {
+                productoData.put("categoria", Map.of("id", categoriaId));
+            }
+            MvcResult productoResult = mockMvc.perform(post("/api/productos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(productoData)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            productoIds.add((Number) objectMapper.readValue(productoResult.getResponse().getContentAsString(), Map.class).get("id"));
+        }
+        
+        // 2. Una sola sentencia actualiza los productos de la categoría
+        mockMvc.perform(patch("/api/productos/_bulk")
+                .param("filter_categoria.id_eq", categoriaId.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"precio\": 25.5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+        
+        mockMvc.perform(get("/api/productos/" + productoIds.get(1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.precio").value(25.5));
+        mockMvc.perform(get("/api/productos/" + productoIds.get(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.precio").value(10.0));
+        
+        // 3. Los filtros a través de relaciones también funcionan
+        mockMvc.perform(patch("/api/productos/_bulk")
+                .param("filter_categoria.nombre_eq", "Reprecio")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"precio\": 30}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+        
+        // 4. Los valores se validan contra las restricciones del campo
+        mockMvc.perform(patch("/api/productos/_bulk")
+                .param("filter_categoria.id_eq", categoriaId.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"precio\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.precio").exists());
+        
+        // 5. Sin filtro, sobre campos no asignables o en modelos sin la opción es un error del cliente
+        mockMvc.perform(patch("/api/productos/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"precio\": 1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/productos/_bulk")
+                .param("filter_categoria.id_eq", categoriaId.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"categoria\": 1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/categorias/_bulk")
+                .param("filter_nombre_eq", "Reprecio")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"descripcion\": \"x\"}"))
+                .andExpect(status().isBadRequest());
+        
+        // 6. Un filtro inutilizable junto a otro válido no se descarta: la actualización afectaría a más filas
+        mockMvc.perform(patch("/api/productos/_bulk")
+                .param("filter_categoria.id_eq", categoriaId.toString())
+                .param("filter_precio_between", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"precio\": 99}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/productos/_bulk")
+                .param("filter", "{\"filters\":[{\"field\":\"categoria.id\",\"operation\":\"EQUAL\",\"value\":" + categoriaId + "}," +
+                                 "{\"field\":\"precio\",\"operation\":\"BETWEEN\",\"value\":1}]}")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"precio\": 99}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("precio")));
+        mockMvc.perform(patch("/api/productos/_bulk")
+                .param("filter", "{\"filters\":[{\"field\":\"categoria.id\",\"operation\":\"EQUAL\",\"value\":" + categoriaId + "}," +
+                                 "{\"field\":\"nombre\",\"operation\":\"LIKE\",\"value\":null}]}")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"precio\": 99}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/productos/" + productoIds.get(1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.precio").value(30.0));
+    }
+    
+    @Test
+    @Order(19)
+    @Transactional
+    public void testBulkDelete() throws Exception {
+        // 1. Crear una etiqueta y una categoría con dos productos etiquetados
+        Map<String, Object> etiquetaData = new HashMap<>();
+        etiquetaData.put("nombre", "Purga");
+        etiquetaData.put("color", "#000000");
+        MvcResult etiquetaResult = mockMvc.perform(post("/api/etiquetas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(etiquetaData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Number etiquetaId = (Number) objectMapper.readValue(etiquetaResult.getResponse().getContentAsString(), Map.class).get("id");
+        
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Purga");
+        MvcResult categoriaResult = mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(categoriaData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Number categoriaId = (Number) objectMapper.readValue(categoriaResult.getResponse().getContentAsString(), Map.class).get("id");
+        
+        List<Number> productoIds = new ArrayList<>();
+        for (String nombre : Arrays.asList("Purga A", "Purga B")) {
+            Map<String, Object> productoData = new HashMap<>();
+            productoData.put("nombre", nombre);
+            productoData.put("precio", 5.0);
+            productoData.put("categoria", Map.of("id", categoriaId));
+            productoData.put("etiquetas", Arrays.asList(Map.of("id", etiquetaId)));
+            MvcResult productoResult = mockMvc.perform(post("/api/productos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(productoData)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            productoIds.add((Number) objectMapper.readValue(productoResult.getResponse().getContentAsString(), Map.class).get("id"));
+        }
+        
+        // 2. Un filtro inutilizable no se descarta: el borrado afectaría a más filas
+        mockMvc.perform(delete("/api/productos")
+                .param("filter_nombre_like", "Purga")
+                .param("filter_precio_between", "1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/productos")
+                .param("filter_nombre_like", "Purga")
+                .param("filter_precio_lt_al", "10"))
+                .andExpect(status().isBadRequest());
+        
+        // También en el formato JSON: un BETWEEN sin secondValue, un IN sin lista o un GT sin valor
+        mockMvc.perform(delete("/api/productos")
+                .param("filter", "{\"filters\":[{\"field\":\"categoria.id\",\"operation\":\"EQUAL\",\"value\":" + categoriaId + "}," +
+                                 "{\"field\":\"precio\",\"operation\":\"BETWEEN\",\"value\":10}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("precio")));
+        mockMvc.perform(delete("/api/productos")
+                .param("filter", "{\"filters\":[{\"field\":\"nombre\",\"operation\":\"LIKE\",\"value\":\"Purga\"}," +
+                                 "{\"field\":\"precio\",\"operation\":\"IN\",\"value\":5}]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/productos")
+                .param("filter", "{\"filters\":[{\"field\":\"nombre\",\"operation\":\"LIKE\",\"value\":\"Purga\"}," +
+                                 "{\"field\":\"precio\",\"operation\":\"GREATER_THAN\",\"value\":null}]}"))
+                .andExpect(status().isBadRequest());
+        for (Number productoId : productoIds) {
+            mockMvc.perform(get("/api/productos/" + productoId))
+                    .andExpect(status().isOk());
+        }
+        
+        // 3. Borrar la categoría por filtro borra en cascada sus productos y sus filas de producto_etiqueta
+        mockMvc.perform(delete("/api/categorias")
+                .param("filter_nombre_eq", "Purga"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+        
+        mockMvc.perform(get("/api/categorias/" + categoriaId))
+                .andExpect(status().isNotFound());
+        for (Number productoId : productoIds) {
+            mockMvc.perform(get("/api/productos/" + productoId))
+                    .andExpect(status().isNotFound());
+        }
+        
+        // 4. La etiqueta se conserva
+        mockMvc.perform(get("/api/etiquetas/" + etiquetaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Purga"));
+        
+        // 5. Sin filtro o en modelos sin la opción es un error del cliente
+        mockMvc.perform(delete("/api/productos"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/etiquetas")
+                .param("filter_nombre_eq", "Purga"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Order(20)
+    @Transactional
+    public void testMergePatch() throws Exception {
+        MediaType mergePatch = MediaType.valueOf("application/merge-patch+json");
+        
+        // 1. Crear un producto con categoría
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Parches");
+        MvcResult categoriaResult = mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(categoriaData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Number categoriaId = (Number) objectMapper.readValue(categoriaResult.getResponse().getContentAsString(), Map.class).get("id");
+        
+        Map<String, Object> productoData = new HashMap<>();
+        productoData.put("nombre", "Parcheado");
+        productoData.put("precio", 40.0);
+        productoData.put("categoria", Map.of("id", categoriaId));
+        MvcResult productoResult = mockMvc.perform(post("/api/productos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productoData)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Number productoId = (Number) objectMapper.readValue(productoResult.getResponse().getContentAsString(), Map.class).get("id");
+        
+        // 2. Solo cambia la propiedad enviada; el resto y las relaciones se conservan
+        mockMvc.perform(patch("/api/productos/" + productoId)
+                .contentType(mergePatch)
+                .content("{\"precio\": 50}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.precio").value(50.0))
+                .andExpect(jsonPath("$.nombre").value("Parcheado"))
+                .andExpect(jsonPath("$.categoria.id").value(categoriaId));
+        
+        // 3. Un valor null borra la propiedad
+        mockMvc.perform(patch("/api/productos/" + productoId)
+                .contentType(mergePatch)
+                .content("{\"categoria\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoria").doesNotExist())
+                .andExpect(jsonPath("$.precio").value(50.0));
+        
+        // 4. Solo se validan las propiedades enviadas
+        mockMvc.perform(patch("/api/productos/" + productoId)
+                .contentType(mergePatch)
+                .content("{\"nombre\": \"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.nombre").exists())
+                .andExpect(jsonPath("$.errors.precio").doesNotExist());
+        
+        // 5. Propiedades desconocidas, cambios de ID y entidades inexistentes
+        mockMvc.perform(patch("/api/productos/" + productoId)
+                .contentType(mergePatch)
+                .content("{\"noExiste\": 1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/productos/" + productoId)
+                .contentType(mergePatch)
+                .content("{\"id\": 999999}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/productos/999999")
+                .contentType(mergePatch)
+                .content("{\"precio\": 1}"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,52 @@
+package com.onesteprest.onesteprest;
+
+import com.onesteprest.onesteprest.config.ExecutionModeEnvironmentPostProcessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionModeEnvironmentPostProcessorTest {
+
+    private static StandardEnvironment postProcess(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        new ExecutionModeEnvironmentPostProcessor().postProcessEnvironment(environment, new SpringApplication());
+        return environment;
+    }
+
+    @Test
+    public void testExecutionModeMapsToVirtualThreads() {
+        // 1. virtual activa los hilos virtuales de Spring Boot, sin distinguir mayúsculas
+        assertEquals("true", postProcess(Map.of("onesteprest.execution", "virtual"))
+                .getProperty("spring.threads.virtual.enabled"));
+        assertEquals("true", postProcess(Map.of("onesteprest.execution", " Virtual "))
+                .getProperty("spring.threads.virtual.enabled"));
+
+        // 2. platform, o no indicar nada, no cambia la configuración
+        assertNull(postProcess(Map.of("onesteprest.execution", "platform"))
+                .getProperty("spring.threads.virtual.enabled"));
+        assertNull(postProcess(Map.of()).getProperty("spring.threads.virtual.enabled"));
+    }
+
+    @Test
+    public void testExplicitVirtualThreadsSettingWins() {
+        // 1. Un spring.threads.virtual.enabled explícito tiene prioridad sobre el modo
+        StandardEnvironment environment = postProcess(Map.of("onesteprest.execution", "virtual",
+                                                             "spring.threads.virtual.enabled", "false"));
+        assertEquals("false", environment.getProperty("spring.threads.virtual.enabled"));
+    }
+
+    @Test
+    public void testInvalidExecutionModeIsRejected() {
+        // 1. Un valor desconocido impide arrancar, indicando los valores válidos
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> postProcess(Map.of("onesteprest.execution", "reactive")));
+        assertTrue(error.getMessage().contains("reactive"));
+        assertTrue(error.getMessage().contains("platform or virtual"));
+    }
+}
@@ -2,7 +2,11 @@ package com.onesteprest.onesteprest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onesteprest.onesteprest.core.RestModelRegistry;
+import com.onesteprest.onesteprest.examples.Producto;
 import com.onesteprest.onesteprest.filters.FilterOperation;
+import com.onesteprest.onesteprest.filters.FilterPlanCache;
+import com.onesteprest.onesteprest.search.SearchIndex;
+import com.onesteprest.onesteprest.search.TrigramIndex;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +19,12 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -35,6 +42,12 @@ public class FilterFunctionalityTest {
     @Autowired
     private RestModelRegistry restModelRegistry;
 
+    @Autowired
+    private FilterPlanCache filterPlanCache;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @Test
     @Transactional
     public void testFilteringByQueryParams() throws Exception {
@@ -161,6 +174,235 @@ public class FilterFunctionalityTest {
                 .andExpect(jsonPath("$[0].nombre", equalTo("Mesa")));
     }
     
+    @Test
+    @Transactional
+    public void testFilterPlanValidationAndCache() throws Exception {
+        // 1. Registrar modelos y crear datos
+        restModelRegistry.registerModels();
+        createCategoria("Electrónicos", "Productos electrónicos y gadgets");
+        createProducto("Smartphone", 799.99, 1L);
+        createProducto("Auriculares", 99.99, 1L);
+        
+        // 2. La misma forma de filtro con distintos valores reutiliza el plan compilado
+        long missesBefore = filterPlanCache.getMisses();
+        long hitsBefore = filterPlanCache.getHits();
+        
+        mockMvc.perform(get("/api/productos")
+                .param("filter_precio_gt", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        
+        mockMvc.perform(get("/api/productos")
+                .param("filter_precio_gt", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+        
+        assertEquals(missesBefore + 1, filterPlanCache.getMisses());
+        assertTrue(filterPlanCache.getHits() > hitsBefore);
+        
+        // 3. Campos desconocidos y operaciones incompatibles se rechazan con 400
+        mockMvc.perform(get("/api/productos")
+                .param("filter_inexistente_eq", "1"))
+                .andExpect(status().isBadRequest());
+        
+        mockMvc.perform(get("/api/productos")
+                .param("filter_precio_like", "99"))
+                .andExpect(status().isBadRequest());
+        
+        // 4. Un valor que no se puede convertir al tipo del campo también es un error del cliente
+        mockMvc.perform(get("/api/productos")
+                .param("filter_precio_gt", "caro"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Transactional
+    public void testCollectionFilters() throws Exception {
+        // 1. Registrar modelos y crear datos con relaciones de colección
+        restModelRegistry.registerModels();
+        createCategoria("Electrónicos", "Productos electrónicos y gadgets");
+        createCategoria("Hogar", "Artículos para el hogar");
+        createEtiqueta("Oferta");
+        createEtiqueta("Nuevo");
+        
+        createProducto("Smartphone", 799.99, 1L, List.of(1L, 2L));
+        createProducto("Laptop", 1299.99, 1L, List.of(2L));
+        createProducto("Mesa", 249.99, 2L, List.of(1L));
+        createProducto("Silla", 89.99, 2L, List.of());
+        
+        // 2. Por defecto basta con que algún elemento cumpla (any), sin filas duplicadas
+        mockMvc.perform(get("/api/productos")
+                .param("filter_etiquetas.nombre_eq", "Oferta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].nombre", hasItems("Smartphone", "Mesa")));
+        
+        // 3. none: ningún elemento cumple la condición
+        mockMvc.perform(get("/api/productos")
+                .param("filter_etiquetas.nombre_eq_none", "Oferta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].nombre", hasItems("Laptop", "Silla")));
+        
+        // 4. all: todos los elementos cumplen (una colección vacía también)
+        mockMvc.perform(get("/api/productos")
+                .param("filter_etiquetas.nombre_eq_all", "Nuevo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].nombre", hasItems("Laptop", "Silla")));
+        
+        // 5. Colecciones @OneToMany desde el otro lado de la relación
+        mockMvc.perform(get("/api/categorias")
+                .param("filter_productos.precio_gt", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nombre", equalTo("Electrónicos")));
+        
+        mockMvc.perform(get("/api/categorias")
+                .param("filter_productos.precio_gt_all", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nombre", equalTo("Electrónicos")));
+        
+        // 6. El conteo de la página cuenta raíces, no combinaciones con la colección
+        mockMvc.perform(get("/api/productos")
+                .param("page", "0")
+                .param("size", "10")
+                .param("filter_etiquetas.nombre_like", "e"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.totalElements", equalTo(3)));
+        
+        // 7. Un cuantificador sobre un campo que no es de una colección es un error del cliente
+        mockMvc.perform(get("/api/productos")
+                .param("filter_precio_gt_all", "100"))
+                .andExpect(status().isBadRequest());
+
+        // 8. Un cuantificador o una operación desconocidos no se ignoran: devolverían la lista sin filtrar
+        mockMvc.perform(get("/api/productos")
+                .param("filter_etiquetas.nombre_eq_alll", "Oferta"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/productos")
+                .param("filter_precio_gtt", "100"))
+                .andExpect(status().isBadRequest());
+
+        // 9. La operación se lee desde el final: un campo con '_' llega entero al plan,
+        //    que lo rechaza por desconocido en lugar de filtrar otro campo
+        mockMvc.perform(get("/api/productos")
+                .param("filter_nombre_corto_eq", "Mesa"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Transactional
+    public void testFacets() throws Exception {
+        // 1. Registrar modelos y crear datos
+        restModelRegistry.registerModels();
+        createCategoria("Electrónicos", "Productos electrónicos y gadgets");
+        createCategoria("Hogar", "Artículos para el hogar");
+        createEtiqueta("Oferta");
+        createEtiqueta("Nuevo");
+        
+        createProducto("Smartphone", 799.99, 1L, List.of(1L, 2L));
+        createProducto("Laptop", 1299.99, 1L, List.of(2L));
+        createProducto("Mesa", 249.99, 2L, List.of(1L));
+        createProducto("Silla", 89.99, 2L, List.of());
+        
+        // 2. Conteos por valor (también a través de colecciones) e histograma en una sola petición
+        mockMvc.perform(get("/api/productos/_facets")
+                .param("facets", "categoria.nombre,etiquetas.nombre")
+                .param("histogram", "precio:500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.facets['categoria.nombre']", hasSize(2)))
+                .andExpect(jsonPath("$.facets['categoria.nombre'][0].value").value("Electrónicos"))
+                .andExpect(jsonPath("$.facets['categoria.nombre'][0].count").value(2))
+                .andExpect(jsonPath("$.facets['etiquetas.nombre']", hasSize(2)))
+                .andExpect(jsonPath("$.facets['etiquetas.nombre'][0].value").value("Nuevo"))
+                .andExpect(jsonPath("$.facets['etiquetas.nombre'][0].count").value(2))
+                .andExpect(jsonPath("$.histograms.precio", hasSize(3)))
+                .andExpect(jsonPath("$.histograms.precio[0].count").value(2))
+                .andExpect(jsonPath("$.histograms.precio[2].count").value(1));
+        
+        // 3. Los filtros activos se aplican a todas las facetas
+        mockMvc.perform(get("/api/productos/_facets")
+                .param("facets", "categoria.nombre")
+                .param("filter_precio_gt", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.facets['categoria.nombre'][0].value").value("Electrónicos"))
+                .andExpect(jsonPath("$.facets['categoria.nombre'][1].count").value(1));
+        
+        // 4. Un intervalo no positivo es un error del cliente
+        mockMvc.perform(get("/api/productos/_facets")
+                .param("histogram", "precio:0"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Transactional
+    public void testSearchIndex() throws Exception {
+        // 1. Registrar modelos y crear datos; los productos nuevos se agregan al índice
+        restModelRegistry.registerModels();
+        createCategoria("Electrónicos", "Productos electrónicos y gadgets");
+        createProducto("Smartphone", 799.99, 1L);
+        createProducto("Laptop", 1299.99, 1L);
+        createProducto("Auriculares", 99.99, 1L);
+        
+        TrigramIndex index = searchIndex.get(Producto.class, "nombre");
+        assertEquals(1, index.candidates(List.of("phone")).size());
+        
+        // 2. search: contiene el valor sin distinguir mayúsculas
+        mockMvc.perform(get("/api/productos")
+                .param("filter_nombre_search", "PHONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nombre", equalTo("Smartphone")));
+        
+        // 3. like usa los candidatos del índice y mantiene su comportamiento
+        mockMvc.perform(get("/api/productos")
+                .param("filter_nombre_like", "top"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nombre", equalTo("Laptop")));
+        
+        mockMvc.perform(get("/api/productos")
+                .param("filter_nombre_like", "TOP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        
+        // 4. Valores de menos de tres caracteres recorren la tabla
+        mockMvc.perform(get("/api/productos")
+                .param("filter_nombre_like", "a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+        
+        // 5. search solo se admite en campos de texto
+        mockMvc.perform(get("/api/productos")
+                .param("filter_precio_search", "99"))
+                .andExpect(status().isBadRequest());
+
+        // 6. Los productos creados en cascada dentro de una categoría también se indexan
+        Map<String, Object> tabletData = new HashMap<>();
+        tabletData.put("nombre", "Tableta gráfica");
+        tabletData.put("precio", 199.99);
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Diseño");
+        categoriaData.put("productos", List.of(tabletData));
+        mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(categoriaData)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, index.candidates(List.of("tableta")).size());
+        mockMvc.perform(get("/api/productos")
+                .param("filter_nombre_like", "Tableta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nombre", equalTo("Tableta gráfica")));
+    }
+    
     // Helpers
     
     private void createCategoria(String nombre, String descripcion) throws Exception {
@@ -185,4 +427,27 @@ public class FilterFunctionalityTest {
                 .content(objectMapper.writeValueAsString(productoData)))
                 .andExpect(status().isOk());
     }
+    
+    private void createEtiqueta(String nombre) throws Exception {
+        Map<String, Object> etiquetaData = new HashMap<>();
+        etiquetaData.put("nombre", nombre);
+        
+        mockMvc.perform(post("/api/etiquetas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(etiquetaData)))
+                .andExpect(status().isOk());
+    }
+    
+    private void createProducto(String nombre, Double precio, Long categoriaId, List<Long> etiquetasIds) throws Exception {
+        Map<String, Object> productoData = new HashMap<>();
+        productoData.put("nombre", nombre);
+        productoData.put("precio", precio);
+        productoData.put("categoriaId", categoriaId);
+        productoData.put("etiquetasIds", etiquetasIds);
+        
+        mockMvc.perform(post("/api/productos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productoData)))
+                .andExpect(status().isOk());
+    }
 }
@@ -0,0 +1,126 @@
+package com.onesteprest.onesteprest;
+
+import com.onesteprest.onesteprest.core.ModelDescriptor;
+import com.onesteprest.onesteprest.core.RelationshipDescriptor;
+import com.onesteprest.onesteprest.utils.EntityRelationshipManager;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ModelDescriptorTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Superclass declaring the ID and a relationship of its entities, only used by this test.
+     */
+    @MappedSuperclass
+    public abstract static class Publicacion {
+
+        @Id
+        @GeneratedValue
+        private Long id;
+
+        @ManyToOne
+        private Autor autor;
+
+        public Long getId() {
+            return id;
+        }
+
+        public Autor getAutor() {
+            return autor;
+        }
+    }
+
+    @Entity
+    public static class Libro extends Publicacion {
+
+        private String titulo;
+    }
+
+    @Entity
+    public static class Autor {
+
+        @Id
+        @GeneratedValue
+        private Long id;
+
+        private String nombre;
+
+        @OneToMany(mappedBy = "autor")
+        private List<Libro> libros = new ArrayList<>();
+
+        public List<Libro> getLibros() {
+            return libros;
+        }
+    }
+
+    @Test
+    public void testDescriptorIncludesSuperclassFields() {
+        ModelDescriptor descriptor = ModelDescriptor.of(Libro.class);
+
+        // 1. El ID de la superclase, con su tipo
+        assertNotNull(descriptor.getIdField());
+        assertEquals(Publicacion.class, descriptor.getIdField().getDeclaringClass());
+        assertEquals(Long.class, descriptor.getIdType());
+
+        Libro libro = new Libro();
+        descriptor.setId(libro, 7L);
+        assertEquals(7L, libro.getId());
+        assertEquals(7L, descriptor.getId(libro));
+
+        // 2. La relación declarada en la superclase, y los campos propios como escalares
+        RelationshipDescriptor autor = descriptor.getRelationship("autor");
+        assertNotNull(autor);
+        assertEquals(RelationshipDescriptor.Kind.MANY_TO_ONE, autor.getKind());
+        assertEquals(Autor.class, autor.getTargetType());
+        assertTrue(descriptor.getScalarFields().stream().anyMatch(field -> field.getName().equals("titulo")));
+
+        // 3. El lado inverso se encuentra por el nombre del campo heredado
+        assertNotNull(ModelDescriptor.of(Autor.class).getInverse(RelationshipDescriptor.Kind.ONE_TO_MANY, "autor"));
+    }
+
+    @Test
+    @Transactional
+    public void testBackReferencesThroughSuperclassRelationship() {
+        Autor autor = new Autor();
+        autor.nombre = "Cervantes";
+        entityManager.persist(autor);
+
+        // 1. El ID de la petición se convierte al tipo del @Id heredado y se carga la relación
+        Libro libro = new Libro();
+        libro.titulo = "El Quijote";
+        EntityRelationshipManager.processRelationshipFields(libro, Map.of("autorId", autor.id.intValue()), entityManager);
+        assertSame(autor, libro.getAutor());
+
+        // 2. La colección inversa del autor recibe el libro
+        assertTrue(autor.getLibros().contains(libro));
+        entityManager.persist(libro);
+
+        // 3. Desde el lado inverso, la referencia heredada de cada libro apunta al autor
+        Autor otroAutor = new Autor();
+        otroAutor.nombre = "Anónimo";
+        entityManager.persist(otroAutor);
+        EntityRelationshipManager.processRelationshipFields(otroAutor, Map.of("librosIds", List.of(libro.getId())),
+                                                            entityManager);
+        assertEquals(List.of(libro), otroAutor.getLibros());
+        assertSame(otroAutor, libro.getAutor());
+    }
+}
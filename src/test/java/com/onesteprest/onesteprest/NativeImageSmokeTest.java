@@ -0,0 +1,148 @@
+package com.onesteprest.onesteprest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.config.OneStepRestRuntimeHints;
+import com.onesteprest.onesteprest.core.RestModelIndex;
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.examples.Etiqueta;
+import com.onesteprest.onesteprest.examples.Producto;
+import com.onesteprest.onesteprest.filters.FilterSpecification;
+import com.onesteprest.onesteprest.service.EventPublisher;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class NativeImageSmokeTest {
+
+    private static final String BINARY_PROPERTY = "onesteprest.native-binary";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void testRuntimeHintsCoverModelsEventsAndFilters() {
+        RuntimeHints hints = new RuntimeHints();
+        new OneStepRestRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // 1. Los modelos del índice, con sus campos para los descriptores
+        for (Class<?> modelClass : new Class<?>[] {Producto.class, Categoria.class, Etiqueta.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(modelClass)
+                               .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints),
+                       "Sin pistas de reflexión para " + modelClass.getName());
+        }
+
+        // 2. Los eventos publicados y los DTO de filtros
+        assertTrue(RuntimeHintsPredicates.reflection().onType(EventPublisher.AfterCreateEventImpl.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(FilterSpecification.class).test(hints));
+
+        // 3. El índice debe estar en la imagen: es lo que sustituye al escaneo
+        assertTrue(RuntimeHintsPredicates.resource().forResource(RestModelIndex.LOCATION).test(hints));
+
+        // 4. La configuración del proveedor de caché, con los valores de la aplicación
+        assertTrue(RuntimeHintsPredicates.resource().forResource("reference.conf").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("application.conf").test(hints));
+    }
+
+    @Test
+    public void testNativeBinaryCrud() throws Exception {
+        // Solo con la tarea nativeSmokeTest, que compila el binario con GraalVM
+        String binary = System.getProperty(BINARY_PROPERTY);
+        assumeTrue(binary != null && new File(binary).canExecute(), "Sin binario nativo en " + BINARY_PROPERTY);
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Process process = new ProcessBuilder(binary,
+                                             "--server.port=" + port,
+                                             "--spring.datasource.url=jdbc:h2:mem:native;DB_CLOSE_DELAY=-1",
+                                             "--spring.jpa.show-sql=false")
+                .inheritIO()
+                .start();
+        try {
+            String baseUrl = "http://localhost:" + port;
+            waitForHealth(baseUrl, process);
+
+            // 1. Crear una categoría y un producto asociado
+            Map<String, Object> categoria = send("POST", baseUrl + "/api/categorias",
+                                                 Map.of("nombre", "Hogar", "descripcion", "Artículos para el hogar"), 200);
+            Number categoriaId = (Number) categoria.get("id");
+            assertNotNull(categoriaId);
+
+            Map<String, Object> producto = send("POST", baseUrl + "/api/productos",
+                                                Map.of("nombre", "Lámpara", "precio", 25.5, "categoriaId", categoriaId), 200);
+            Number productoId = (Number) producto.get("id");
+            assertNotNull(productoId);
+            assertEquals(categoriaId.longValue(), ((Number) ((Map<?, ?>) producto.get("categoria")).get("id")).longValue());
+
+            // 2. Leerlo, actualizarlo y filtrar
+            assertEquals("Lámpara", send("GET", baseUrl + "/api/productos/" + productoId, null, 200).get("nombre"));
+
+            Map<String, Object> actualizado = send("PUT", baseUrl + "/api/productos/" + productoId,
+                                                   Map.of("id", productoId, "nombre", "Lámpara LED", "precio", 30.0,
+                                                          "categoriaId", categoriaId), 200);
+            assertEquals("Lámpara LED", actualizado.get("nombre"));
+
+            HttpResponse<String> filtrados = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/api/productos?filter_precio_gt=20")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, filtrados.statusCode());
+            assertTrue(filtrados.body().contains("Lámpara LED"));
+
+            // 3. Borrarlo y comprobar que ya no existe
+            send("DELETE", baseUrl + "/api/productos/" + productoId, null, 204);
+            send("GET", baseUrl + "/api/productos/" + productoId, null, 404);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private void waitForHealth(String baseUrl, Process process) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            assertTrue(process.isAlive(), "El binario nativo terminó al arrancar");
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Todavía no escucha en el puerto
+            }
+            Thread.sleep(100);
+        }
+        fail("El binario nativo no respondió en " + baseUrl + "/actuator/health");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> send(String method, String url, Object body, int expectedStatus) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method(method, publisher)
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), method + " " + url + ": " + response.body());
+        return response.body().isEmpty() || expectedStatus != 200
+                ? Map.of()
+                : objectMapper.readValue(response.body(), Map.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.onesteprest.onesteprest;
+
+import com.onesteprest.onesteprest.core.ModeloBase;
+import com.onesteprest.onesteprest.core.PropertyAccessor;
+import com.onesteprest.onesteprest.core.PropertyAccessors;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyAccessorsTest {
+
+    /**
+     * Model with one field for each kind of accessor, only used by this test.
+     */
+    static class Pedido extends ModeloBase {
+
+        private int cantidad;
+
+        private Double importe;
+
+        private final String codigo = "A-1";
+
+        private Interno interno;
+    }
+
+    private static PropertyAccessor accessorOf(String name) throws NoSuchFieldException {
+        Field field = Pedido.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return PropertyAccessors.of(field);
+    }
+
+    @Test
+    public void testGeneratedAccessorsBoxPrimitives() throws Exception {
+        Pedido pedido = new Pedido();
+
+        // 1. Los campos privados se leen y escriben con la clase generada como nestmate oculto
+        PropertyAccessor cantidad = accessorOf("cantidad");
+        PropertyAccessor importe = accessorOf("importe");
+        assertTrue(cantidad.getClass().isHidden());
+        assertTrue(importe.getClass().isHidden());
+
+        // 2. Los primitivos se devuelven con su envoltorio y se desenvuelven al escribir
+        cantidad.set(pedido, 3);
+        assertEquals(3, pedido.cantidad);
+        assertEquals(Integer.valueOf(3), cantidad.get(pedido));
+
+        importe.set(pedido, 9.5);
+        assertEquals(9.5, importe.get(pedido));
+        importe.set(pedido, null);
+        assertNull(importe.get(pedido));
+
+        // 3. Un null en un primitivo se rechaza como con Field.set, sin modificar el campo
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> cantidad.set(pedido, null));
+        assertTrue(error.getMessage().contains("cantidad"));
+        assertEquals(3, pedido.cantidad);
+
+        // 4. Un valor de otro tipo tampoco se escribe
+        assertThrows(ClassCastException.class, () -> cantidad.set(pedido, "3"));
+    }
+
+    @Test
+    public void testReflectionFallbacks() throws Exception {
+        Pedido pedido = new Pedido();
+
+        // 1. Los campos final se acceden por reflexión
+        PropertyAccessor codigo = accessorOf("codigo");
+        assertFalse(codigo.getClass().isHidden());
+        assertEquals("A-1", codigo.get(pedido));
+
+        // 2. También los campos cuyo tipo no puede ver la clase generada
+        PropertyAccessor interno = accessorOf("interno");
+        assertFalse(interno.getClass().isHidden());
+        assertNull(interno.get(pedido));
+        interno.set(pedido, null);
+        assertThrows(IllegalArgumentException.class, () -> interno.set(pedido, "otro"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.onesteprest.onesteprest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.core.RestModelRegistry;
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.reactive.ModelTable;
+import com.onesteprest.onesteprest.reactive.ReactiveReadServer;
+import com.onesteprest.onesteprest.service.DynamicEntityService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Base de datos propia: este contexto no se comparte con el de los demás tests
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivedb",
+        "onesteprest.reactive-url=r2dbc:pool:h2:mem:///reactivedb?maxSize=4",
+        "onesteprest.reactive-port=0"
+})
+@ActiveProfiles("reactive")
+public class ReactiveReadServerTest {
+
+    @Autowired
+    private DynamicEntityService entityService;
+
+    @Autowired
+    private RestModelRegistry restModelRegistry;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testReactiveReads() {
+        restModelRegistry.registerModels();
+
+        // 1. Crear datos a través de la ruta JPA; las lecturas R2DBC ven lo confirmado
+        Map<String, Object> categoriaData = new HashMap<>();
+        categoriaData.put("nombre", "Reactiva");
+        Categoria categoria = (Categoria) entityService.create("categorias", categoriaData);
+
+        for (int i = 1; i <= 5; i++) {
+            Map<String, Object> productoData = new HashMap<>();
+            productoData.put("nombre", "Flujo " + i);
+            productoData.put("precio", i * 10.0);
+            productoData.put("categoriaId", categoria.getId());
+            entityService.create("productos", productoData);
+        }
+
+        WebTestClient client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveReadServer.getPort() + "/api")
+                .build();
+
+        // 2. Filtros, orden y límite traducidos a SQL; las relaciones simples solo llevan su ID
+        client.get().uri("/productos?filter_precio_gte=20&filter_categoria.id_eq=" + categoria.getId() +
+                         "&sortBy=precio&direction=desc&limit=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].nombre").isEqualTo("Flujo 5")
+                .jsonPath("$[2].precio").isEqualTo(30.0)
+                .jsonPath("$[0].categoria.id").isEqualTo(categoria.getId().intValue())
+                .jsonPath("$[0].etiquetas").doesNotExist();
+
+        // 3. NDJSON: un objeto por línea
+        client.get().uri("/productos?filter_nombre_search=flujo")
+                .accept(MediaType.parseMediaType("application/x-ndjson"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("application/x-ndjson"))
+                .expectBody(String.class)
+                .value(body -> body.trim().split("\n").length, equalTo(5));
+
+        // 4. Lectura por ID y errores
+        client.get().uri("/categorias/" + categoria.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nombre").isEqualTo("Reactiva");
+
+        client.get().uri("/categorias/999999")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        // Los filtros que necesitan un join no se traducen
+        client.get().uri("/productos?filter_categoria.nombre_eq=Reactiva")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class)
+                .value(containsString("join"));
+    }
+
+    @Test
+    public void testHiddenPropertiesAreNotRead() {
+        ModelTable table = ModelTable.of(SerializedPropertiesTest.Cuenta.class, entityManagerFactory, objectMapper);
+
+        // 1. Solo se seleccionan las columnas de las propiedades que Jackson serializa
+        List<String> columns = table.getSelectColumns();
+        assertTrue(columns.containsAll(List.of("id", "usuario", "saldo", "categoria_id")), columns.toString());
+        assertFalse(columns.contains("clave"));
+        assertFalse(columns.contains("pin"));
+
+        // 2. Las columnas ocultas se pueden seguir usando en filtros, como en el listado JPA
+        assertEquals("clave", table.columnOf(new String[] {"clave"}));
+    }
+}
@@ -0,0 +1,49 @@
+package com.onesteprest.onesteprest;
+
+import com.onesteprest.onesteprest.core.RestModelIndex;
+import com.onesteprest.onesteprest.core.RestModelScanner;
+import com.onesteprest.onesteprest.examples.Producto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RestModelIndexTest {
+
+    private static final String MODEL_PACKAGE = "com.onesteprest.onesteprest.examples";
+
+    @Test
+    public void testIndexFindsSameModelsAsScan() {
+        // 1. El procesador de anotaciones generó el índice al compilar
+        RestModelIndex index = RestModelIndex.load(getClass().getClassLoader());
+        assertNotNull(index, "Falta " + RestModelIndex.LOCATION);
+
+        RestModelIndex.Entry producto = index.getEntries(MODEL_PACKAGE).stream()
+                .filter(entry -> entry.getClassName().equals(Producto.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("/productos", producto.getPath());
+        assertTrue(producto.isEnableValidation());
+
+        // 2. Arranque con el índice primero, en frío, y después con el escaneo anterior
+        long start = System.nanoTime();
+        Set<Class<?>> indexed = new RestModelScanner().findRestModels(List.of(MODEL_PACKAGE));
+        long indexNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Set<Class<?>> scanned = new RestModelScanner().scanForRestModels(MODEL_PACKAGE);
+        long scanNanos = System.nanoTime() - start;
+
+        System.out.printf("Modelos con índice: %.1f ms; con escaneo de Reflections: %.1f ms%n",
+                          indexNanos / 1e6, scanNanos / 1e6);
+
+        assertFalse(indexed.isEmpty());
+        assertEquals(scanned, indexed);
+
+        // 3. Un paquete sin entradas en el índice se escanea como antes
+        Set<Class<?>> fallback = new RestModelScanner().findRestModels(List.of("com.onesteprest.onesteprest.annotations"));
+        assertTrue(fallback.isEmpty());
+    }
+}
@@ -0,0 +1,132 @@
+package com.onesteprest.onesteprest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onesteprest.onesteprest.aggregation.Aggregation;
+import com.onesteprest.onesteprest.aggregation.Facets;
+import com.onesteprest.onesteprest.core.SerializedProperties;
+import com.onesteprest.onesteprest.examples.Categoria;
+import com.onesteprest.onesteprest.fetch.FieldProjection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.Metamodel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SerializedPropertiesTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Entity with properties that Jackson does not write, only used by this test.
+     */
+    @Entity
+    public static class Cuenta {
+
+        @Id
+        @GeneratedValue
+        private Long id;
+
+        private String usuario;
+
+        @JsonIgnore
+        private String clave;
+
+        @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+        private String pin;
+
+        private Double saldo;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JsonIgnoreProperties({"productos", "descripcion"})
+        private Categoria categoria;
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getUsuario() {
+            return usuario;
+        }
+
+        public String getClave() {
+            return clave;
+        }
+
+        public String getPin() {
+            return pin;
+        }
+
+        public Double getSaldo() {
+            return saldo;
+        }
+
+        public Categoria getCategoria() {
+            return categoria;
+        }
+    }
+
+    @Test
+    public void testHiddenPropertiesAreNotSerialized() {
+        // 1. Las propiedades ignoradas o de solo escritura no se serializan
+        SerializedProperties properties = SerializedProperties.of(objectMapper, Cuenta.class);
+        assertTrue(properties.getNames().containsAll(List.of("id", "usuario", "saldo", "categoria")));
+        assertFalse(properties.contains("clave"));
+        assertFalse(properties.contains("pin"));
+
+        // 2. El @JsonIgnoreProperties de la relación se aplica a la entidad relacionada
+        SerializedProperties categoria = properties.getValueProperties("categoria", Categoria.class);
+        assertTrue(categoria.contains("nombre"));
+        assertFalse(categoria.contains("descripcion"));
+        assertFalse(categoria.contains("productos"));
+    }
+
+    @Test
+    public void testProjectionsRejectHiddenProperties() {
+        Metamodel metamodel = entityManager.getMetamodel();
+
+        // 1. fields: las propiedades visibles se aceptan y las ocultas son desconocidas
+        assertNotNull(FieldProjection.compile(Cuenta.class, "usuario,saldo,categoria.nombre", metamodel, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                     () -> FieldProjection.compile(Cuenta.class, "clave", metamodel, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                     () -> FieldProjection.compile(Cuenta.class, "usuario,pin", metamodel, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                     () -> FieldProjection.compile(Cuenta.class, "categoria.descripcion", metamodel, objectMapper));
+
+        // 2. Agregaciones: ni métricas ni grupos sobre propiedades ocultas
+        assertNotNull(Aggregation.compile(Cuenta.class, "usuario", "max:saldo", null, metamodel, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Aggregation.compile(Cuenta.class, null, "max:clave", null, metamodel, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Aggregation.compile(Cuenta.class, null, "min:pin", null, metamodel, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Aggregation.compile(Cuenta.class, "clave", null, null, metamodel, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Aggregation.compile(Cuenta.class, null, "count", "max:pin_gt_1", metamodel, objectMapper));
+
+        // 3. Facetas: los valores de una propiedad oculta tampoco se pueden contar
+        assertNotNull(Facets.compile(Cuenta.class, "usuario,categoria.nombre", null, metamodel, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Facets.compile(Cuenta.class, "clave", null, metamodel, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Facets.compile(Cuenta.class, "categoria.descripcion", null, metamodel, objectMapper));
+    }
+}
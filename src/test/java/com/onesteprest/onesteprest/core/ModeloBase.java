@@ -0,0 +1,11 @@
+package com.onesteprest.onesteprest.core;
+
+/**
+ * Base class of a model in PropertyAccessorsTest. It lives in another package
+ * so that its protected nested type cannot be named by a generated accessor.
+ */
+public class ModeloBase {
+
+    protected static class Interno {
+    }
+}